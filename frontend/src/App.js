@@ -1,7 +1,7 @@
 // App.js
 import React, { useEffect, useState } from "react";
 import ScoreCard from "./ScoreCard";
-import { getTodayFixtures } from "./api/soccerApi";
+import { getFeed, subscribeLiveScores } from "./api/soccerApi";
 import { getPrefs, savePref, deletePrefs } from "./api/prefsApi"; // include deletePrefs
 
 const USER_ID = "u123"; // static for now
@@ -36,7 +36,7 @@ export default function App() {
       setLoading(true);
       setError(null);
       try {
-        const data = await getTodayFixtures();
+        const data = await getFeed(USER_ID);
         setMatches(data);
       } catch (err) {
         setError("Failed to load matches");
@@ -47,6 +47,26 @@ export default function App() {
     loadMatches();
   }, []);
 
+  // Live score pushes (replaces re-polling the fixture list). Subscribed to the leagues the feed holds
+  // (covered leagues plus the user's team/league), and only matches already in the feed are updated,
+  // so its favourites-first order and selection stay as loaded.
+  const feedLeagues = [...new Set(matches.map((m) => m.leagueId).filter((id) => id != null))]
+    .sort((a, b) => a - b)
+    .join(",");
+  useEffect(() => {
+    if (!feedLeagues) return undefined;
+    const update = (fresh) =>
+      setMatches((prev) => {
+        const byId = new Map(fresh.map((f) => [f.id, f]));
+        return prev.map((m) => byId.get(m.id) ?? m);
+      });
+    return subscribeLiveScores({
+      leagues: feedLeagues.split(",").map(Number),
+      onFixtures: update,
+      onFixture: (fixture) => update([fixture]),
+    });
+  }, [feedLeagues]);
+
   const handleClubChange = async (e) => {
     const value = e.target.value;
     setFavouriteClub(value);
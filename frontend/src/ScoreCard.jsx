@@ -212,11 +212,26 @@ export default function ScoreCard({ match, isFavorite, favTeam }) {
           `&awayScore=${away.score ?? 0}`;
       }
 
-      console.log("🤖 AI fetch URL:", url);
-
-      const res = await fetch(url);
-      if (!res.ok) throw new Error(`HTTP ${res.status}`);
-      const text = await res.text();
+      console.log("🤖 AI stream URL:", url);
+
+      // Stream the answer in as it is written; "done" carries the whole text
+      const text = await new Promise((resolve, reject) => {
+        const source = new EventSource(`${url}&stream=true`);
+        let soFar = "";
+        source.addEventListener("token", (e) => {
+          soFar += JSON.parse(e.data).text;
+          setter(soFar);
+          setAiLoading(false);
+        });
+        source.addEventListener("done", (e) => {
+          source.close();
+          resolve(JSON.parse(e.data).text);
+        });
+        source.addEventListener("error", (e) => {
+          source.close();
+          reject(new Error(e.data ? JSON.parse(e.data).text : "stream failed"));
+        });
+      });
       console.log("📝 AI response text:", text);
 
       setter(text);
@@ -50,17 +50,92 @@ export async function getTodayFixtures(force = false) {
   return data;
 }
 
+// Already filtered (and favourites-first) on the server: the user's team/league plus KEEP_LEAGUE_IDS
+export async function getFeed(userId, force = false) {
+  const date = new Date().toISOString().slice(0, 10);
+  const leagues = [...KEEP_LEAGUE_IDS].join(",");
+  const url = `${BASE}/feed/${encodeURIComponent(userId)}?leagues=${leagues}`;
+
+  const hit = fixturesCache.get(date);
+  if (!force && hit && Date.now() - hit.ts < FIXTURE_TTL_MS) return hit.data;
+
+  const json = await fetchJson(url);
+  const data = normalizeFixtures(json, { keepAllLeagues: true });
+  fixturesCache.set(date, { data, ts: Date.now() });
+  return data;
+}
+
 export async function getMatchEvents(matchId, { force = false } = {}) {
   const hit = eventsCache.get(matchId);
   if (!force && hit && Date.now() - hit.ts < EVENTS_TTL_MS) return hit.timeline;
 
-  const url = `${BASE}/fixtures/events?fixture=${matchId}`;
+  // Only ask for what we don't have yet; the backend numbers events per fixture
+  const since = hit?.cursor ?? 0;
+  const url = `${BASE}/fixtures/events?fixture=${matchId}&since=${since}`;
   const evJson = await fetchJson(url);
-  const timeline = normalizeEventsOnly(evJson);
-  eventsCache.set(matchId, { timeline, ts: Date.now() });
+  const added = normalizeEventsOnly(evJson.events);
+  // reset: upstream corrected or dropped an event, so this is the whole timeline
+  const timeline = evJson.reset ? added : appendEvents(hit?.timeline ?? [], added);
+  eventsCache.set(matchId, { timeline, cursor: evJson.cursor ?? since, ts: Date.now() });
   return timeline;
 }
 
+function appendEvents(timeline, added) {
+  const last = timeline.length ? timeline[timeline.length - 1].seq ?? 0 : 0;
+  return [...timeline, ...added.filter((e) => e.seq == null || e.seq > last)];
+}
+
+// Live updates over SSE instead of re-polling the whole fixture list.
+// leagues: which leagues to hear about (default KEEP_LEAGUE_IDS; pass the feed's own leagues so the
+// user's team/league is included). onFixtures gets the full list on (re)connect, onFixture one changed
+// match, onEvents({ fixture, events, reset }) new timeline entries (or, with reset, the whole corrected
+// timeline). The cached feed is only updated in place, never replaced. Returns an unsubscribe fn.
+export function subscribeLiveScores({ leagues = [...KEEP_LEAGUE_IDS], onFixtures, onFixture, onEvents } = {}) {
+  const source = new EventSource(`${BASE}/live?leagues=${leagues.join(",")}`);
+  const date = new Date().toISOString().slice(0, 10);
+
+  const updateCached = (fresh) => {
+    const hit = fixturesCache.get(date);
+    if (!hit) return;
+    const byId = new Map(fresh.map((f) => [f.id, f]));
+    hit.data = hit.data.map((f) => byId.get(f.id) ?? f);
+  };
+
+  source.addEventListener("snapshot", (e) => {
+    const data = normalizeFixtures(JSON.parse(e.data), { keepAllLeagues: true });
+    updateCached(data);
+    onFixtures?.(data);
+  });
+
+  source.addEventListener("fixture", (e) => {
+    const [fixture] = normalizeFixtures([JSON.parse(e.data)], { keepAllLeagues: true });
+    if (!fixture) return;
+    updateCached([fixture]);
+    onFixture?.(fixture);
+  });
+
+  source.addEventListener("events", (e) => {
+    const { fixture, cursor, reset, events } = JSON.parse(e.data);
+    const added = normalizeEventsOnly(events);
+    const hit = eventsCache.get(fixture);
+    // A reset replaces the cached timeline. Otherwise extend it only if the push continues right
+    // after our cursor; on a gap, expire it so the next getMatchEvents call catches up via ?since=
+    if (reset) {
+      eventsCache.set(fixture, { timeline: added, cursor, ts: hit?.ts ?? 0 });
+    } else if (hit) {
+      if (added.length && added[0].seq === hit.cursor + 1) {
+        const timeline = appendEvents(hit.timeline, added);
+        eventsCache.set(fixture, { timeline, cursor, ts: hit.ts });
+      } else if (added.length && added[0].seq > hit.cursor + 1) {
+        eventsCache.set(fixture, { ...hit, ts: 0 });
+      }
+    }
+    onEvents?.({ fixture, events: added, reset });
+  });
+
+  return () => source.close();
+}
+
 async function fetchJson(url) {
   const res = await fetch(url);
   if (!res.ok) throw new Error(`HTTP ${res.status}`);
@@ -75,11 +150,11 @@ async function tryJson(res) {
   }
 }
 
-function normalizeFixtures(raw) {
+function normalizeFixtures(raw, { keepAllLeagues = false } = {}) {
   console.log("⚽ Raw fixtures from backend:", raw);
   const arr = Array.isArray(raw) ? raw : [];
   return arr
-    .filter((f) => KEEP_LEAGUE_IDS.has(f.leagueId))
+    .filter((f) => keepAllLeagues || KEEP_LEAGUE_IDS.has(f.leagueId))
     .map((f) => {
       const parsedStatus = toStatus(f.status);
       console.log("📡 Fixture status parsed:", f.status, "=>", parsedStatus);
@@ -119,6 +194,7 @@ function normalizeEventsOnly(eventsRaw) {
     }
 
     return {
+      seq: ev.seq ?? null,
       minute: num(ev.minute ?? ev.time?.elapsed ?? ev.min ?? 0),
       extra: ev.extra ?? ev.time?.extra ?? null,
       type: ev.type ?? ev.detail ?? ev.event ?? "",
@@ -0,0 +1,76 @@
+package com.raman.soccer_backend.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.raman.soccer_backend.config.JsonWriters;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.raman.soccer_backend.service.ApiSportsJsonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Old path (JsonNode tree -> HashMaps, serialized by reflection over Map) vs new path
+// (streaming reader -> records, prebuilt writer), on a recorded match day if there is one (see RecordedPayloads).
+// Run with: mvn -Pbench test-compile exec:exec -Djmh.args="FixtureParsing -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureParsingBenchmark {
+
+    @Param({"400"})
+    public int fixtures; // size of the generated board; a recorded one is used as is
+
+    private byte[] fixturesJson;
+    private byte[] eventsJson;
+    private ObjectMapper mapper;
+    private ObjectWriter recordsWriter;
+
+    @Setup
+    public void setup() {
+        fixturesJson = RecordedPayloads.orGenerated(RecordedPayloads.FIXTURES, () -> MatchDayPayloads.fixtures(fixtures, 42));
+        eventsJson = RecordedPayloads.orGenerated(RecordedPayloads.EVENTS, () -> MatchDayPayloads.events(30, 42));
+        mapper = new ObjectMapper();
+        recordsWriter = new JsonWriters(mapper).fixtureList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyTreeToMaps() throws IOException {
+        return LegacyParsing.fixtures(mapper.readTree(fixturesJson));
+    }
+
+    @Benchmark
+    public List<Fixture> streamingToRecords() throws IOException {
+        return ApiSportsJsonReader.readFixtures(new ByteArrayInputStream(fixturesJson));
+    }
+
+    // parse + write the /fixtures body, which is what a cache miss costs end to end
+    @Benchmark
+    public byte[] legacyParseAndSerialize() throws IOException {
+        return mapper.writeValueAsBytes(LegacyParsing.fixtures(mapper.readTree(fixturesJson)));
+    }
+
+    @Benchmark
+    public byte[] streamingParseAndSerialize() throws IOException {
+        return recordsWriter.writeValueAsBytes(ApiSportsJsonReader.readFixtures(new ByteArrayInputStream(fixturesJson)));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyEvents() throws IOException {
+        JsonNode root = mapper.readTree(eventsJson);
+        return LegacyParsing.events(root);
+    }
+
+    @Benchmark
+    public List<MatchEvent> streamingEvents() throws IOException {
+        return ApiSportsJsonReader.readEvents(new ByteArrayInputStream(eventsJson));
+    }
+}
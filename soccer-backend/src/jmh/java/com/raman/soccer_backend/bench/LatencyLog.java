@@ -0,0 +1,25 @@
+package com.raman.soccer_backend.bench;
+
+import java.util.Arrays;
+
+// Growable long[] of latencies (ns) so recording a sample doesn't box; one per client thread, merged at the end
+final class LatencyLog {
+    private long[] values = new long[1024];
+    private int size;
+
+    void add(long v) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = v;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    // q-quantile of an ascending array, in ms
+    static double ms(long[] sorted, double q) {
+        return sorted[Math.min(sorted.length - 1, (int) (q * sorted.length))] / 1e6;
+    }
+}
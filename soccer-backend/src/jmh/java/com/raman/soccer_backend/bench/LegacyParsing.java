@@ -0,0 +1,93 @@
+package com.raman.soccer_backend.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The pre-records path, kept verbatim as the baseline: JsonNode tree -> HashMap per fixture/side/status.
+final class LegacyParsing {
+
+    private LegacyParsing() {
+    }
+
+    static List<Map<String, Object>> fixtures(JsonNode root) {
+        List<Map<String, Object>> matches = new ArrayList<>();
+        for (JsonNode m : root.path("response")) {
+            matches.add(parseMatch(m));
+        }
+        return matches;
+    }
+
+    static List<Map<String, Object>> events(JsonNode root) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (JsonNode ev : root.path("response")) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("minute", ev.path("time").path("elapsed").asInt(0));
+            event.put("extra", ev.path("time").path("extra").isInt() ? ev.path("time").path("extra").asInt() : null);
+            event.put("type", ev.path("type").asText());
+            event.put("detail", ev.path("detail").asText());
+            event.put("player", ev.path("player").path("name").asText());
+            event.put("team", ev.path("team").path("name").asText());
+            events.add(event);
+        }
+        return events;
+    }
+
+    static Map<String, Object> standing(JsonNode root, int teamId) {
+        for (JsonNode league : root.path("response")) {
+            JsonNode table = league.path("league").path("standings").get(0);
+            for (JsonNode row : table) {
+                if (row.path("team").path("id").asInt() == teamId) {
+                    Map<String, Object> standing = new HashMap<>();
+                    standing.put("rank", row.path("rank").asInt());
+                    standing.put("points", row.path("points").asInt());
+                    standing.put("played", row.path("all").path("played").asInt());
+                    return standing;
+                }
+            }
+        }
+        return null;
+    }
+
+    static Map<String, Object> parseMatch(JsonNode m) {
+        Map<String, Object> match = new HashMap<>();
+        match.put("id", m.path("fixture").path("id").asText());
+        match.put("league", m.path("league").path("name").asText());
+        match.put("kickoffIso", m.path("fixture").path("date").asText());
+
+        match.put("leagueId", m.path("league").path("id").asInt());
+        match.put("season", m.path("league").path("season").asInt());
+        match.put("homeId", m.path("teams").path("home").path("id").asInt());
+        match.put("awayId", m.path("teams").path("away").path("id").asInt());
+
+        Map<String, Object> home = new HashMap<>();
+        home.put("name", m.path("teams").path("home").path("name").asText());
+        home.put("logo", m.path("teams").path("home").path("logo").asText(null));
+        home.put("score", m.path("goals").path("home").isInt()
+                ? m.path("goals").path("home").asInt()
+                : null);
+
+        Map<String, Object> away = new HashMap<>();
+        away.put("name", m.path("teams").path("away").path("name").asText());
+        away.put("logo", m.path("teams").path("away").path("logo").asText(null));
+        away.put("score", m.path("goals").path("away").isInt()
+                ? m.path("goals").path("away").asInt()
+                : null);
+
+        match.put("home", home);
+        match.put("away", away);
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("phase", m.path("fixture").path("status").path("short").asText());
+        status.put("long", m.path("fixture").path("status").path("long").asText());
+        status.put("elapsed", m.path("fixture").path("status").path("elapsed").isInt()
+                ? m.path("fixture").path("status").path("elapsed").asInt()
+                : null);
+        match.put("status", status);
+
+        return match;
+    }
+}
@@ -0,0 +1,507 @@
+package com.raman.soccer_backend.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raman.soccer_backend.SoccerBackendApplication;
+import com.raman.soccer_backend.model.Fixture;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+// Extension traffic against the backend on a simulated match day, then latency per endpoint and how many
+// upstream calls it cost. Each virtual user behaves like the popup: open it (prefs + feed + the live SSE
+// stream), then, with think time in between, follow a match's events, look at odds or a table, star a team,
+// ask for an AI preview/summary; close it, come back later. Conditional GETs use the ETags the server sent,
+// as the browser cache would.
+//
+// By default it starts UpstreamSimulator and the app in this JVM (app on app-port, pointed at the simulator):
+//   mvn -Pbench test-compile exec:exec -Dbench.main=com.raman.soccer_backend.bench.MatchDayLoadDriver \
+//       -Djmh.args="users=1000 seconds=300 think-ms=8000 dynamo=http://localhost:8000 latency-ms=150 error-rate=0.01"
+// app=<url> targets an app started separately (against sim=<url>, a standalone UpstreamSimulator, for the
+// upstream counts). dynamo=<url> is DynamoDB Local (docker run -p 8000:8000 amazon/dynamodb-local); the
+// UserPreferences table is created there if missing. Without it the prefs calls fail and are reported as errors.
+// AI previews/summaries are streamed (?stream=true) like the extension does; "<endpoint>.ttft" is the
+// time to the first token event. ai-stream=false uses the plain blocking endpoints instead.
+// Any other key=value goes to the embedded simulator (see UpstreamSimulator).
+public class MatchDayLoadDriver {
+
+    private static final String LEAGUES = "2,39,140,135,78,61";
+    private static final String TABLE = "UserPreferences";
+    private static final Map<Integer, String> ODDS_LEAGUES = Map.of(
+            39, "premier_league", 140, "la_liga", 135, "serie_a",
+            61, "ligue_1", 78, "bundesliga", 2, "uefa_champions_league");
+
+    private final String app;
+    private final long thinkMs;
+    private final boolean sse;
+    private final boolean aiStream;
+    private final long deadline;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Map<String, List<long[]>> latencies = new TreeMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder streams = new LongAdder();
+    private final LongAdder streamEvents = new LongAdder();
+
+    private MatchDayLoadDriver(String app, long thinkMs, boolean sse, boolean aiStream, long deadline) {
+        this.app = app;
+        this.thinkMs = thinkMs;
+        this.sse = sse;
+        this.aiStream = aiStream;
+        this.deadline = deadline;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = UpstreamSimulator.parseArgs(args);
+        int users = Integer.parseInt(opts.getOrDefault("users", "300"));
+        int seconds = Integer.parseInt(opts.getOrDefault("seconds", "120"));
+        long thinkMs = Long.parseLong(opts.getOrDefault("think-ms", "8000"));
+        boolean sse = Boolean.parseBoolean(opts.getOrDefault("sse", "true"));
+        boolean aiStream = Boolean.parseBoolean(opts.getOrDefault("ai-stream", "true"));
+
+        UpstreamSimulator sim = null;
+        String simUrl = opts.get("sim");
+        if (simUrl == null) {
+            Map<String, String> simOpts = new HashMap<>(opts);
+            simOpts.put("port", opts.getOrDefault("sim-port", "9090"));
+            sim = new UpstreamSimulator(simOpts);
+            sim.start();
+            simUrl = sim.baseUrl();
+        }
+        if (opts.containsKey("dynamo")) {
+            ensureTable(opts.get("dynamo"));
+        }
+        String app = opts.get("app");
+        ConfigurableApplicationContext context = null;
+        if (app == null) {
+            String port = opts.getOrDefault("app-port", "8080");
+            context = startApp(simUrl, port, opts.get("dynamo"));
+            app = "http://localhost:" + port;
+        }
+
+        MatchDayLoadDriver driver = new MatchDayLoadDriver(app, thinkMs, sse, aiStream,
+                System.nanoTime() + Duration.ofSeconds(seconds).toNanos());
+        Map<String, Long> before = upstreamStats(sim, simUrl, driver);
+        List<Thread> threads = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            String user = "sim-" + u;
+            threads.add(Thread.ofVirtual().start(() -> driver.user(user)));
+            Thread.sleep(Math.max(1, thinkMs / users)); // ramp up over one think time
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        Map<String, Long> after = upstreamStats(sim, simUrl, driver);
+
+        driver.report(users, seconds, before, after);
+        if (context != null) {
+            context.close();
+        }
+        if (sim != null) {
+            sim.stop();
+        }
+        System.exit(0); // SSE readers may still be parked on their streams
+    }
+
+    private static ConfigurableApplicationContext startApp(String simUrl, String port, String dynamo) throws IOException {
+        List<String> props = new ArrayList<>(List.of(
+                "--server.port=" + port,
+                "--apifootball.base-url=" + simUrl + "/api-sports",
+                "--oddsapi.base-url=" + simUrl + "/odds-api/v4",
+                "--openai.base-url=" + simUrl + "/",
+                "--apifootball.key=sim",
+                "--oddsapi.key=sim",
+                "--openai.api.key=sim",
+                "--ai.cache.dir=" + Files.createTempDirectory("ai-cache"),
+                "--archive.dir=" + Files.createTempDirectory("match-archive")));
+        if (dynamo != null) {
+            props.add("--aws.dynamo.endpoint=" + dynamo);
+        } else {
+            System.out.println("⚠️ No dynamo=<DynamoDB Local URL>: prefs requests will fail");
+        }
+        return SpringApplication.run(SoccerBackendApplication.class, props.toArray(new String[0]));
+    }
+
+    // Same schema as the real table: userId (hash) + prefType (range)
+    private static void ensureTable(String endpoint) {
+        try (DynamoDbAsyncClient dynamo = DynamoDbAsyncClient.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.US_EAST_2)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")))
+                .build()) {
+            try {
+                dynamo.describeTable(b -> b.tableName(TABLE)).join();
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof ResourceNotFoundException)) {
+                    throw e;
+                }
+                dynamo.createTable(b -> b.tableName(TABLE)
+                        .attributeDefinitions(
+                                AttributeDefinition.builder().attributeName("userId").attributeType(ScalarAttributeType.S).build(),
+                                AttributeDefinition.builder().attributeName("prefType").attributeType(ScalarAttributeType.S).build())
+                        .keySchema(
+                                KeySchemaElement.builder().attributeName("userId").keyType(KeyType.HASH).build(),
+                                KeySchemaElement.builder().attributeName("prefType").keyType(KeyType.RANGE).build())
+                        .billingMode(BillingMode.PAY_PER_REQUEST)).join();
+                System.out.println("✅ Created " + TABLE + " on " + endpoint);
+            }
+        }
+    }
+
+    private static Map<String, Long> upstreamStats(UpstreamSimulator sim, String simUrl, MatchDayLoadDriver driver) {
+        if (sim != null) {
+            return sim.stats();
+        }
+        try {
+            HttpResponse<byte[]> response = driver.http.send(HttpRequest.newBuilder(URI.create(simUrl + "/__sim/stats")).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            return driver.mapper.readValue(response.body(), new TypeReference<Map<String, Long>>() {});
+        } catch (Exception e) {
+            System.out.println("⚠️ No simulator stats from " + simUrl + ": " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    // One user: popup sessions with breaks in between until the deadline
+    private void user(String user) {
+        Session s = new Session(user);
+        while (System.nanoTime() < deadline) {
+            s.open();
+            long end = Math.min(deadline, System.nanoTime() + Duration.ofSeconds(60 + ThreadLocalRandom.current().nextInt(120)).toNanos());
+            while (System.nanoTime() < end) {
+                think(1);
+                s.act();
+            }
+            s.close();
+            think(3);
+        }
+        synchronized (latencies) {
+            s.logs.forEach((endpoint, log) -> latencies.computeIfAbsent(endpoint, e -> new ArrayList<>()).add(log.toArray()));
+        }
+    }
+
+    private void think(int times) {
+        long ms = (long) (thinkMs * times * (0.5 + ThreadLocalRandom.current().nextDouble()));
+        long left = (deadline - System.nanoTime()) / 1_000_000;
+        try {
+            Thread.sleep(Math.max(0, Math.min(ms, left)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Session {
+        final String user;
+        final Map<String, LatencyLog> logs = new HashMap<>();
+        final Map<String, String> etags = new HashMap<>();
+        final Map<String, Long> cursors = new HashMap<>();
+        List<Fixture> fixtures = List.of();
+        boolean feedWorks = true;
+        InputStream live;
+
+        Session(String user) {
+            this.user = user;
+        }
+
+        void open() {
+            get("prefs", "/prefs/" + user, false);
+            feed();
+            if (sse) {
+                Thread.ofVirtual().start(this::listen);
+            }
+        }
+
+        // What the user does next, roughly in proportion to how the popup is used
+        void act() {
+            if (fixtures.isEmpty()) {
+                feed();
+                return;
+            }
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            Fixture f = pick(rnd);
+            int r = rnd.nextInt(100);
+            if (r < 45) {
+                events(f);
+            } else if (r < 60) {
+                String league = ODDS_LEAGUES.get(f.leagueId());
+                if (league != null) {
+                    get("odds", "/api/scores/odds?league=" + league + "&home=" + enc(f.home().name())
+                            + "&away=" + enc(f.away().name()), false);
+                }
+            } else if (r < 70) {
+                feed();
+            } else if (r < 78) {
+                get("standings", "/api/scores/standings?league=" + f.leagueId(), true);
+            } else if (r < 86) {
+                send("prefs.save", HttpRequest.newBuilder(uri("/prefs/" + user + "?prefType=TEAM&valueName=" + enc(f.home().name())))
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+            } else if (r < 93 && f.status().isNotStarted()) {
+                ai("ai.preview", "/api/ai/preview?home=" + enc(f.home().name()) + "&away=" + enc(f.away().name())
+                        + "&kickoff=" + enc(f.kickoffIso()) + "&league=" + enc(f.league())
+                        + "&homeId=" + f.homeId() + "&awayId=" + f.awayId());
+            } else if (r < 93 && f.status().isFinished()) {
+                ai("ai.summary", "/api/ai/summary?matchId=" + f.id() + "&home=" + enc(f.home().name())
+                        + "&homeScore=" + f.home().score() + "&away=" + enc(f.away().name())
+                        + "&awayScore=" + f.away().score());
+            } else {
+                events(f);
+            }
+        }
+
+        // Mostly the live games, like a real match day
+        Fixture pick(ThreadLocalRandom rnd) {
+            if (rnd.nextBoolean()) {
+                List<Fixture> live = fixtures.stream().filter(x -> x.status().isLive()).toList();
+                if (!live.isEmpty()) {
+                    return live.get(rnd.nextInt(live.size()));
+                }
+            }
+            return fixtures.get(rnd.nextInt(fixtures.size()));
+        }
+
+        // The personalized feed; if it's failing (no DynamoDB for the prefs join) the plain board instead
+        void feed() {
+            byte[] body = feedWorks
+                    ? get("feed", "/api/scores/feed/" + user + "?leagues=" + LEAGUES, true)
+                    : get("fixtures", "/api/scores/fixtures", true);
+            if (body == null && feedWorks && !etags.containsKey("/api/scores/feed/" + user + "?leagues=" + LEAGUES)) {
+                feedWorks = false;
+                feed();
+                return;
+            }
+            if (body != null) {
+                try {
+                    fixtures = mapper.readValue(body, new TypeReference<List<Fixture>>() {});
+                } catch (IOException e) {
+                    errors.computeIfAbsent("feed", k -> new LongAdder()).increment();
+                }
+            }
+        }
+
+        void events(Fixture f) {
+            long since = cursors.getOrDefault(f.id(), 0L);
+            byte[] body = get("events", "/api/scores/fixtures/events?fixture=" + f.id() + "&since=" + since, true);
+            if (body != null) {
+                try {
+                    cursors.put(f.id(), mapper.readTree(body).path("cursor").asLong(since));
+                } catch (IOException e) {
+                    errors.computeIfAbsent("events", k -> new LongAdder()).increment();
+                }
+            }
+        }
+
+        // The live SSE stream for as long as the popup is open; its connect time is what gets measured
+        void listen() {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<InputStream> response = http.send(HttpRequest.newBuilder(uri("/api/scores/live?leagues=" + LEAGUES))
+                        .header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.ofInputStream());
+                record("live (connect)", start, response.statusCode());
+                streams.increment();
+                live = response.body();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(live, StandardCharsets.UTF_8));
+                for (String line; (line = reader.readLine()) != null; ) {
+                    if (line.startsWith("event:")) {
+                        streamEvents.increment();
+                    }
+                }
+            } catch (IOException e) {
+                // closed by close(), or the server went away
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // An AI answer, streamed unless ai-stream=false: timed to the first token and to "done"
+        void ai(String endpoint, String path) {
+            if (!aiStream) {
+                get(endpoint, path, false);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<InputStream> response = http.send(HttpRequest.newBuilder(uri(path + "&stream=true"))
+                        .header("Accept", "text/event-stream").timeout(Duration.ofSeconds(60)).build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                if (response.statusCode() != 200) {
+                    response.body().close();
+                    record(endpoint, start, response.statusCode());
+                    return;
+                }
+                boolean first = true;
+                int status = 599;
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                    for (String line; (line = reader.readLine()) != null; ) {
+                        if (line.equals("event:token") && first) {
+                            record(endpoint + ".ttft", start, 200);
+                            first = false;
+                        } else if (line.equals("event:done")) {
+                            status = 200;
+                        } else if (line.equals("event:error")) {
+                            status = 502;
+                        }
+                    }
+                }
+                record(endpoint, start, status);
+            } catch (IOException e) {
+                record(endpoint, start, 599);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void close() {
+            InputStream stream = live;
+            live = null;
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        // GET, conditional on the last ETag when the browser would cache it; the body, or null on 304/error
+        byte[] get(String endpoint, String path, boolean conditional) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).header("Accept-Encoding", "gzip");
+            String etag = conditional ? etags.get(path) : null;
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            }
+            HttpResponse<byte[]> response = send(endpoint, request);
+            if (response == null || response.statusCode() != 200) {
+                return null;
+            }
+            response.headers().firstValue("ETag").ifPresent(tag -> etags.put(path, tag));
+            try {
+                return response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent()
+                        ? new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes()
+                        : response.body();
+            } catch (IOException e) {
+                errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+                return null;
+            }
+        }
+
+        HttpResponse<byte[]> send(String endpoint, HttpRequest.Builder request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                record(endpoint, start, response.statusCode());
+                return response;
+            } catch (IOException e) {
+                record(endpoint, start, 599);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        void record(String endpoint, long start, int status) {
+            logs.computeIfAbsent(endpoint, e -> new LatencyLog()).add(System.nanoTime() - start);
+            if (status == 304) {
+                notModified.increment();
+            } else if (status >= 400) {
+                errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    // Total of an app counter from the actuator (0 if it hasn't been registered yet)
+    private double appMetric(String name) {
+        try {
+            HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(uri("/actuator/metrics/" + name)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() == 200 ? mapper.readTree(response.body()).path("measurements").path(0).path("value").asDouble() : 0;
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(app + path);
+    }
+
+    private static String enc(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+
+    private void report(int users, int seconds, Map<String, Long> before, Map<String, Long> after) {
+        long total = 0;
+        System.out.printf("%n%d users, %d s, think %d ms%n", users, seconds, thinkMs);
+        System.out.printf("%-16s %8s %7s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, List<long[]>> e : latencies.entrySet()) {
+            long[] all = e.getValue().stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            if (all.length == 0) {
+                continue;
+            }
+            if (!e.getKey().startsWith("live")) {
+                total += all.length;
+            }
+            LongAdder err = errors.get(e.getKey());
+            System.out.printf("%-16s %8d %7d %9.2f %9.2f %9.2f%n", e.getKey(), all.length, err == null ? 0 : err.sum(),
+                    LatencyLog.ms(all, 0.50), LatencyLog.ms(all, 0.99), all[all.length - 1] / 1e6);
+        }
+        System.out.printf("%d requests (%.1f req/s), %d not modified; %d SSE streams, %d events pushed%n",
+                total, total / (double) seconds, notModified.sum(), streams.sum(), streamEvents.sum());
+
+        // calls the app chose not to make: what keeps the counts below low
+        for (String metric : new String[]{"upstream.budget.denied", "upstream.breaker.rejected", "upstream.retries"}) {
+            System.out.printf("app %s: %.0f%n", metric, appMetric(metric));
+        }
+
+        if (after.isEmpty()) {
+            return;
+        }
+        System.out.printf("%n%-36s %7s %16s%n", "upstream calls (simulator)", "calls", "per 1k requests");
+        for (String key : new TreeSet<>(after.keySet())) {
+            long delta = after.get(key) - before.getOrDefault(key, 0L);
+            if (delta > 0) {
+                System.out.printf("  %-34s %7d %16.1f%n", key, delta, total == 0 ? 0 : delta * 1000.0 / total);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.raman.soccer_backend.bench;
+
+import com.raman.soccer_backend.model.Fixture;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic api-sports payloads shaped like the real thing: every fixture carries the
+// venue/referee/periods/score blocks we never read, so the parsers pay for skipping them too.
+public final class MatchDayPayloads {
+
+    private static final String[] PHASES = {"NS", "NS", "NS", "1H", "HT", "2H", "FT", "FT", "PST"};
+    private static final String[] LONG = {"Not Started", "Not Started", "Not Started", "First Half",
+            "Halftime", "Second Half", "Match Finished", "Match Finished", "Match Postponed"};
+
+    private MatchDayPayloads() {
+    }
+
+    // One /fixtures?date= response with `count` fixtures (a busy Saturday is ~400)
+    public static byte[] fixtures(int count, long seed) {
+        Random rnd = new Random(seed);
+        StringBuilder sb = new StringBuilder(count * 1500);
+        sb.append("{\"get\":\"fixtures\",\"parameters\":{\"date\":\"2025-09-13\",\"timezone\":\"UTC\"},")
+                .append("\"errors\":[],\"results\":").append(count)
+                .append(",\"paging\":{\"current\":1,\"total\":1},\"response\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            int phase = rnd.nextInt(PHASES.length);
+            boolean started = phase >= 3 && phase <= 7;
+            Integer elapsed = null, hg = null, ag = null;
+            if (started) {
+                elapsed = phase == 3 ? 1 + rnd.nextInt(45) : phase == 4 ? 45 : phase == 5 ? 46 + rnd.nextInt(45) : 90;
+                hg = rnd.nextInt(4);
+                ag = rnd.nextInt(4);
+            }
+            int leagueId = 1 + rnd.nextInt(900);
+            int homeId = 10 + rnd.nextInt(20000);
+            int awayId = 10 + rnd.nextInt(20000);
+
+            sb.append("{\"fixture\":{\"id\":").append(1200000 + i)
+                    .append(",\"referee\":\"Referee ").append(i).append(", Country\"")
+                    .append(",\"timezone\":\"UTC\",\"date\":\"2025-09-13T").append(10 + i % 12).append(":00:00+00:00\"")
+                    .append(",\"timestamp\":").append(1757757600L + i * 60L)
+                    .append(",\"periods\":{\"first\":").append(started ? 1757757600L : null)
+                    .append(",\"second\":").append(phase == 5 ? 1757761200L : null).append('}')
+                    .append(",\"venue\":{\"id\":").append(500 + i).append(",\"name\":\"Stadium ").append(i)
+                    .append("\",\"city\":\"City ").append(i % 97).append("\"}")
+                    .append(",\"status\":{\"long\":\"").append(LONG[phase]).append("\",\"short\":\"").append(PHASES[phase])
+                    .append("\",\"elapsed\":").append(elapsed).append(",\"extra\":null}},")
+                    .append("\"league\":{\"id\":").append(leagueId).append(",\"name\":\"League ").append(leagueId)
+                    .append("\",\"country\":\"Country ").append(leagueId % 120)
+                    .append("\",\"logo\":\"https://media.api-sports.io/football/leagues/").append(leagueId).append(".png\"")
+                    .append(",\"flag\":\"https://media.api-sports.io/flags/xx.svg\",\"season\":2025")
+                    .append(",\"round\":\"Regular Season - ").append(1 + i % 38).append("\",\"standings\":true},")
+                    .append("\"teams\":{")
+                    .append(team("home", homeId, started && hg > ag))
+                    .append(',')
+                    .append(team("away", awayId, started && ag > hg))
+                    .append("},\"goals\":{\"home\":").append(hg).append(",\"away\":").append(ag).append("},")
+                    .append("\"score\":{\"halftime\":{\"home\":").append(hg).append(",\"away\":").append(ag)
+                    .append("},\"fulltime\":{\"home\":").append(phase >= 6 ? hg : null).append(",\"away\":").append(phase >= 6 ? ag : null)
+                    .append("},\"extratime\":{\"home\":null,\"away\":null},\"penalty\":{\"home\":null,\"away\":null}}}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // One /fixtures/events response with `count` events
+    public static byte[] events(int count, long seed) {
+        Random rnd = new Random(seed);
+        String[] types = {"Goal", "Card", "subst", "Var"};
+        String[] details = {"Normal Goal", "Yellow Card", "Substitution 1", "Goal cancelled"};
+        StringBuilder sb = new StringBuilder(count * 300);
+        sb.append("{\"get\":\"fixtures/events\",\"parameters\":{\"fixture\":\"1200000\"},\"errors\":[],\"results\":")
+                .append(count).append(",\"paging\":{\"current\":1,\"total\":1},\"response\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            int t = rnd.nextInt(types.length);
+            sb.append("{\"time\":{\"elapsed\":").append(1 + i * 90 / Math.max(count, 1))
+                    .append(",\"extra\":").append(rnd.nextInt(10) == 0 ? 2 : null).append("},")
+                    .append("\"team\":{\"id\":33,\"name\":\"Team ").append(i % 2).append("\",\"logo\":\"https://media.api-sports.io/football/teams/33.png\"},")
+                    .append("\"player\":{\"id\":").append(1000 + i).append(",\"name\":\"Player ").append(i).append("\"},")
+                    .append("\"assist\":{\"id\":null,\"name\":null},")
+                    .append("\"type\":\"").append(types[t]).append("\",\"detail\":\"").append(details[t])
+                    .append("\",\"comments\":null}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // One /standings response: `groups` groups of `teamsPerGroup` rows, with the home/away splits we skip
+    public static byte[] standings(int groups, int teamsPerGroup, long seed) {
+        Random rnd = new Random(seed);
+        StringBuilder sb = new StringBuilder(groups * teamsPerGroup * 900);
+        sb.append("{\"get\":\"standings\",\"parameters\":{\"league\":\"39\",\"season\":\"2025\"},\"errors\":[],")
+                .append("\"results\":1,\"paging\":{\"current\":1,\"total\":1},\"response\":[{\"league\":{")
+                .append("\"id\":39,\"name\":\"Premier League\",\"country\":\"England\",")
+                .append("\"logo\":\"https://media.api-sports.io/football/leagues/39.png\",\"flag\":\"https://media.api-sports.io/flags/gb.svg\",")
+                .append("\"season\":2025,\"standings\":[");
+        for (int g = 0; g < groups; g++) {
+            sb.append(g > 0 ? ",[" : "[");
+            for (int r = 0; r < teamsPerGroup; r++) {
+                if (r > 0) {
+                    sb.append(',');
+                }
+                int id = 30 + g * teamsPerGroup + r;
+                int played = 20 + rnd.nextInt(3);
+                sb.append("{\"rank\":").append(r + 1)
+                        .append(",\"team\":{\"id\":").append(id).append(",\"name\":\"Team ").append(id)
+                        .append("\",\"logo\":\"https://media.api-sports.io/football/teams/").append(id).append(".png\"}")
+                        .append(",\"points\":").append(60 - r * 2).append(",\"goalsDiff\":").append(20 - r * 2)
+                        .append(",\"group\":\"Group ").append((char) ('A' + g)).append("\",\"form\":\"WWDLW\",\"status\":\"same\"")
+                        .append(",\"description\":").append(r < 4 ? "\"Promotion - Champions League\"" : "null")
+                        .append(",\"all\":").append(split(played, rnd))
+                        .append(",\"home\":").append(split(played / 2, rnd))
+                        .append(",\"away\":").append(split(played - played / 2, rnd))
+                        .append(",\"update\":\"2025-09-13T00:00:00+00:00\"}");
+            }
+            sb.append(']');
+        }
+        sb.append("]}}]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // One Odds API /odds board for the given fixtures, `bookmakers` bookmakers each, with the team names
+    // spelled the way the Odds API tends to differ from api-sports ("... FC", "AFC ...", case) so they need
+    // the resolver's folding to match. Every bookmaker also lists a totals market the reader has to skip.
+    public static byte[] odds(List<Fixture> fixtures, int bookmakers, long seed) {
+        Random rnd = new Random(seed);
+        StringBuilder sb = new StringBuilder(fixtures.size() * bookmakers * 400);
+        sb.append('[');
+        for (int i = 0; i < fixtures.size(); i++) {
+            Fixture f = fixtures.get(i);
+            String home = spelling(f.home().name(), i);
+            String away = spelling(f.away().name(), i + 3);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":\"").append(Long.toHexString(rnd.nextLong())).append('"')
+                    .append(",\"sport_key\":\"soccer_epl\",\"sport_title\":\"EPL\"")
+                    .append(",\"commence_time\":\"").append(f.kickoffIso().replace("+00:00", "Z")).append('"')
+                    .append(",\"home_team\":\"").append(home).append("\",\"away_team\":\"").append(away)
+                    .append("\",\"bookmakers\":[");
+            for (int b = 0; b < bookmakers; b++) {
+                if (b > 0) {
+                    sb.append(',');
+                }
+                double ph = 1.5 + rnd.nextDouble() * 3, pa = 1.5 + rnd.nextDouble() * 3, pd = 3 + rnd.nextDouble();
+                sb.append("{\"key\":\"book").append(b).append("\",\"title\":\"Bookmaker ").append(b)
+                        .append("\",\"last_update\":\"2025-09-13T09:00:00Z\",\"markets\":[")
+                        .append("{\"key\":\"h2h\",\"last_update\":\"2025-09-13T09:00:00Z\",\"outcomes\":[")
+                        .append("{\"name\":\"").append(home).append("\",\"price\":").append(price(ph)).append("},")
+                        .append("{\"name\":\"").append(away).append("\",\"price\":").append(price(pa)).append("},")
+                        .append("{\"name\":\"Draw\",\"price\":").append(price(pd)).append("}]},")
+                        .append("{\"key\":\"totals\",\"last_update\":\"2025-09-13T09:00:00Z\",\"outcomes\":[")
+                        .append("{\"name\":\"Over\",\"price\":1.9,\"point\":2.5},")
+                        .append("{\"name\":\"Under\",\"price\":1.9,\"point\":2.5}]}]}");
+            }
+            sb.append("]}");
+        }
+        sb.append(']');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String spelling(String name, int i) {
+        return switch (i % 10) {
+            case 0, 1 -> name + " FC";
+            case 2 -> "AFC " + name;
+            case 3 -> name.toUpperCase();
+            default -> name;
+        };
+    }
+
+    private static double price(double p) {
+        return Math.round(p * 100) / 100.0;
+    }
+
+    private static String split(int played, Random rnd) {
+        int win = rnd.nextInt(played + 1);
+        int draw = rnd.nextInt(played - win + 1);
+        return "{\"played\":" + played + ",\"win\":" + win + ",\"draw\":" + draw + ",\"lose\":" + (played - win - draw)
+                + ",\"goals\":{\"for\":" + rnd.nextInt(60) + ",\"against\":" + rnd.nextInt(60) + "}}";
+    }
+
+    private static String team(String side, int id, boolean winner) {
+        return "\"" + side + "\":{\"id\":" + id + ",\"name\":\"Team " + id
+                + "\",\"logo\":\"https://media.api-sports.io/football/teams/" + id + ".png\",\"winner\":"
+                + (winner ? "true" : "null") + "}";
+    }
+}
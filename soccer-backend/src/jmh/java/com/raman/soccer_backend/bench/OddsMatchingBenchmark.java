@@ -0,0 +1,114 @@
+package com.raman.soccer_backend.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.OddsConsensus;
+import com.raman.soccer_backend.model.OddsGame;
+import com.raman.soccer_backend.service.ApiSportsJsonReader;
+import com.raman.soccer_backend.service.FixtureSnapshot;
+import com.raman.soccer_backend.service.FixtureSnapshotRefreshedEvent;
+import com.raman.soccer_backend.service.OddsAggregator;
+import com.raman.soccer_backend.service.OddsApiJsonReader;
+import com.raman.soccer_backend.service.TeamNameResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The odds side of a match day: reading an Odds API board, keying its games by canonical team pair (what
+// OddsService does per board), aggregating consensus, and looking every fixture up in it (what each /odds
+// request does). The pair key goes through TeamNameResolver, which replaced MatchesController.normalizeTeam;
+// "cold" is a resolver that has just rebuilt its index (empty name cache), "warm" the steady state.
+// Run with: mvn -Pbench test-compile exec:exec -Djmh.args="OddsMatching -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OddsMatchingBenchmark {
+
+    @Param({"12"})
+    public int bookmakers;
+
+    private byte[] oddsJson;
+    private List<Fixture> fixtures;
+    private List<OddsGame> games;
+    private FixtureSnapshotRefreshedEvent refreshed;
+    private TeamNameResolver warm;
+    private Map<String, OddsGame> byPair;
+
+    @Setup
+    public void setup() throws IOException {
+        // the resolver warns once per board name it can't place; a cold resolver is new every invocation, and
+        // against a recorded board that's every game not played that day. Logging isn't what's measured here.
+        ((Logger) LoggerFactory.getLogger(TeamNameResolver.class)).setLevel(Level.OFF);
+        fixtures = ApiSportsJsonReader.readFixtures(new ByteArrayInputStream(RecordedPayloads.orGenerated(
+                RecordedPayloads.FIXTURES, () -> MatchDayPayloads.fixtures(400, 42))));
+        // generated odds are for the generated fixtures; a recorded board goes with a recorded day
+        oddsJson = RecordedPayloads.orGenerated(RecordedPayloads.ODDS,
+                () -> MatchDayPayloads.odds(fixtures.subList(0, Math.min(60, fixtures.size())), bookmakers, 42));
+        games = OddsApiJsonReader.readGames(new ByteArrayInputStream(oddsJson));
+        refreshed = new FixtureSnapshotRefreshedEvent(null,
+                new FixtureSnapshot("2025-09-13", fixtures, 1, System.currentTimeMillis(), true));
+
+        warm = new TeamNameResolver(new SimpleMeterRegistry());
+        warm.onSnapshotRefreshed(refreshed);
+        byPair = keyBoard(warm, games);
+    }
+
+    @Benchmark
+    public List<OddsGame> readBoard() throws IOException {
+        return OddsApiJsonReader.readGames(new ByteArrayInputStream(oddsJson));
+    }
+
+    @Benchmark
+    public void aggregateBoard(Blackhole bh) {
+        for (OddsGame game : games) {
+            OddsConsensus consensus = OddsAggregator.aggregate(game);
+            bh.consume(consensus);
+        }
+    }
+
+    // Board keyed by pair right after the teams changed: every name folded and looked up for the first time
+    @Benchmark
+    public Map<String, OddsGame> keyBoardCold() {
+        TeamNameResolver cold = new TeamNameResolver(new SimpleMeterRegistry());
+        cold.onSnapshotRefreshed(refreshed);
+        return keyBoard(cold, games);
+    }
+
+    @Benchmark
+    public Map<String, OddsGame> keyBoardWarm() {
+        return keyBoard(warm, games);
+    }
+
+    // Every fixture of the day looked up on the board, as the /odds requests for a full board would
+    @Benchmark
+    public int lookupAllFixtures() {
+        int found = 0;
+        for (Fixture f : fixtures) {
+            if (byPair.get(warm.canonical(f.home().name()) + '|' + warm.canonical(f.away().name())) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // Same pair key as OddsService.boardPairKey
+    private static Map<String, OddsGame> keyBoard(TeamNameResolver names, List<OddsGame> games) {
+        Map<String, OddsGame> byPair = new HashMap<>(games.size() * 2);
+        for (OddsGame game : games) {
+            byPair.putIfAbsent(names.boardCanonical(game.homeTeam()) + '|' + names.boardCanonical(game.awayTeam()), game);
+        }
+        return byPair;
+    }
+}
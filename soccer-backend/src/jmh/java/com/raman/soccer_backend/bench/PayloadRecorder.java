@@ -0,0 +1,96 @@
+package com.raman.soccer_backend.bench;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.service.ApiSportsJsonReader;
+import com.raman.soccer_backend.service.StandingsService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+// Saves one real match day from the providers for the benchmarks (see RecordedPayloads):
+// the /fixtures board for a date, the events of its busiest finished match, the league table, and an Odds API board.
+//   APIFOOTBALL_KEY=... ODDS_API_KEY=... mvn -Pbench test-compile exec:exec \
+//       -Dbench.main=com.raman.soccer_backend.bench.PayloadRecorder -Djmh.args="src/jmh/payloads 2025-09-13 39 soccer_epl"
+// Arguments: output dir, date, api-sports league for the table, Odds API sport key. Costs 2 api-sports calls
+// plus one per finished match tried for events (at most 5), and 1 Odds API credit. Without ODDS_API_KEY the odds are skipped.
+public class PayloadRecorder {
+
+    private static final String API_SPORTS = "https://v3.football.api-sports.io";
+    private static final String ODDS_API = "https://api.the-odds-api.com/v4";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path out = Path.of(args.length > 0 ? args[0] : RecordedPayloads.dir().toString());
+        String date = args.length > 1 ? args[1] : LocalDate.now().minusDays(1).toString(); // yesterday: all finished
+        int league = args.length > 2 ? Integer.parseInt(args[2]) : 39;
+        String sportKey = args.length > 3 ? args[3] : "soccer_epl";
+
+        String apiSportsKey = System.getenv("APIFOOTBALL_KEY");
+        if (apiSportsKey == null || apiSportsKey.isBlank()) {
+            System.err.println("❌ Set APIFOOTBALL_KEY");
+            System.exit(1);
+        }
+        Files.createDirectories(out);
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        byte[] fixtures = get(http, API_SPORTS + "/fixtures?date=" + date + "&timezone=UTC", apiSportsKey);
+        save(out, RecordedPayloads.FIXTURES, fixtures);
+
+        // the match with the most events makes the most realistic timeline
+        List<Fixture> finished = ApiSportsJsonReader.readFixtures(new ByteArrayInputStream(fixtures)).stream()
+                .filter(f -> f.status().isFinished())
+                .limit(5)
+                .toList();
+        byte[] bestEvents = null;
+        int bestCount = -1;
+        for (Fixture f : finished) {
+            byte[] events = get(http, API_SPORTS + "/fixtures/events?fixture=" + f.id(), apiSportsKey);
+            int count = ApiSportsJsonReader.readEvents(new ByteArrayInputStream(events)).size();
+            if (count > bestCount) {
+                bestEvents = events;
+                bestCount = count;
+            }
+        }
+        if (bestEvents != null) {
+            save(out, RecordedPayloads.EVENTS, bestEvents);
+        } else {
+            System.out.println("⚠️ No finished match on " + date + ", events not recorded");
+        }
+
+        save(out, RecordedPayloads.STANDINGS, get(http, API_SPORTS + "/standings?league=" + league
+                + "&season=" + StandingsService.currentSeason(), apiSportsKey));
+
+        String oddsKey = System.getenv("ODDS_API_KEY");
+        if (oddsKey == null || oddsKey.isBlank()) {
+            System.out.println("⚠️ ODDS_API_KEY not set, odds not recorded");
+        } else {
+            save(out, RecordedPayloads.ODDS, get(http, ODDS_API + "/sports/" + sportKey
+                    + "/odds/?regions=eu&markets=h2h&apiKey=" + oddsKey, null));
+        }
+    }
+
+    private static byte[] get(HttpClient http, String url, String apiSportsKey) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(20)).GET();
+        if (apiSportsKey != null) {
+            request.header("x-apisports-key", apiSportsKey);
+        }
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException(url.replaceAll("apiKey=[^&]*", "apiKey=***") + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static void save(Path dir, String name, byte[] body) throws IOException {
+        Files.write(dir.resolve(name), body);
+        System.out.println("✅ Recorded " + dir.resolve(name) + " (" + body.length + " bytes)");
+    }
+}
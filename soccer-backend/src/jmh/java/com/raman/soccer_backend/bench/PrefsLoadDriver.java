@@ -0,0 +1,81 @@
+package com.raman.soccer_backend.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop load on /prefs: N virtual-thread clients, each sending GET (80%) or POST (20%) for a random
+// user back to back for the given duration, then throughput and latency percentiles.
+//
+// Against DynamoDB Local:
+//   docker run -p 8000:8000 amazon/dynamodb-local
+//   aws dynamodb create-table --endpoint-url http://localhost:8000 --region us-east-2 --table-name UserPreferences \
+//       --attribute-definitions AttributeName=userId,AttributeType=S AttributeName=prefType,AttributeType=S \
+//       --key-schema AttributeName=userId,KeyType=HASH AttributeName=prefType,KeyType=RANGE --billing-mode PAY_PER_REQUEST
+//   java -jar target/soccer-backend-0.0.1-SNAPSHOT.jar --aws.dynamo.endpoint=http://localhost:8000
+//   mvn -Pbench test-compile exec:exec -Dbench.main=com.raman.soccer_backend.bench.PrefsLoadDriver \
+//       -Djmh.args="http://localhost:8080 500 30 10000"
+// Arguments: base URL, concurrent clients, seconds, distinct users. Run the same against an older build to compare.
+public class PrefsLoadDriver {
+
+    public static void main(String[] args) throws InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int users = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> perClient = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int c = 0; c < clients; c++) {
+            LatencyLog log = new LatencyLog();
+            threads.add(Thread.ofVirtual().start(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String user = "load-" + rnd.nextInt(users);
+                    HttpRequest request = rnd.nextInt(5) == 0
+                            ? HttpRequest.newBuilder(URI.create(baseUrl + "/prefs/" + user
+                                    + "?prefType=TEAM&valueName=team-" + rnd.nextInt(100)))
+                                    .POST(HttpRequest.BodyPublishers.noBody()).build()
+                            : HttpRequest.newBuilder(URI.create(baseUrl + "/prefs/" + user)).GET().build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    log.add(System.nanoTime() - start);
+                }
+                synchronized (perClient) {
+                    perClient.add(log.toArray());
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%d clients, %d s: %d requests, %.0f req/s, %d errors%n",
+                clients, seconds, all.length, all.length / (double) seconds, errors.get());
+        if (all.length > 0) {
+            System.out.printf("latency ms  p50 %.2f  p90 %.2f  p99 %.2f  max %.2f%n",
+                    LatencyLog.ms(all, 0.50), LatencyLog.ms(all, 0.90), LatencyLog.ms(all, 0.99), all[all.length - 1] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.raman.soccer_backend.bench;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.raman.soccer_backend.service.AiPrompts;
+import com.raman.soccer_backend.service.AiResponseCache;
+import com.raman.soccer_backend.service.ApiSportsJsonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// What an AI request costs before (or instead of) the OpenAI call: building the prompt from the gathered
+// data and hashing it into the response cache key. A cache hit is exactly this and a map lookup.
+// Run with: mvn -Pbench test-compile exec:exec -Djmh.args="PromptBuilding -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBuildingBenchmark {
+
+    // same as AiService
+    private static final String MODEL = "gpt-4o-mini";
+    private static final int MAX_TOKENS = 250;
+
+    private List<MatchEvent> events;
+    private List<Fixture> h2h;
+    private String oddsJson;
+
+    @Setup
+    public void setup() throws IOException {
+        events = ApiSportsJsonReader.readEvents(new ByteArrayInputStream(RecordedPayloads.orGenerated(
+                RecordedPayloads.EVENTS, () -> MatchDayPayloads.events(30, 42))));
+        h2h = ApiSportsJsonReader.readFixtures(new ByteArrayInputStream(MatchDayPayloads.fixtures(5, 7)));
+        // roughly what the extension sends: one game's line from the board
+        List<Fixture> one = ApiSportsJsonReader.readFixtures(new ByteArrayInputStream(MatchDayPayloads.fixtures(1, 3)));
+        String board = new String(MatchDayPayloads.odds(one, 1, 3), StandardCharsets.UTF_8);
+        oddsJson = board.substring(1, board.length() - 1);
+    }
+
+    @Benchmark
+    public String postMatchPrompt() {
+        return AiPrompts.postMatch("Team 33", 2, "Team 40", 1, events);
+    }
+
+    @Benchmark
+    public String postMatchCacheKey() {
+        return AiResponseCache.key(MODEL, AiPrompts.SYSTEM, MAX_TOKENS,
+                AiPrompts.postMatch("Team 33", 2, "Team 40", 1, events));
+    }
+
+    @Benchmark
+    public String preMatchPrompt() {
+        return AiPrompts.preMatch("Team 33", "Team 40", "2025-09-13T14:00:00+00:00", "League 39",
+                List.of("W", "W", "D", "L", "W"), List.of("L", "D", "W", "W", "L"), h2h, oddsJson);
+    }
+
+    @Benchmark
+    public String preMatchCacheKey() {
+        return AiResponseCache.key(MODEL, AiPrompts.SYSTEM, MAX_TOKENS,
+                AiPrompts.preMatch("Team 33", "Team 40", "2025-09-13T14:00:00+00:00", "League 39",
+                        List.of("W", "W", "D", "L", "W"), List.of("L", "D", "W", "W", "L"), h2h, oddsJson));
+    }
+}
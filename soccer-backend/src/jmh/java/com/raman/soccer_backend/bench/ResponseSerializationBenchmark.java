@@ -0,0 +1,134 @@
+package com.raman.soccer_backend.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.raman.soccer_backend.config.JsonWriters;
+import com.raman.soccer_backend.config.PrecomputedBodies;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.raman.soccer_backend.model.OddsConsensus;
+import com.raman.soccer_backend.model.OddsGame;
+import com.raman.soccer_backend.model.Standing;
+import com.raman.soccer_backend.service.ApiSportsJsonReader;
+import com.raman.soccer_backend.service.OddsAggregator;
+import com.raman.soccer_backend.service.OddsApiJsonReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+// The controller response bodies: raw Jackson cost per payload with the prebuilt writers, and what a request
+// actually pays through PrecomputedBodies (a new data version = serialize + hash + gzip; same version = none
+// of it; a matching If-None-Match = a 304 with no body).
+// Run with: mvn -Pbench test-compile exec:exec -Djmh.args="ResponseSerialization -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final CacheControl LIVE = CacheControl.maxAge(10, TimeUnit.SECONDS); // as MatchesController
+
+    private List<Fixture> fixtures;
+    private List<MatchEvent> events;
+    private List<Standing> standings;
+    private List<OddsConsensus> consensus;
+
+    private ObjectWriter fixtureList;
+    private ObjectWriter eventList;
+    private ObjectWriter standingsWriter;
+    private ObjectWriter consensusWriter;
+
+    private PrecomputedBodies bodies;
+    private long version;
+    private WebRequest gzipRequest;
+    private WebRequest revalidateRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        fixtures = ApiSportsJsonReader.readFixtures(new ByteArrayInputStream(RecordedPayloads.orGenerated(
+                RecordedPayloads.FIXTURES, () -> MatchDayPayloads.fixtures(400, 42))));
+        events = ApiSportsJsonReader.readEvents(new ByteArrayInputStream(RecordedPayloads.orGenerated(
+                RecordedPayloads.EVENTS, () -> MatchDayPayloads.events(30, 42))));
+        standings = ApiSportsJsonReader.readStandings(new ByteArrayInputStream(RecordedPayloads.orGenerated(
+                RecordedPayloads.STANDINGS, () -> MatchDayPayloads.standings(1, 20, 7))));
+        List<OddsGame> games = OddsApiJsonReader.readGames(new ByteArrayInputStream(RecordedPayloads.orGenerated(
+                RecordedPayloads.ODDS, () -> MatchDayPayloads.odds(fixtures.subList(0, Math.min(60, fixtures.size())), 12, 42))));
+        consensus = new ArrayList<>();
+        for (OddsGame game : games) {
+            OddsConsensus c = OddsAggregator.aggregate(game);
+            if (c != null) {
+                consensus.add(c);
+            }
+        }
+
+        JsonWriters writers = new JsonWriters(new ObjectMapper());
+        fixtureList = writers.fixtureList();
+        eventList = writers.eventList();
+        standingsWriter = writers.writerFor(new TypeReference<List<Standing>>() {});
+        consensusWriter = writers.writerFor(new TypeReference<List<OddsConsensus>>() {});
+
+        bodies = new PrecomputedBodies(new SimpleMeterRegistry(), 32L << 20);
+        PrecomputedBodies.Body current = bodies.get("fixtures", 0L, fixtureList, () -> fixtures);
+        MockHttpServletRequest gzip = new MockHttpServletRequest("GET", "/api/scores/fixtures");
+        gzip.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        gzipRequest = new ServletWebRequest(gzip);
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/api/scores/fixtures");
+        revalidate.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, Objects.requireNonNullElse(current.gzipEtag(), current.etag()));
+        revalidateRequest = new ServletWebRequest(revalidate);
+    }
+
+    @Benchmark
+    public byte[] fixturesJson() throws JsonProcessingException {
+        return fixtureList.writeValueAsBytes(fixtures);
+    }
+
+    @Benchmark
+    public byte[] eventsJson() throws JsonProcessingException {
+        return eventList.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] standingsJson() throws JsonProcessingException {
+        return standingsWriter.writeValueAsBytes(standings);
+    }
+
+    @Benchmark
+    public byte[] consensusJson() throws JsonProcessingException {
+        return consensusWriter.writeValueAsBytes(consensus);
+    }
+
+    // /fixtures right after a snapshot refresh: the first request serializes, hashes and gzips the new version
+    @Benchmark
+    public PrecomputedBodies.Body fixturesNewVersion() {
+        return bodies.get("fixtures:new", ++version, fixtureList, () -> fixtures);
+    }
+
+    // /fixtures between refreshes, gzip accepted
+    @Benchmark
+    public ResponseEntity<byte[]> fixturesSameVersion() {
+        return bodies.respond(gzipRequest, bodies.get("fixtures", 0L, fixtureList, () -> fixtures), LIVE, null);
+    }
+
+    // /fixtures poll from a client that already has this version
+    @Benchmark
+    public ResponseEntity<byte[]> fixturesNotModified() {
+        return bodies.respond(revalidateRequest, bodies.get("fixtures", 0L, fixtureList, () -> fixtures), LIVE, null);
+    }
+}
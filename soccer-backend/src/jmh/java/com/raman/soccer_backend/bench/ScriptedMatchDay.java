@@ -0,0 +1,276 @@
+package com.raman.soccer_backend.bench;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchStatus;
+import com.raman.soccer_backend.model.TeamSide;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// A live match day that plays out in accelerated time, answering in api-sports / Odds API JSON. Fixtures kick
+// off in waves around the moment the simulator starts (some already finished, some hours away); each match
+// runs 1H -> HT -> 2H -> FT on the simulated clock, and its goals, cards and subs (scripted up front from the
+// seed) appear in the score and the events feed as their minute passes. minutesPerSecond = 1 plays a whole
+// match (with half time) in under two real minutes.
+final class ScriptedMatchDay {
+
+    // api-sports league id -> Odds API sport key, for the leagues both cover
+    static final Map<Integer, String> SPORT_KEYS = Map.of(
+            39, "soccer_epl",
+            140, "soccer_spain_la_liga",
+            135, "soccer_italy_serie_a",
+            61, "soccer_france_ligue_one",
+            78, "soccer_germany_bundesliga",
+            2, "soccer_uefa_champs_league");
+
+    private static final int[] MAJOR_LEAGUES = {2, 39, 140, 135, 78, 61};
+    // kickoff, in match minutes relative to the simulator's start
+    private static final int[] KICKOFFS = {-200, -120, -30, 0, 10, 30, 60, 90, 120, 180, 240, 300};
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx").withZone(ZoneOffset.UTC);
+
+    private final List<Match> matches = new ArrayList<>();
+    private final long startMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final double minutesPerSecond;
+    private final long seed;
+
+    ScriptedMatchDay(int fixtures, double minutesPerSecond, long seed) {
+        this.minutesPerSecond = minutesPerSecond;
+        this.seed = seed;
+        Random rnd = new Random(seed);
+        int[] nextTeam = new int[1000];
+        for (int i = 0; i < fixtures; i++) {
+            // 60% in the leagues everyone follows, the rest spread over minor ones
+            int league = rnd.nextInt(10) < 6 ? MAJOR_LEAGUES[rnd.nextInt(MAJOR_LEAGUES.length)] : 100 + rnd.nextInt(800);
+            int home = league * 100 + nextTeam[league]++ % 40;
+            int away = league * 100 + nextTeam[league]++ % 40;
+            matches.add(new Match(String.valueOf(1200000 + i), league, home, away,
+                    KICKOFFS[rnd.nextInt(KICKOFFS.length)], script(rnd)));
+        }
+    }
+
+    // Whole board for any date asked (the app only asks for today)
+    byte[] fixtures(String date) {
+        return envelope("fixtures", "\"date\":\"" + date + "\",\"timezone\":\"UTC\"", render(matches));
+    }
+
+    byte[] fixture(String id) {
+        List<Match> found = matches.stream().filter(m -> m.id.equals(id)).toList();
+        return envelope("fixtures", "\"id\":\"" + id + "\"", render(found));
+    }
+
+    byte[] events(String fixtureId) {
+        Match match = matches.stream().filter(m -> m.id.equals(fixtureId)).findFirst().orElse(null);
+        StringBuilder sb = new StringBuilder();
+        int count = 0;
+        if (match != null) {
+            int played = played(minute(match));
+            for (ScriptedEvent e : match.script) {
+                if (e.minute > played) {
+                    break;
+                }
+                int teamId = e.home ? match.home : match.away;
+                if (count++ > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"time\":{\"elapsed\":").append(e.minute).append(",\"extra\":null},")
+                        .append("\"team\":{\"id\":").append(teamId).append(",\"name\":\"Team ").append(teamId)
+                        .append("\",\"logo\":\"https://media.api-sports.io/football/teams/").append(teamId).append(".png\"},")
+                        .append("\"player\":{\"id\":").append(teamId * 100 + e.player).append(",\"name\":\"Player ")
+                        .append(teamId).append('-').append(e.player).append("\"},")
+                        .append("\"assist\":{\"id\":null,\"name\":null},")
+                        .append("\"type\":\"").append(e.type).append("\",\"detail\":\"").append(e.detail)
+                        .append("\",\"comments\":null}");
+            }
+        }
+        return envelope("fixtures/events", "\"fixture\":\"" + fixtureId + "\"", new Rendered(sb, count));
+    }
+
+    // Last n finished games of a team (for form), against made-up opponents from its league
+    byte[] lastGames(int teamId, int n) {
+        Random rnd = new Random(seed ^ teamId);
+        List<Fixture> games = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int opponent = (teamId / 100) * 100 + rnd.nextInt(40);
+            boolean home = rnd.nextBoolean();
+            games.add(finished("11" + teamId + i, teamId / 100, home ? teamId : opponent, home ? opponent : teamId,
+                    rnd.nextInt(4), rnd.nextInt(4), 7 * (i + 1)));
+        }
+        return envelope("fixtures", "\"team\":\"" + teamId + "\",\"last\":\"" + n + "\"", renderFixtures(games));
+    }
+
+    byte[] headToHead(int a, int b, int n) {
+        Random rnd = new Random(seed ^ (31L * a + b));
+        List<Fixture> games = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            boolean aHome = i % 2 == 0;
+            games.add(finished("12" + a + b + i, a / 100, aHome ? a : b, aHome ? b : a,
+                    rnd.nextInt(4), rnd.nextInt(4), 120 * (i + 1)));
+        }
+        return envelope("fixtures/headtohead", "\"h2h\":\"" + a + "-" + b + "\",\"last\":\"" + n + "\"", renderFixtures(games));
+    }
+
+    byte[] standings(int league) {
+        return MatchDayPayloads.standings(1, 20, seed ^ league);
+    }
+
+    // Odds API board: every match of the league that hasn't finished, with provider-style name spellings
+    byte[] odds(String sportKey) {
+        List<Fixture> open = new ArrayList<>();
+        for (Match m : matches) {
+            if (sportKey.equals(SPORT_KEYS.get(m.league)) && minute(m) < 105) {
+                open.add(fixture(m));
+            }
+        }
+        return MatchDayPayloads.odds(open, 12, seed ^ sportKey.hashCode());
+    }
+
+    // Simulated minutes since this match's kickoff (negative before it)
+    private double minute(Match m) {
+        return (System.nanoTime() - startNanos) / 1e9 * minutesPerSecond - m.kickoff;
+    }
+
+    // Minutes of football played at that point: 1H 0-45, HT for 15, 2H, FT at 105
+    private static int played(double minute) {
+        if (minute < 0) {
+            return -1;
+        }
+        if (minute < 45) {
+            return (int) minute + 1;
+        }
+        if (minute < 60) {
+            return 45;
+        }
+        return minute < 105 ? Math.min(90, (int) minute - 14) : 90;
+    }
+
+    private Fixture fixture(Match m) {
+        double minute = minute(m);
+        int played = played(minute);
+        String phase = minute < 0 ? "NS" : minute < 45 ? "1H" : minute < 60 ? "HT" : minute < 105 ? "2H" : "FT";
+        String longName = switch (phase) {
+            case "NS" -> "Not Started";
+            case "1H" -> "First Half";
+            case "HT" -> "Halftime";
+            case "2H" -> "Second Half";
+            default -> "Match Finished";
+        };
+        Integer hg = null, ag = null;
+        if (played >= 0) {
+            hg = 0;
+            ag = 0;
+            for (ScriptedEvent e : m.script) {
+                if (e.minute <= played && e.type.equals("Goal")) {
+                    if (e.home) {
+                        hg++;
+                    } else {
+                        ag++;
+                    }
+                }
+            }
+        }
+        long kickoffMillis = startMillis + (long) (m.kickoff * 60_000 / minutesPerSecond);
+        return new Fixture(m.id, "League " + m.league, m.league, 2025, ISO.format(Instant.ofEpochMilli(kickoffMillis)),
+                m.home, m.away,
+                new TeamSide("Team " + m.home, logo(m.home), hg),
+                new TeamSide("Team " + m.away, logo(m.away), ag),
+                new MatchStatus(phase, longName, played >= 0 ? played : null));
+    }
+
+    private Fixture finished(String id, int league, int home, int away, int hg, int ag, int daysAgo) {
+        String kickoff = ISO.format(Instant.ofEpochMilli(startMillis - daysAgo * 86_400_000L));
+        return new Fixture(id, "League " + league, league, 2025, kickoff, home, away,
+                new TeamSide("Team " + home, logo(home), hg), new TeamSide("Team " + away, logo(away), ag),
+                new MatchStatus("FT", "Match Finished", 90));
+    }
+
+    private Rendered render(List<Match> ms) {
+        List<Fixture> fixtures = new ArrayList<>(ms.size());
+        for (Match m : ms) {
+            fixtures.add(fixture(m));
+        }
+        return renderFixtures(fixtures);
+    }
+
+    // api-sports fixture objects, with the venue/periods/score blocks the app skips
+    private static Rendered renderFixtures(List<Fixture> fixtures) {
+        StringBuilder sb = new StringBuilder(fixtures.size() * 1500);
+        for (int i = 0; i < fixtures.size(); i++) {
+            Fixture f = fixtures.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            long timestamp = Instant.from(ISO.parse(f.kickoffIso())).getEpochSecond();
+            Integer hg = f.home().score(), ag = f.away().score();
+            boolean done = f.status().isFinished();
+            sb.append("{\"fixture\":{\"id\":").append(f.id())
+                    .append(",\"referee\":\"Referee ").append(f.id()).append(", Country\"")
+                    .append(",\"timezone\":\"UTC\",\"date\":\"").append(f.kickoffIso()).append('"')
+                    .append(",\"timestamp\":").append(timestamp)
+                    .append(",\"periods\":{\"first\":").append(hg == null ? null : timestamp)
+                    .append(",\"second\":null}")
+                    .append(",\"venue\":{\"id\":").append(f.homeId()).append(",\"name\":\"Stadium ").append(f.homeId())
+                    .append("\",\"city\":\"City ").append(f.homeId() % 97).append("\"}")
+                    .append(",\"status\":{\"long\":\"").append(f.status().longName()).append("\",\"short\":\"")
+                    .append(f.status().phase()).append("\",\"elapsed\":").append(f.status().elapsed()).append(",\"extra\":null}},")
+                    .append("\"league\":{\"id\":").append(f.leagueId()).append(",\"name\":\"").append(f.league())
+                    .append("\",\"country\":\"Country ").append(f.leagueId() % 120)
+                    .append("\",\"logo\":\"https://media.api-sports.io/football/leagues/").append(f.leagueId()).append(".png\"")
+                    .append(",\"flag\":null,\"season\":").append(f.season())
+                    .append(",\"round\":\"Regular Season - 4\",\"standings\":true},")
+                    .append("\"teams\":{\"home\":{\"id\":").append(f.homeId()).append(",\"name\":\"").append(f.home().name())
+                    .append("\",\"logo\":\"").append(f.home().logo()).append("\",\"winner\":").append(done && hg > ag ? "true" : "null")
+                    .append("},\"away\":{\"id\":").append(f.awayId()).append(",\"name\":\"").append(f.away().name())
+                    .append("\",\"logo\":\"").append(f.away().logo()).append("\",\"winner\":").append(done && ag > hg ? "true" : "null")
+                    .append("}},\"goals\":{\"home\":").append(hg).append(",\"away\":").append(ag).append("},")
+                    .append("\"score\":{\"halftime\":{\"home\":null,\"away\":null}")
+                    .append(",\"fulltime\":{\"home\":").append(done ? hg : null).append(",\"away\":").append(done ? ag : null)
+                    .append("},\"extratime\":{\"home\":null,\"away\":null},\"penalty\":{\"home\":null,\"away\":null}}}");
+        }
+        return new Rendered(sb, fixtures.size());
+    }
+
+    private static byte[] envelope(String get, String parameters, Rendered response) {
+        StringBuilder sb = new StringBuilder(response.json.length() + 200);
+        sb.append("{\"get\":\"").append(get).append("\",\"parameters\":{").append(parameters)
+                .append("},\"errors\":[],\"results\":").append(response.count)
+                .append(",\"paging\":{\"current\":1,\"total\":1},\"response\":[").append(response.json).append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String logo(int teamId) {
+        return "https://media.api-sports.io/football/teams/" + teamId + ".png";
+    }
+
+    // Goals (0-4 a side), cards and subs at fixed minutes, in minute order
+    private static List<ScriptedEvent> script(Random rnd) {
+        List<ScriptedEvent> events = new ArrayList<>();
+        int goals = rnd.nextInt(5), cards = rnd.nextInt(5), subs = 4 + rnd.nextInt(5);
+        for (int i = 0; i < goals; i++) {
+            events.add(new ScriptedEvent(1 + rnd.nextInt(90), rnd.nextBoolean(), "Goal", "Normal Goal", 1 + rnd.nextInt(11)));
+        }
+        for (int i = 0; i < cards; i++) {
+            events.add(new ScriptedEvent(10 + rnd.nextInt(81), rnd.nextBoolean(), "Card", "Yellow Card", 1 + rnd.nextInt(11)));
+        }
+        for (int i = 0; i < subs; i++) {
+            events.add(new ScriptedEvent(46 + rnd.nextInt(45), rnd.nextBoolean(), "subst", "Substitution " + (i / 2 + 1), 1 + rnd.nextInt(18)));
+        }
+        events.sort((a, b) -> Integer.compare(a.minute, b.minute));
+        return events;
+    }
+
+    private record Match(String id, int league, int home, int away, int kickoff, List<ScriptedEvent> script) {
+    }
+
+    private record ScriptedEvent(int minute, boolean home, String type, String detail, int player) {
+    }
+
+    private record Rendered(CharSequence json, int count) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.raman.soccer_backend.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raman.soccer_backend.model.Standing;
+import com.raman.soccer_backend.service.ApiSportsJsonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// JsonNode tree vs token streaming for the league table the preview reads. (Recent form comes from the match
+// archive, MatchArchive.recentForm, not from parsing a response.)
+// Heap churn is the gc.alloc.rate.norm column: mvn -Pbench test-compile exec:exec -Djmh.args="StandingsParsing -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StandingsParsingBenchmark {
+
+    // one of the 20 teams in the generated table
+    private static final int TEAM_ID = 45;
+
+    private byte[] standingsJson;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setup() {
+        standingsJson = RecordedPayloads.orGenerated(RecordedPayloads.STANDINGS, () -> MatchDayPayloads.standings(1, 20, 7));
+        mapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyStanding() throws IOException {
+        return LegacyParsing.standing(mapper.readTree(standingsJson), TEAM_ID);
+    }
+
+    @Benchmark
+    public List<Standing> streamingStandings() throws IOException {
+        return ApiSportsJsonReader.readStandings(new ByteArrayInputStream(standingsJson));
+    }
+}
@@ -0,0 +1,384 @@
+package com.raman.soccer_backend.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+// Stand-in for api-sports, the Odds API and OpenAI on one local port, so the backend can be load-tested without
+// spending quota. Point the app at it with
+//   --apifootball.base-url=http://localhost:9090/api-sports --oddsapi.base-url=http://localhost:9090/odds-api/v4
+//   --openai.base-url=http://localhost:9090/   (the OpenAI client's paths are absolute: /v1/...)
+// Every URI ScoresService, OddsService and AiService call is answered, in this order:
+//   1. a recorded response for that exact URI from recordings=<dir>, if there is one (replay)
+//   2. with record=true, the real provider's response, saved there first (record; needs the real keys in the app)
+//   3. the scripted live match day (ScriptedMatchDay) / a canned chat completion
+// Streamed chat completions ("stream":true) are always scripted: ai-ttft-ms before the first chunk, then one
+// chunk per word every ai-token-ms, as OpenAI's SSE (data: {...chat.completion.chunk...} ... data: [DONE]).
+// Responses carry quota headers like the real ones, counting down from quota= (and per-minute= for api-sports)
+// so UpstreamBudget has something to pace on. latency-ms/jitter-ms, error-rate (503s), slow-rate/slow-ms (tail latency) and ai-latency-ms
+// shape the answers; any of them can be set per provider as <provider>.<key> (e.g. odds-api.error-rate=0.2).
+// Call counts per provider and path are at GET /__sim/stats (and stats() when embedded), for amplification.
+//   mvn -Pbench test-compile exec:exec -Dbench.main=com.raman.soccer_backend.bench.UpstreamSimulator \
+//       -Djmh.args="port=9090 latency-ms=120 error-rate=0.01 minutes-per-second=1"
+public class UpstreamSimulator {
+
+    private static final Map<String, String> REAL = Map.of(
+            "api-sports", "https://v3.football.api-sports.io",
+            "odds-api", "https://api.the-odds-api.com/v4",
+            "openai", "https://api.openai.com");
+
+    private final Map<String, String> options;
+    private final ScriptedMatchDay day;
+    private final Path recordings;
+    private final boolean record;
+    private final HttpClient realUpstream = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, LongAdder> stats = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> quotaUsed = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> perMinute = new ConcurrentHashMap<>();
+    private HttpServer server;
+
+    public UpstreamSimulator(Map<String, String> options) {
+        this.options = options;
+        this.day = new ScriptedMatchDay(intOpt(null, "fixtures", 300), doubleOpt(null, "minutes-per-second", 1.0),
+                longOpt(null, "seed", 42));
+        this.recordings = options.containsKey("recordings") ? Path.of(options.get("recordings")) : null;
+        this.record = Boolean.parseBoolean(options.getOrDefault("record", "false"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        UpstreamSimulator sim = new UpstreamSimulator(parseArgs(args));
+        sim.start();
+        System.out.println("🎭 Upstream simulator on " + sim.baseUrl() + " (stats at " + sim.baseUrl() + "/__sim/stats)");
+    }
+
+    // key=value arguments (shared with the load driver)
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(intOpt(null, "port", 9090)), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api-sports/", ex -> handle(ex, "api-sports", "/api-sports"));
+        server.createContext("/odds-api/", ex -> handle(ex, "odds-api", "/odds-api"));
+        server.createContext("/v1/", ex -> handle(ex, "openai", ""));
+        server.createContext("/__sim/stats", ex -> send(ex, 200, statsJson().getBytes(StandardCharsets.UTF_8), Map.of()));
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    // Calls so far: "<provider>" and "<provider> <path>" counts, plus "<provider> errors"
+    public Map<String, Long> stats() {
+        Map<String, Long> out = new TreeMap<>();
+        stats.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+
+    private void handle(HttpExchange ex, String provider, String prefix) throws IOException {
+        try (ex) {
+            try {
+                serve(ex, provider, prefix);
+            } catch (Exception e) {
+                System.err.println("❌ Simulator failed on " + ex.getRequestURI() + ": " + e);
+                if (ex.getResponseCode() == -1) { // nothing sent yet: answer 500 instead of just dropping the connection
+                    String message = String.valueOf(e).replace("\\", "\\\\").replace("\"", "\\\"").replaceAll("[\\r\\n\\t]", " ");
+                    send(ex, 500, ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8), Map.of());
+                }
+            }
+        }
+    }
+
+    private void serve(HttpExchange ex, String provider, String prefix) throws IOException, InterruptedException {
+        String path = ex.getRequestURI().getPath().substring(prefix.length());
+        String query = ex.getRequestURI().getRawQuery();
+        byte[] requestBody = ex.getRequestBody().readAllBytes();
+        count(provider);
+        count(provider + " " + path.replaceAll("/\\d+", "/{id}").replaceAll("/sports/[^/]+/", "/sports/{sport}/"));
+
+        delay(provider);
+        if (ThreadLocalRandom.current().nextDouble() < doubleOpt(provider, "error-rate", 0)) {
+            count(provider + " errors");
+            send(ex, 503, "{\"message\":\"simulated outage\"}".getBytes(StandardCharsets.UTF_8), quotaHeaders(provider));
+            return;
+        }
+
+        if (provider.equals("openai") && new String(requestBody, StandardCharsets.UTF_8).contains("\"stream\":true")) {
+            streamChatCompletion(ex);
+            return;
+        }
+
+        byte[] body = recorded(provider, path, query, requestBody);
+        if (body == null && record) {
+            body = recordFromReal(ex, provider, path, query, requestBody);
+        }
+        if (body == null) {
+            body = scripted(provider, path, params(query));
+        }
+        if (body == null) {
+            send(ex, 404, "{\"message\":\"unknown endpoint\"}".getBytes(StandardCharsets.UTF_8), Map.of());
+            return;
+        }
+        send(ex, 200, body, quotaHeaders(provider));
+    }
+
+    private byte[] scripted(String provider, String path, Map<String, String> q) {
+        return switch (provider) {
+            case "api-sports" -> switch (path) {
+                case "/fixtures" -> q.containsKey("id") ? day.fixture(q.get("id"))
+                        : q.containsKey("team") ? day.lastGames(Integer.parseInt(q.get("team")), Integer.parseInt(q.getOrDefault("last", "5")))
+                        : day.fixtures(q.getOrDefault("date", ""));
+                case "/fixtures/events" -> day.events(q.get("fixture"));
+                case "/fixtures/headtohead" -> {
+                    String[] ids = q.get("h2h").split("-");
+                    yield day.headToHead(Integer.parseInt(ids[0]), Integer.parseInt(ids[1]), Integer.parseInt(q.getOrDefault("last", "5")));
+                }
+                case "/standings" -> day.standings(Integer.parseInt(q.getOrDefault("league", "39")));
+                default -> null;
+            };
+            case "odds-api" -> path.startsWith("/v4/sports/") && path.contains("/odds")
+                    ? day.odds(path.split("/")[3]) : null;
+            case "openai" -> path.endsWith("/chat/completions") ? chatCompletion() : null;
+            default -> null;
+        };
+    }
+
+    private static final String CANNED_ANALYSIS =
+            "Simulated analysis: both sides arrive in decent form and the odds make the home side slight favourites.";
+
+    private byte[] chatCompletion() {
+        sleep(jittered(longOpt("openai", "ai-latency-ms", 1200)));
+        String content = CANNED_ANALYSIS;
+        return ("{\"id\":\"chatcmpl-sim\",\"object\":\"chat.completion\",\"created\":" + System.currentTimeMillis() / 1000
+                + ",\"model\":\"gpt-4o-mini\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\""
+                + content + "\"},\"finish_reason\":\"stop\"}],\"usage\":{\"prompt_tokens\":400,\"completion_tokens\":60,\"total_tokens\":460}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void streamChatCompletion(HttpExchange ex) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "text/event-stream");
+        ex.sendResponseHeaders(200, 0); // chunked
+        long tokenMs = longOpt("openai", "ai-token-ms", 25);
+        sleep(jittered(longOpt("openai", "ai-ttft-ms", 400)));
+        try (OutputStream os = ex.getResponseBody()) {
+            String[] words = CANNED_ANALYSIS.split("(?= )");
+            for (String word : words) {
+                os.write(chunk("{\"content\":\"" + word + "\"}", null));
+                os.flush();
+                sleep(tokenMs);
+            }
+            os.write(chunk("{}", "\"stop\""));
+            os.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] chunk(String delta, String finishReason) {
+        return ("data: {\"id\":\"chatcmpl-sim\",\"object\":\"chat.completion.chunk\",\"created\":"
+                + System.currentTimeMillis() / 1000 + ",\"model\":\"gpt-4o-mini\",\"choices\":[{\"index\":0,\"delta\":"
+                + delta + ",\"finish_reason\":" + finishReason + "}]}\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Recorded responses live at <recordings>/<provider>/<path + query, sanitized>.json (the Odds API key left out);
+    // chat completions are keyed by a hash of the request body
+    private Path recordingFile(String provider, String path, String query, byte[] requestBody) {
+        String name;
+        if (provider.equals("openai")) {
+            name = sha256(requestBody);
+        } else {
+            String q = query == null ? "" : "?" + query.replaceAll("&?apiKey=[^&]*", "");
+            name = (path + q).replaceAll("[^A-Za-z0-9._=-]", "_");
+        }
+        return recordings.resolve(provider).resolve(name + ".json");
+    }
+
+    private byte[] recorded(String provider, String path, String query, byte[] requestBody) throws IOException {
+        if (recordings == null) {
+            return null;
+        }
+        Path file = recordingFile(provider, path, query, requestBody);
+        return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+    }
+
+    private byte[] recordFromReal(HttpExchange ex, String provider, String path, String query, byte[] requestBody)
+            throws IOException, InterruptedException {
+        if (recordings == null) {
+            return null;
+        }
+        URI uri = URI.create(REAL.get(provider) + path + (query == null ? "" : "?" + query));
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60))
+                .method(ex.getRequestMethod(), requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (String header : new String[]{"x-apisports-key", "Authorization", "Content-Type"}) {
+            String value = ex.getRequestHeaders().getFirst(header);
+            if (value != null) {
+                request.header(header, value);
+            }
+        }
+        HttpResponse<byte[]> response = realUpstream.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            System.err.println("⚠️ Not recording " + provider + path + ": upstream returned " + response.statusCode());
+            return null;
+        }
+        Path file = recordingFile(provider, path, query, requestBody);
+        Files.createDirectories(file.getParent());
+        Files.write(file, response.body());
+        System.out.println("📼 Recorded " + file);
+        return response.body();
+    }
+
+    // Quota headers as the providers send them, counting down from quota= with every call
+    private Map<String, String> quotaHeaders(String provider) {
+        long used = quotaUsed.computeIfAbsent(provider, p -> new AtomicLong()).incrementAndGet();
+        return switch (provider) {
+            case "api-sports" -> {
+                long quota = longOpt(provider, "quota", 75_000);
+                long minuteLimit = longOpt(provider, "per-minute", 450);
+                LongAdder thisMinute = perMinute.computeIfAbsent(System.currentTimeMillis() / 60_000, m -> new LongAdder());
+                thisMinute.increment();
+                yield Map.of(
+                        "x-ratelimit-requests-limit", String.valueOf(quota),
+                        "x-ratelimit-requests-remaining", String.valueOf(Math.max(0, quota - used)),
+                        "X-RateLimit-Limit", String.valueOf(minuteLimit),
+                        "X-RateLimit-Remaining", String.valueOf(Math.max(0, minuteLimit - thisMinute.sum())));
+            }
+            case "odds-api" -> {
+                long quota = longOpt(provider, "quota", 20_000);
+                yield Map.of(
+                        "x-requests-used", String.valueOf(used),
+                        "x-requests-remaining", String.valueOf(Math.max(0, quota - used)),
+                        "x-requests-last", "1");
+            }
+            default -> Map.of();
+        };
+    }
+
+    private void delay(String provider) {
+        long ms = jittered(longOpt(provider, "latency-ms", 80));
+        if (ThreadLocalRandom.current().nextDouble() < doubleOpt(provider, "slow-rate", 0)) {
+            ms += longOpt(provider, "slow-ms", 5000);
+        }
+        sleep(ms);
+    }
+
+    private long jittered(long ms) {
+        long jitter = longOpt(null, "jitter-ms", ms / 2);
+        return Math.max(0, ms + (jitter == 0 ? 0 : ThreadLocalRandom.current().nextLong(-jitter, jitter + 1)));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange ex, int status, byte[] body, Map<String, String> headers) throws IOException {
+        headers.forEach((k, v) -> ex.getResponseHeaders().add(k, v));
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        String accept = ex.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accept != null && accept.contains("gzip") && body.length >= 1024) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(body);
+            }
+            body = out.toByteArray();
+            ex.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private String statsJson() {
+        StringBuilder sb = new StringBuilder("{");
+        stats().forEach((k, v) -> sb.append(sb.length() > 1 ? "," : "").append('"').append(k).append("\":").append(v));
+        return sb.append('}').toString();
+    }
+
+    private void count(String key) {
+        stats.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private static Map<String, String> params(String rawQuery) {
+        Map<String, String> q = new HashMap<>();
+        if (rawQuery == null) {
+            return q;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                q.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return q;
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // <provider>.<key>, then <key>, then the default
+    private String opt(String provider, String key) {
+        String v = provider == null ? null : options.get(provider + "." + key);
+        return v != null ? v : options.get(key);
+    }
+
+    private int intOpt(String provider, String key, int def) {
+        String v = opt(provider, key);
+        return v == null ? def : Integer.parseInt(v);
+    }
+
+    private long longOpt(String provider, String key, long def) {
+        String v = opt(provider, key);
+        return v == null ? def : Long.parseLong(v);
+    }
+
+    private double doubleOpt(String provider, String key, double def) {
+        String v = opt(provider, key);
+        return v == null ? def : Double.parseDouble(v);
+    }
+}
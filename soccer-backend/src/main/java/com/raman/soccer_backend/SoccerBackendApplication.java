@@ -2,8 +2,10 @@ package com.raman.soccer_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SoccerBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(SoccerBackendApplication.class, args);
@@ -1,22 +1,66 @@
 package com.raman.soccer_backend.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 
+import java.net.URI;
+import java.time.Duration;
+
+// Non-blocking DynamoDB: requests go out over one shared Netty connection pool, so a slow AWS round-trip
+// holds a pooled connection instead of a request thread. aws.dynamo.endpoint points the client at
+// DynamoDB Local (e.g. http://localhost:8000) for load tests; left empty it talks to AWS in aws.dynamo.region.
 @Configuration
 public class DynamoDbConfig {
 
-    @Bean
-    public DynamoDbClient dynamoDbClient() {
+    private static final Logger log = LoggerFactory.getLogger(DynamoDbConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public SdkAsyncHttpClient dynamoDbHttpClient(
+            @Value("${aws.dynamo.max-connections:200}") int maxConnections,
+            @Value("${aws.dynamo.max-pending-acquires:10000}") int maxPendingAcquires,
+            @Value("${aws.dynamo.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${aws.dynamo.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+            @Value("${aws.dynamo.io-timeout-ms:5000}") long ioTimeoutMs) {
+        return NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConnections)
+                .maxPendingConnectionAcquires(maxPendingAcquires)
+                .connectionTimeout(Duration.ofMillis(connectTimeoutMs))
+                .connectionAcquisitionTimeout(Duration.ofMillis(acquireTimeoutMs))
+                .readTimeout(Duration.ofMillis(ioTimeoutMs))
+                .writeTimeout(Duration.ofMillis(ioTimeoutMs))
+                .connectionMaxIdleTime(Duration.ofSeconds(60)) // DynamoDB closes idle connections anyway
+                .tcpKeepAlive(true)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public DynamoDbAsyncClient dynamoDbClient(SdkAsyncHttpClient dynamoDbHttpClient,
+                                              @Value("${aws.dynamo.region:us-east-2}") String region,
+                                              @Value("${aws.dynamo.endpoint:}") String endpoint) {
         try {
-            System.out.println("⚡ Creating DynamoDbClient bean...");
-            return DynamoDbClient.builder()
-                    .region(Region.US_EAST_2) // match your table’s region
-                    .build();
+            log.info("⚡ Creating DynamoDbAsyncClient bean...");
+            DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                    .httpClient(dynamoDbHttpClient)
+                    .region(Region.of(region)); // match your table’s region
+            if (!endpoint.isBlank()) {
+                // DynamoDB Local accepts any credentials
+                log.info("⚡ DynamoDB endpoint override: {}", endpoint);
+                builder.endpointOverride(URI.create(endpoint))
+                        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")));
+            }
+            return builder.build();
         } catch (Exception e) {
-            System.err.println("❌ Failed to create DynamoDbClient: " + e.getMessage());
+            log.error("❌ Failed to create DynamoDbAsyncClient: {}", e.getMessage());
             throw e;
         }
     }
@@ -0,0 +1,25 @@
+package com.raman.soccer_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+// Application events (snapshot refreshes, mostly) go to each listener in turn on the publishing thread.
+// One that throws is logged and skipped, so the archive, resolver, standings, pregen and live pushes
+// don't depend on the listeners registered before them.
+@Configuration
+public class EventsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EventsConfig.class);
+
+    @Bean(name = "applicationEventMulticaster")
+    public ApplicationEventMulticaster applicationEventMulticaster(BeanFactory beanFactory) {
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(beanFactory);
+        multicaster.setErrorHandler(t -> log.error("❌ Event listener failed: {}", t.getMessage(), t));
+        return multicaster;
+    }
+}
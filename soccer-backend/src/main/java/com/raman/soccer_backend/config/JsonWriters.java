@@ -0,0 +1,50 @@
+package com.raman.soccer_backend.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// ObjectWriters for the model types, built once from Spring's ObjectMapper at startup.
+// Writers created with a type resolve their root serializer eagerly, so hot paths that
+// serialize by hand (SSE payloads, precomputed bodies) skip the per-call serializer lookup.
+@Component
+public class JsonWriters {
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter fixtureList;
+    private final ObjectWriter fixture;
+    private final ObjectWriter eventList;
+
+    public JsonWriters(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.fixtureList = mapper.writerFor(new TypeReference<List<Fixture>>() {});
+        this.fixture = mapper.writerFor(Fixture.class);
+        this.eventList = mapper.writerFor(new TypeReference<List<MatchEvent>>() {});
+    }
+
+    public ObjectWriter fixtureList() {
+        return fixtureList;
+    }
+
+    public ObjectWriter fixture() {
+        return fixture;
+    }
+
+    public ObjectWriter eventList() {
+        return eventList;
+    }
+
+    // For other payload types; call once and keep the writer, don't call per request
+    public ObjectWriter writerFor(Class<?> type) {
+        return mapper.writerFor(type);
+    }
+
+    public ObjectWriter writerFor(TypeReference<?> type) {
+        return mapper.writerFor(type);
+    }
+}
@@ -0,0 +1,192 @@
+package com.raman.soccer_backend.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Response bodies for the polled read endpoints, serialized (and gzipped) once per version of the data they
+// come from (snapshot version, timeline cursor, board fetch time...) instead of once per request. Each body has
+// a strong ETag from its content, so a poll with a matching If-None-Match is a 304 without touching Jackson.
+// Bodies live in a Caffeine cache bounded by their byte size; a new version of a key replaces the old one.
+@Component
+public class PrecomputedBodies {
+
+    private static final int GZIP_MIN_BYTES = 512; // below this gzip saves nothing worth the header
+
+    private final Cache<String, Body> cache;
+    private final Counter notModified;
+    private final Counter gzipped;
+    private final Counter identity;
+    private final Timer serializeTimer;
+
+    public PrecomputedBodies(MeterRegistry meters,
+                             @Value("${http.bodies.max-bytes:33554432}") long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Body body) -> body.json().length + (body.gzip() == null ? 0 : body.gzip().length))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "http.bodies");
+        this.notModified = meters.counter("http.bodies.responses", "result", "not-modified");
+        this.gzipped = meters.counter("http.bodies.responses", "result", "gzip");
+        this.identity = meters.counter("http.bodies.responses", "result", "identity");
+        this.serializeTimer = Timer.builder("http.bodies.serialize")
+                .description("Jackson write + hash + gzip of a new data version")
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    // ✅ The body for key at this version, serializing value only if the cached one is for another version
+    public Body get(String key, Object version, ObjectWriter writer, Supplier<?> value) {
+        Body cached = cache.getIfPresent(key);
+        if (cached != null && cached.version().equals(version)) {
+            return cached;
+        }
+        Object data = value.get();
+        long start = System.nanoTime();
+        Body fresh = Body.of(version, serialize(writer, data));
+        serializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        cache.put(key, fresh);
+        return fresh;
+    }
+
+    // A body that isn't worth keeping (one-off data with no version); still gets its ETag and gzip
+    public Body once(ObjectWriter writer, Object value) {
+        return Body.of("once", serialize(writer, value));
+    }
+
+    // 304 if the client already has it, otherwise the bytes (gzipped when the client accepts it)
+    public ResponseEntity<byte[]> respond(WebRequest request, Body body, CacheControl cacheControl, HttpHeaders extra) {
+        boolean gzip = body.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? body.gzipEtag() : body.etag();
+
+        HttpHeaders headers = new HttpHeaders();
+        if (extra != null) {
+            headers.addAll(extra);
+        }
+        headers.setETag(etag);
+        headers.setCacheControl(cacheControl);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), body)) {
+            notModified.increment();
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            gzipped.increment();
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(body.gzip(), headers, HttpStatus.OK);
+        }
+        identity.increment();
+        return new ResponseEntity<>(body.json(), headers, HttpStatus.OK);
+    }
+
+    // Either encoding's tag validates the content (they're the same data), weak comparison per RFC 9110
+    private static boolean matches(String ifNoneMatch, Body body) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.startsWith("W/")) {
+                t = t.substring(2);
+            }
+            if (t.equals("*") || t.equals(body.etag()) || t.equals(body.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String c = coding.trim();
+            int semi = c.indexOf(';');
+            String name = semi < 0 ? c : c.substring(0, semi).trim();
+            if (name.equalsIgnoreCase("gzip") && (semi < 0 || qValue(c.substring(semi + 1)) > 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The q weight among a coding's parameters: 1 when absent, 0 when unreadable (identity is always safe)
+    private static double qValue(String params) {
+        for (String param : params.split(";")) {
+            int eq = param.indexOf('=');
+            if (eq < 0 || !param.substring(0, eq).trim().equalsIgnoreCase("q")) {
+                continue;
+            }
+            try {
+                return Double.parseDouble(param.substring(eq + 1).trim());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] serialize(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // One serialized version of a payload: plain JSON, gzip of it (null if too small to bother), and their tags
+    public record Body(Object version, byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        static Body of(Object version, byte[] json) {
+            String hash = hash(json);
+            byte[] gzip = json.length >= GZIP_MIN_BYTES ? gzip(json) : null;
+            return new Body(Objects.requireNonNull(version), json, gzip, "\"" + hash + "\"", "\"" + hash + "-gz\"");
+        }
+
+        private static String hash(byte[] json) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 12);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.raman.soccer_backend.controller;
 
+import com.raman.soccer_backend.service.AiPregenerationService;
 import com.raman.soccer_backend.service.AiService;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -9,9 +12,11 @@ import org.springframework.web.bind.annotation.*;
 public class AiController {
 
     private final AiService aiService;
+    private final AiPregenerationService pregenerated;
 
-    public AiController(AiService aiService) {
+    public AiController(AiService aiService, AiPregenerationService pregenerated) {
         this.aiService = aiService;
+        this.pregenerated = pregenerated;
     }
 
     // ✅ Pre-match preview
@@ -23,9 +28,35 @@ public class AiController {
                           @RequestParam int homeId,
                           @RequestParam int awayId,
                           @RequestParam(required = false) String odds) {
+        // pre-generated previews are built without odds, so only use one when none were sent
+        if (odds == null || odds.isBlank()) {
+            String ready = pregenerated.preview(homeId, awayId);
+            if (ready != null) {
+                return ready;
+            }
+        }
         return aiService.getPreMatchAnalysis(home, away, kickoff, league, homeId, awayId, odds);
     }
 
+    // ✅ Pre-match preview as it is written: /api/ai/preview?...&stream=true (SSE)
+    // Events: "token" ({"text": next piece}), then "done" ({"text": whole preview}) or "error"
+    @GetMapping(path = "/preview", params = "stream=true", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPreview(@RequestParam String home,
+                                    @RequestParam String away,
+                                    @RequestParam String kickoff,
+                                    @RequestParam String league,
+                                    @RequestParam int homeId,
+                                    @RequestParam int awayId,
+                                    @RequestParam(required = false) String odds) {
+        if (odds == null || odds.isBlank()) {
+            String ready = pregenerated.preview(homeId, awayId);
+            if (ready != null) {
+                return aiService.streamOf(ready);
+            }
+        }
+        return aiService.streamPreMatchAnalysis(home, away, kickoff, league, homeId, awayId, odds);
+    }
+
     // ✅ Post-match recap
     @GetMapping("/summary")
     public String getPostMatch(@RequestParam String matchId,
@@ -33,6 +64,24 @@ public class AiController {
                                @RequestParam int homeScore,
                                @RequestParam String away,
                                @RequestParam int awayScore) {
+        String ready = pregenerated.summary(matchId);
+        if (ready != null) {
+            return ready;
+        }
         return aiService.getPostMatchSummary(matchId, home, homeScore, away, awayScore);
     }
+
+    // ✅ Post-match recap as it is written: /api/ai/summary?...&stream=true (SSE), same events as the preview
+    @GetMapping(path = "/summary", params = "stream=true", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPostMatch(@RequestParam String matchId,
+                                      @RequestParam String home,
+                                      @RequestParam int homeScore,
+                                      @RequestParam String away,
+                                      @RequestParam int awayScore) {
+        String ready = pregenerated.summary(matchId);
+        if (ready != null) {
+            return aiService.streamOf(ready);
+        }
+        return aiService.streamPostMatchSummary(matchId, home, homeScore, away, awayScore);
+    }
 }
@@ -0,0 +1,32 @@
+package com.raman.soccer_backend.controller;
+
+import com.raman.soccer_backend.service.LiveScoreService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scores")
+public class LiveScoreController {
+
+    private final LiveScoreService live;
+
+    public LiveScoreController(LiveScoreService live) {
+        this.live = live;
+    }
+
+    // Server-Sent Events stream of live score changes.
+    // Example: /api/scores/live?leagues=39,140  or  /api/scores/live?fixtures=1208021
+    // Events: "snapshot" (full filtered list on connect), "fixture" (one changed fixture),
+    // "events" (new timeline entries for a fixture, or the whole timeline with reset=true after a correction)
+    @GetMapping(path = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter live(@RequestParam(required = false) List<String> fixtures,
+                           @RequestParam(required = false) List<Integer> leagues) {
+        return live.subscribe(fixtures, leagues);
+    }
+}
@@ -1,139 +1,223 @@
 package com.raman.soccer_backend.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.raman.soccer_backend.config.JsonWriters;
+import com.raman.soccer_backend.config.PrecomputedBodies;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.raman.soccer_backend.model.OddsConsensus;
+import com.raman.soccer_backend.model.Standing;
+import com.raman.soccer_backend.service.EventTimeline;
+import com.raman.soccer_backend.service.EventTimelineService;
+import com.raman.soccer_backend.service.FeedService;
+import com.raman.soccer_backend.service.FixtureSnapshot;
+import com.raman.soccer_backend.service.FixtureSnapshotService;
+import com.raman.soccer_backend.service.OddsBoard;
+import com.raman.soccer_backend.service.OddsService;
 import com.raman.soccer_backend.service.ScoresService;
-import org.springframework.beans.factory.annotation.Value;
+import com.raman.soccer_backend.service.StandingsService;
+import com.raman.soccer_backend.service.StandingsTable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+// Read endpoints answer with precomputed bodies (serialized and gzipped once per data version, strong ETag),
+// so repeated polls cost a 304 or a byte copy rather than a serialization each.
 @RestController
 @RequestMapping("/api/scores")
 public class MatchesController {
 
-    private final ScoresService scores;
-
-    @Value("${oddsapi.key}")
-    private String oddsApiKey;
+    // fixtures and timelines refresh every ~30s while live; tables hourly; odds boards every 15 min
+    private static final CacheControl LIVE = CacheControl.maxAge(10, TimeUnit.SECONDS);
+    private static final CacheControl PER_USER = CacheControl.maxAge(10, TimeUnit.SECONDS).cachePrivate();
+    private static final CacheControl TABLES = CacheControl.maxAge(5, TimeUnit.MINUTES);
+    private static final CacheControl ODDS = CacheControl.maxAge(1, TimeUnit.MINUTES);
 
-    public MatchesController(ScoresService scores) {
+    private final ScoresService scores;
+    private final FixtureSnapshotService fixtures;
+    private final EventTimelineService timelines;
+    private final StandingsService standings;
+    private final OddsService odds;
+    private final FeedService feed;
+    private final PrecomputedBodies bodies;
+    private final JsonWriters writers;
+    private final ObjectWriter eventsPageWriter;
+    private final ObjectWriter standingsWriter;
+    private final ObjectWriter pricesWriter;
+    private final ObjectWriter consensusListWriter;
+    private final ObjectWriter consensusWriter;
+
+    public MatchesController(ScoresService scores, FixtureSnapshotService fixtures,
+                             EventTimelineService timelines, StandingsService standings,
+                             OddsService odds, FeedService feed,
+                             PrecomputedBodies bodies, JsonWriters writers) {
         this.scores = scores;
+        this.fixtures = fixtures;
+        this.timelines = timelines;
+        this.standings = standings;
+        this.odds = odds;
+        this.feed = feed;
+        this.bodies = bodies;
+        this.writers = writers;
+        this.eventsPageWriter = writers.writerFor(EventsPage.class);
+        this.standingsWriter = writers.writerFor(new TypeReference<List<Standing>>() {});
+        this.pricesWriter = writers.writerFor(new TypeReference<Map<String, Double>>() {});
+        this.consensusListWriter = writers.writerFor(new TypeReference<List<OddsConsensus>>() {});
+        this.consensusWriter = writers.writerFor(OddsConsensus.class);
     }
 
     // Existing endpoints ------------------------
 
     @GetMapping("/fixtures")
-    public List<Map<String, Object>> todayMatches() {
-        return scores.getTodayMatches();
+    public ResponseEntity<byte[]> todayMatches(WebRequest request) {
+        FixtureSnapshot snap = fixtures.getToday();
+        PrecomputedBodies.Body body = bodies.get("fixtures:" + snap.date(), snap.version(),
+                writers.fixtureList(), snap::fixtures);
+        return bodies.respond(request, body, LIVE, null);
     }
 
-    @GetMapping("/fixtures/events")
-    public List<Map<String, Object>> getEvents(@RequestParam("fixture") String matchId) {
-        return scores.getMatchEvents(matchId);
+    // Today's fixtures picked for one user: favourite team/league first, then the covered leagues.
+    // Example: /api/scores/feed/u123  or  /api/scores/feed/u123?leagues=39,140
+    @GetMapping("/feed/{userId}")
+    public CompletableFuture<ResponseEntity<byte[]>> userFeed(@PathVariable String userId,
+                                                              @RequestParam(required = false) List<Integer> leagues,
+                                                              WebRequest request) {
+        return feed.feed(userId, leagues).thenApply(f -> bodies.respond(request,
+                bodies.get("feed:" + userId + ":" + leagues, f.version(), writers.fixtureList(), f::fixtures),
+                PER_USER, null));
     }
 
-// New Odds endpoint ------------------------
-// Example: /api/scores/odds?league=uefa_champions_league&home=Barcelona&away=PSG
-@GetMapping("/odds")
-public Map<String, Object> getOdds(
-        @RequestParam String league,
-        @RequestParam String home,
-        @RequestParam String away) {
-
-    // Mapping from frontend → Odds API keys
-    Map<String, String> leagueMap = Map.of(
-        "premier_league", "soccer_epl",
-        "la_liga", "soccer_spain_la_liga",
-        "serie_a", "soccer_italy_serie_a",
-        "ligue_1", "soccer_france_ligue_one",
-        "bundesliga", "soccer_germany_bundesliga",
-        "uefa_champions_league", "soccer_uefa_champs_league"
-    );
-
-    // Translate league key
-    String oddsLeague = leagueMap.get(league.toLowerCase());
-    if (oddsLeague == null) {
-        return Map.of("error", "Unsupported league: " + league);
+    // Without `since`: the whole timeline (plain list, as before).
+    // With `since=N`: {fixture, cursor, reset, events} holding only the events after sequence N.
+    // Fixtures that aren't on today's board have no timeline: their whole list comes from upstream every time
+    // (with `since`, as reset=true and cursor 0).
+    @GetMapping("/fixtures/events")
+    public ResponseEntity<byte[]> getEvents(@RequestParam("fixture") String matchId,
+                                            @RequestParam(required = false) Long since,
+                                            WebRequest request) {
+        EventTimeline.Slice slice = timelines.since(matchId, since == null ? 0 : since);
+        if (slice == null) {
+            List<MatchEvent> events = timelines.untracked(matchId);
+            PrecomputedBodies.Body body = since == null
+                    ? bodies.once(writers.eventList(), events)
+                    : bodies.once(eventsPageWriter, new EventsPage(matchId, 0, true, events));
+            return bodies.respond(request, body, LIVE, null);
+        }
+        PrecomputedBodies.Body body;
+        if (since == null) {
+            body = bodies.get("events:" + matchId, slice.cursor(), writers.eventList(), slice::events);
+        } else {
+            // every since >= cursor is the same empty page, and every reset the same whole list
+            String page = slice.reset() ? "reset" : Long.toString(Math.max(0, Math.min(since, slice.cursor())));
+            body = bodies.get("events:" + matchId + ":" + page, slice.cursor(), eventsPageWriter,
+                    () -> new EventsPage(matchId, slice.cursor(), slice.reset(), slice.events()));
+        }
+        return bodies.respond(request, body, LIVE, null);
     }
 
-    String url = String.format(
-        "https://api.the-odds-api.com/v4/sports/%s/odds/?regions=eu&markets=h2h&apiKey=%s",
-        oddsLeague,
-        oddsApiKey
-    );
+    // reset=true: events is the whole timeline (something was corrected upstream) and replaces the client's copy
+    record EventsPage(String fixture, long cursor, boolean reset, List<MatchEvent> events) {}
+
+    // Whole league table from the standings cache. Example: /api/scores/standings?league=39&season=2025
+    @GetMapping("/standings")
+    public ResponseEntity<byte[]> getStandings(@RequestParam("league") int leagueId,
+                                               @RequestParam(required = false) Integer season,
+                                               WebRequest request) {
+        int s = season == null ? StandingsService.currentSeason() : season;
+        StandingsTable table = standings.table(leagueId, s);
+        PrecomputedBodies.Body body = bodies.get("standings:" + leagueId + ":" + s,
+                table == null ? -1L : table.fetchedAtMillis(), standingsWriter,
+                () -> table == null ? List.of() : table.rows());
+        return bodies.respond(request, body, TABLES, null);
+    }
 
-    try {
-        RestTemplate restTemplate = new RestTemplate();
-        List<Map<String, Object>> response = restTemplate.getForObject(url, List.class);
+    // Odds endpoint ------------------------
+    // Example: /api/scores/odds?league=uefa_champions_league&home=Barcelona&away=PSG
+    // Served from the in-memory board; X-Odds-Age-Seconds says how old that board is.
+    @GetMapping("/odds")
+    public ResponseEntity<?> getOdds(
+            @RequestParam String league,
+            @RequestParam String home,
+            @RequestParam String away,
+            WebRequest request) {
+
+        String sportKey = OddsService.sportKey(league);
+        if (sportKey == null) {
+            return ResponseEntity.ok(Map.of("error", "Unsupported league: " + league));
+        }
 
-        if (response == null) {
-            return Map.of("error", "No data from Odds API");
+        OddsService.Quote quote = odds.quote(sportKey, home, away);
+        if (quote.board() == null) {
+            return ResponseEntity.ok(Map.of("error", "No data from Odds API"));
         }
 
-for (Map<String, Object> game : response) {
-    String homeTeam = normalizeTeam((String) game.get("home_team"));
-    String awayTeamResp = normalizeTeam((String) game.get("away_team"));
-
-    String searchHome = normalizeTeam(home);
-    String searchAway = normalizeTeam(away);
-
-    // DEBUG LOG
-    System.out.println("Looking for: " + searchHome + " vs " + searchAway);
-    System.out.println("Odds API has: " + homeTeam + " vs " + awayTeamResp);
-
-    if (homeTeam.equalsIgnoreCase(searchHome) && awayTeamResp.equalsIgnoreCase(searchAway)) {
-        Map<String, Object> simplified = new HashMap<>();
-        List<Map<String, Object>> bookmakers = (List<Map<String, Object>>) game.get("bookmakers");
-        if (bookmakers != null && !bookmakers.isEmpty()) {
-            List<Map<String, Object>> markets = (List<Map<String, Object>>) bookmakers.get(0).get("markets");
-            if (markets != null && !markets.isEmpty()) {
-                List<Map<String, Object>> outcomes = (List<Map<String, Object>>) markets.get(0).get("outcomes");
-                if (outcomes != null) {
-                    for (Map<String, Object> o : outcomes) {
-                        simplified.put((String) o.get("name"), o.get("price"));
-                    }
-                }
-            }
+        HttpHeaders age = ageHeader(quote.board());
+        if (quote.line() == null) {
+            return ResponseEntity.ok().headers(age).body(Map.of("error", "Match not found in Odds API"));
         }
-        return simplified;
+        PrecomputedBodies.Body body = bodies.get("odds:" + sportKey + ":" + odds.pairKey(home, away),
+                boardVersion(quote.board()), pricesWriter, quote.line()::prices);
+        return bodies.respond(request, body, ODDS, age);
     }
-}
 
+    // All-bookmaker view: best price, median price, margin and fair probabilities per outcome.
+    // With home/away: that one game; without: every game on the league's board.
+    // Example: /api/scores/odds/consensus?league=premier_league&home=Arsenal&away=Chelsea
+    @GetMapping("/odds/consensus")
+    public ResponseEntity<?> getOddsConsensus(
+            @RequestParam String league,
+            @RequestParam(required = false) String home,
+            @RequestParam(required = false) String away,
+            WebRequest request) {
+
+        String sportKey = OddsService.sportKey(league);
+        if (sportKey == null) {
+            return ResponseEntity.ok(Map.of("error", "Unsupported league: " + league));
+        }
 
-        return Map.of("error", "Match not found in Odds API");
+        OddsBoard board = odds.board(sportKey);
+        if (board == null) {
+            return ResponseEntity.ok(Map.of("error", "No data from Odds API"));
+        }
 
-    } catch (Exception e) {
-        e.printStackTrace(); // shows stacktrace in Render logs
-        return Map.of("error", "Exception while fetching odds: " + e.getMessage());
+        HttpHeaders age = ageHeader(board);
+        if (home == null || away == null) {
+            PrecomputedBodies.Body body = bodies.get("consensus:" + sportKey, boardVersion(board),
+                    consensusListWriter, board::consensus);
+            return bodies.respond(request, body, ODDS, age);
+        }
+        String pairKey = odds.pairKey(home, away);
+        OddsBoard.Line line = board.find(pairKey);
+        OddsConsensus consensus = line == null ? null : line.consensus();
+        if (consensus == null) {
+            return ResponseEntity.ok().headers(age).body(Map.of("error", "Match not found in Odds API"));
+        }
+        PrecomputedBodies.Body body = bodies.get("consensus:" + sportKey + ":" + pairKey, boardVersion(board),
+                consensusWriter, () -> consensus);
+        return bodies.respond(request, body, ODDS, age);
     }
-}
-//helper 
-private String normalizeTeam(String name) {
-    if (name == null) return "";
-    name = name.trim();
-
-    Map<String, String> aliases = Map.ofEntries(
-    Map.entry("Athletic Club", "Athletic Bilbao"),
-    Map.entry("PSG", "Paris Saint Germain"),
-    Map.entry("Qarabag", "Qarabag FK"),
-    Map.entry("Man City", "Manchester City"),
-    Map.entry("Inter Milan", "Internazionale"),
-    Map.entry("Sporting CP", "Sporting Lisbon"),
-    Map.entry("Monaco", "AS Monaco"),
-    Map.entry("Newcastle", "Newcastle United"),
-    Map.entry("Union St. Gilloise", "Union Saint-Gilloise")
-
-        // add more as needed
-    );
-
-    return aliases.getOrDefault(name, name);
-}
-
 
+    // Per request (unlike the body): how old the board is right now
+    private static HttpHeaders ageHeader(OddsBoard board) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Odds-Age-Seconds", Long.toString(board.ageMillis() / 1000));
+        return headers;
+    }
 
+    // A board changes on refresh and when its keys are rebuilt for new team names
+    private static String boardVersion(OddsBoard board) {
+        return board.fetchedAtMillis() + ":" + board.nameGeneration();
+    }
 }
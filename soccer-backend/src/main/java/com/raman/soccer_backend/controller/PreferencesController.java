@@ -1,10 +1,14 @@
 package com.raman.soccer_backend.controller;
 
+import com.raman.soccer_backend.model.Pref;
 import com.raman.soccer_backend.service.PreferencesService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/prefs")
@@ -17,10 +21,23 @@ public class PreferencesController {
         this.prefsService = prefsService;
     }
 
-    // Get all preferences for a user
+    // Get all preferences for a user. ✅ ETag'd: an unchanged set is a 304 with no body.
+    // no-cache = the browser may keep it but must revalidate, so a change made elsewhere shows up at once.
+    // Async: the request thread is released while DynamoDB answers a cache miss.
     @GetMapping("/{userId}")
-    public List<Map<String, String>> getPrefs(@PathVariable String userId) {
-        return prefsService.getPrefs(userId);
+    public CompletableFuture<ResponseEntity<List<Pref>>> getPrefs(
+            @PathVariable String userId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        return prefsService.getPrefs(userId).thenApply(prefs -> {
+            if (matches(ifNoneMatch, prefs.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(prefs.etag()).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(prefs.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(prefs.prefs());
+        });
     }
 
     // Save a preference (team or league)
@@ -35,7 +52,24 @@ public class PreferencesController {
 
     // Delete all preferences for a user (triggered by Reset button)
     @DeleteMapping("/{userId}")
-    public void deletePrefs(@PathVariable String userId) {
-        prefsService.deletePrefs(userId);
+    public CompletableFuture<Void> deletePrefs(@PathVariable String userId) {
+        return prefsService.deletePrefs(userId);
+    }
+
+    // If-None-Match is "*" or a list of tags, possibly weak (W/"...")
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.startsWith("W/")) {
+                t = t.substring(2);
+            }
+            if (t.equals("*") || t.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,7 @@
+package com.raman.soccer_backend.model;
+
+import java.util.List;
+
+// One bookmaker's h2h prices for a game (outcomes are home team, away team and "Draw")
+public record BookmakerOdds(String key, String title, List<OddsLine> outcomes) {
+}
@@ -0,0 +1,14 @@
+package com.raman.soccer_backend.model;
+
+// A fixture as served to the extension. Field names match the JSON the old Map-based version produced.
+public record Fixture(String id,
+                      String league,
+                      int leagueId,
+                      int season,
+                      String kickoffIso,
+                      int homeId,
+                      int awayId,
+                      TeamSide home,
+                      TeamSide away,
+                      MatchStatus status) {
+}
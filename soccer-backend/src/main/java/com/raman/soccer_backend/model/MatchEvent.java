@@ -0,0 +1,18 @@
+package com.raman.soccer_backend.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One timeline entry (goal, card, substitution, VAR...). seq is only set once the event has been
+// appended to a fixture's EventTimeline; it is left out of the JSON before that.
+public record MatchEvent(@JsonInclude(JsonInclude.Include.NON_NULL) Long seq,
+                         int minute,
+                         Integer extra,
+                         String type,
+                         String detail,
+                         String player,
+                         String team) {
+
+    public MatchEvent withSeq(Long seq) {
+        return new MatchEvent(seq, minute, extra, type, detail, player, team);
+    }
+}
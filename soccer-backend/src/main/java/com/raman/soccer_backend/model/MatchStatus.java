@@ -0,0 +1,31 @@
+package com.raman.soccer_backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Set;
+
+// phase is the api-sports short code ("NS", "1H", "HT", "FT", ...), longName the readable one
+public record MatchStatus(String phase,
+                          @JsonProperty("long") String longName,
+                          Integer elapsed) {
+
+    // api-sports short status codes for a match that is currently being played
+    public static final Set<String> LIVE_PHASES = Set.of("1H", "HT", "2H", "ET", "BT", "P", "SUSP", "INT", "LIVE");
+    public static final Set<String> FINISHED_PHASES = Set.of("FT", "AET", "PEN");
+
+    @JsonIgnore
+    public boolean isLive() {
+        return LIVE_PHASES.contains(phase);
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return FINISHED_PHASES.contains(phase);
+    }
+
+    @JsonIgnore
+    public boolean isNotStarted() {
+        return "NS".equals(phase);
+    }
+}
@@ -0,0 +1,15 @@
+package com.raman.soccer_backend.model;
+
+import java.util.List;
+
+// Aggregated h2h market for one game. outcomes are home, draw, away.
+// overround is the median bookmaker margin (0.05 = 5%); bestOverround is the margin left when taking
+// the best price of each outcome (negative means the best prices form an arbitrage).
+public record OddsConsensus(String home,
+                            String away,
+                            String commenceTime,
+                            int bookmakers,
+                            List<OutcomeConsensus> outcomes,
+                            double overround,
+                            double bestOverround) {
+}
@@ -0,0 +1,8 @@
+package com.raman.soccer_backend.model;
+
+import java.util.List;
+
+// One game on an Odds API board; team names are the Odds API's spelling, not api-sports'
+public record OddsGame(String id, String homeTeam, String awayTeam, String commenceTime,
+                       List<BookmakerOdds> bookmakers) {
+}
@@ -0,0 +1,5 @@
+package com.raman.soccer_backend.model;
+
+// One outcome price from a bookmaker's h2h market (name is a team or "Draw")
+public record OddsLine(String name, double price) {
+}
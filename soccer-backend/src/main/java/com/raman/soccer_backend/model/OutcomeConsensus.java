@@ -0,0 +1,7 @@
+package com.raman.soccer_backend.model;
+
+// One h2h outcome across every bookmaker: best price (and who offers it), median price,
+// and the implied probability with the margin taken out
+public record OutcomeConsensus(String name, double best, String bestBookmaker, double median,
+                               double fairProbability) {
+}
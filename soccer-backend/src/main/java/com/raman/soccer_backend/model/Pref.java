@@ -0,0 +1,5 @@
+package com.raman.soccer_backend.model;
+
+// One saved preference row: prefType is TEAM or LEAGUE, valueName what the user picked
+public record Pref(String prefType, String valueName) {
+}
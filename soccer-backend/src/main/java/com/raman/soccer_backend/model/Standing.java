@@ -0,0 +1,5 @@
+package com.raman.soccer_backend.model;
+
+// One team's row in a league table (only the columns we use)
+public record Standing(int teamId, int rank, int points, int played) {
+}
@@ -0,0 +1,5 @@
+package com.raman.soccer_backend.model;
+
+// One side of a fixture. score is null until the match has started.
+public record TeamSide(String name, String logo, Integer score) {
+}
@@ -0,0 +1,277 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Generates AI content before anyone asks for it: previews for fixtures kicking off within the horizon,
+// and summaries as soon as a fixture goes to full time. Only the configured leagues are covered, in that
+// order of priority. A few workers drain a priority queue, spaced out by a minimum interval between
+// OpenAI calls. AiController reads the per-fixture store first and only falls back to generating on demand.
+// A preview is only stored when all of its inputs came through (otherwise it is retried later), and is
+// regenerated once it is older than ai.pregen.preview-max-age-ms while kickoff is still ahead: unchanged
+// inputs give the same prompt, which the response cache answers without another OpenAI call.
+@Service
+public class AiPregenerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AiPregenerationService.class);
+
+    enum Kind { PREVIEW, SUMMARY }
+
+    private final AiService ai;
+    private final FixtureSnapshotService fixtures;
+    private final MeterRegistry meters;
+    private final List<Integer> leagues;
+    private final long horizonMs;
+    private final int concurrency;
+    private final long minIntervalMs;
+    private final long retryAfterMs;
+    private final long previewMaxAgeMs;
+
+    private final Map<String, Generated> previews = new ConcurrentHashMap<>();
+    private final Map<String, String> summaries = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparingInt(Job::priority).thenComparingLong(Job::dueAtMillis));
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastFailureMillis = new ConcurrentHashMap<>();
+    private final AtomicLong nextSlotMillis = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+
+    public AiPregenerationService(AiService ai,
+                                  FixtureSnapshotService fixtures,
+                                  MeterRegistry meters,
+                                  @Value("${ai.pregen.leagues:2,39,140,135,78,61}") List<Integer> leagues,
+                                  @Value("${ai.pregen.preview-horizon-ms:10800000}") long horizonMs,
+                                  @Value("${ai.pregen.concurrency:2}") int concurrency,
+                                  @Value("${ai.pregen.min-interval-ms:2000}") long minIntervalMs,
+                                  @Value("${ai.pregen.retry-after-ms:600000}") long retryAfterMs,
+                                  @Value("${ai.pregen.preview-max-age-ms:3600000}") long previewMaxAgeMs) {
+        this.ai = ai;
+        this.fixtures = fixtures;
+        this.meters = meters;
+        this.leagues = List.copyOf(leagues);
+        this.horizonMs = horizonMs;
+        this.concurrency = concurrency;
+        this.minIntervalMs = minIntervalMs;
+        this.retryAfterMs = retryAfterMs;
+        this.previewMaxAgeMs = previewMaxAgeMs;
+        Gauge.builder("ai.pregen.queue", queue, PriorityBlockingQueue::size).register(meters);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual().name("ai-pregen-" + i).start(this::work));
+        }
+    }
+
+    // ✅ Pre-generated preview for a fixture, or null
+    public String preview(String fixtureId) {
+        Generated stored = previews.get(fixtureId);
+        return served(Kind.PREVIEW, stored == null ? null : stored.text());
+    }
+
+    // The preview endpoint only has team ids; find today's fixture between them
+    public String preview(int homeId, int awayId) {
+        FixtureSnapshot snap = fixtures.peek(FixtureSnapshotService.today());
+        if (snap == null) {
+            return null;
+        }
+        for (Fixture f : snap.fixtures()) {
+            if (f.homeId() == homeId && f.awayId() == awayId) {
+                return preview(f.id());
+            }
+        }
+        return null;
+    }
+
+    // ✅ Pre-generated full-time summary for a fixture, or null
+    public String summary(String fixtureId) {
+        return served(Kind.SUMMARY, summaries.get(fixtureId));
+    }
+
+    // Picks up fixtures entering the preview horizon (or whose preview has aged), and finished ones whose
+    // summary is missing (after a restart, or when the generation failed and the retry delay has passed)
+    @Scheduled(fixedDelayString = "${ai.pregen.scan-ms:60000}")
+    public void scan() {
+        FixtureSnapshot snap = fixtures.peek(FixtureSnapshotService.today());
+        if (snap == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Fixture f : snap.fixtures()) {
+            if (priorityOf(f) < 0) {
+                continue;
+            }
+            if (f.status().isNotStarted() && previewDue(f.id(), now)) {
+                long kickoff = kickoffMillis(f);
+                if (kickoff > now && kickoff - now <= horizonMs) {
+                    enqueue(Kind.PREVIEW, f, kickoff);
+                }
+            } else if (f.status().isFinished() && !summaries.containsKey(f.id())) {
+                enqueue(Kind.SUMMARY, f, now);
+            }
+        }
+    }
+
+    @EventListener
+    public void onSnapshotRefreshed(FixtureSnapshotRefreshedEvent e) {
+        if (e.previous() == null) {
+            // new day: only keep content for fixtures still on the board
+            Set<String> keep = new HashSet<>();
+            for (Fixture f : e.current().fixtures()) {
+                keep.add(f.id());
+            }
+            previews.keySet().retainAll(keep);
+            summaries.keySet().retainAll(keep);
+            lastFailureMillis.keySet().removeIf(key -> !keep.contains(key.substring(key.indexOf(':') + 1)));
+            return;
+        }
+
+        // just went to full time: summarize now rather than on the next scan
+        for (Fixture f : e.current().fixtures()) {
+            Fixture old = e.previous().fixture(f.id());
+            if (f.status().isFinished() && old != null && !old.status().isFinished() && priorityOf(f) >= 0) {
+                enqueue(Kind.SUMMARY, f, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private void enqueue(Kind kind, Fixture f, long dueAtMillis) {
+        String key = kind + ":" + f.id();
+        Long failedAt = lastFailureMillis.get(key);
+        if (failedAt != null && System.currentTimeMillis() - failedAt < retryAfterMs) {
+            return;
+        }
+        if (queued.add(key)) {
+            // league order first; within a league summaries go ahead of previews (that result is being looked at now)
+            int priority = priorityOf(f) * 2 + (kind == Kind.SUMMARY ? 0 : 1);
+            queue.add(new Job(kind, f, priority, dueAtMillis));
+        }
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Job job;
+            try {
+                job = queue.take();
+                awaitSlot();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                generate(job);
+            } finally {
+                queued.remove(job.key());
+            }
+        }
+    }
+
+    // Spaces OpenAI calls at least minIntervalMs apart across all workers
+    private void awaitSlot() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long slot = nextSlotMillis.getAndUpdate(next -> Math.max(next, now) + minIntervalMs);
+        long wait = Math.max(slot, now) - now;
+        if (wait > 0) {
+            TimeUnit.MILLISECONDS.sleep(wait);
+        }
+    }
+
+    private void generate(Job job) {
+        Fixture f = job.fixture();
+        try {
+            if (job.kind() == Kind.PREVIEW) {
+                AiService.Preview preview = ai.preview(f.home().name(), f.away().name(), f.kickoffIso(), f.league(),
+                        f.homeId(), f.awayId(), null);
+                if (!preview.complete()) {
+                    // form or H2H fell back; on-demand requests do better than serving this all day
+                    lastFailureMillis.put(job.key(), System.currentTimeMillis());
+                    meters.counter("ai.pregen.degraded", "kind", "preview").increment();
+                    log.warn("⚠️ AI pre-generation for {} had missing inputs; not stored, retrying later", job.key());
+                    return;
+                }
+                previews.put(f.id(), new Generated(preview.text(), System.currentTimeMillis()));
+            } else {
+                // the snapshot in the job may predate the final whistle; use the latest score
+                Fixture latest = latest(f);
+                String text = ai.getPostMatchSummary(latest.id(), latest.home().name(), scoreOf(latest.home().score()),
+                        latest.away().name(), scoreOf(latest.away().score()));
+                summaries.put(f.id(), text);
+            }
+            lastFailureMillis.remove(job.key());
+            meters.counter("ai.pregen.generated", "kind", job.kind().name().toLowerCase()).increment();
+        } catch (Exception e) {
+            lastFailureMillis.put(job.key(), System.currentTimeMillis());
+            meters.counter("ai.pregen.failed", "kind", job.kind().name().toLowerCase()).increment();
+            log.error("❌ AI pre-generation failed for {}: {}", job.key(), e.getMessage());
+        }
+    }
+
+    private boolean previewDue(String fixtureId, long now) {
+        Generated stored = previews.get(fixtureId);
+        return stored == null || now - stored.atMillis() >= previewMaxAgeMs;
+    }
+
+    private String served(Kind kind, String text) {
+        meters.counter("ai.pregen.lookups", "kind", kind.name().toLowerCase(), "result", text == null ? "miss" : "hit")
+                .increment();
+        return text;
+    }
+
+    private Fixture latest(Fixture f) {
+        FixtureSnapshot snap = fixtures.peek(FixtureSnapshotService.today());
+        Fixture current = snap == null ? null : snap.fixture(f.id());
+        return current == null ? f : current;
+    }
+
+    // Index in the configured league list (lower = sooner); -1 for leagues we don't pre-generate
+    private int priorityOf(Fixture f) {
+        return leagues.indexOf(f.leagueId());
+    }
+
+    private static int scoreOf(Integer score) {
+        return score == null ? 0 : score;
+    }
+
+    private static long kickoffMillis(Fixture f) {
+        try {
+            return OffsetDateTime.parse(f.kickoffIso()).toInstant().toEpochMilli();
+        } catch (Exception e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    private record Generated(String text, long atMillis) {
+    }
+
+    private record Job(Kind kind, Fixture fixture, int priority, long dueAtMillis) {
+        String key() {
+            return kind + ":" + fixture.id();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+
+import java.util.List;
+
+// The prompt text AiService sends, built from data it has already gathered. Kept apart from the service
+// (no I/O, no Spring) so the JMH benchmarks can build exactly the same prompts. The text is part of the
+// AI response cache key: changing a single character here means every cached answer is missed once.
+public final class AiPrompts {
+
+    public static final String SYSTEM = "You are a football commentator. Be concise but insightful.";
+
+    private AiPrompts() {
+    }
+
+    // ✅ Post-match recap: final score plus the event timeline
+    public static String postMatch(String homeName, int homeScore, String awayName, int awayScore,
+                                   List<MatchEvent> events) {
+        StringBuilder facts = new StringBuilder("Match result: ")
+                .append(homeName).append(" ").append(homeScore)
+                .append(" – ").append(awayScore).append(" ").append(awayName).append(".\n");
+
+        if (!events.isEmpty()) {
+            facts.append("Events:\n");
+            for (MatchEvent ev : events) {
+                facts.append(ev.minute()).append("' ")
+                        .append(ev.team()).append(" - ")
+                        .append(ev.player()).append(" (")
+                        .append(ev.type()).append(": ")
+                        .append(ev.detail()).append(")\n");
+            }
+        }
+
+        return "Write a 2–4 sentence post-match summary:\n" + facts;
+    }
+
+    // ✅ Pre-match preview: form, H2H and odds (raw JSON from the frontend, may be null)
+    public static String preMatch(String homeName, String awayName, String kickoff, String league,
+                                  List<String> homeForm, List<String> awayForm, List<Fixture> h2h,
+                                  String oddsJson) {
+        StringBuilder facts = new StringBuilder("Upcoming match: ")
+                .append(homeName).append(" vs ").append(awayName).append(".\n");
+
+        facts.append("Kickoff: ").append(kickoff).append(", League: ").append(league).append("\n");
+
+        facts.append("Recent form: ")
+                .append(homeName).append(" -> ").append(String.join("", homeForm))
+                .append(", ").append(awayName).append(" -> ").append(String.join("", awayForm)).append("\n");
+
+        if (!h2h.isEmpty()) {
+            facts.append("Head-to-head (last ").append(h2h.size()).append(" meetings):\n");
+            for (Fixture m : h2h) {
+                facts.append(m.home().name()).append(" ")
+                        .append(m.home().score())
+                        .append(" – ")
+                        .append(m.away().score()).append(" ")
+                        .append(m.away().name())
+                        .append(" (").append(m.kickoffIso()).append(")\n");
+            }
+        }
+
+        // Odds (sent from frontend)
+        if (oddsJson != null && !oddsJson.isBlank()) {
+            facts.append("Betting odds (raw JSON): ").append(oddsJson).append("\n");
+        }
+
+        return "You are given structured football data. " +
+                "Write a 3–5 sentence pre-match preview ONLY using this data:\n\n" + facts +
+                "\nRules:\n" +
+                "1. Do NOT invent results, players, or stats that are not listed.\n" +
+                "2. Summarize head-to-head exactly as provided.\n" +
+                "3. Mention betting odds if available, noting which side is the favorite.\n" +
+                "4. Try to stay concise, neutral, and insightful but if a team has a lot of odds to win, like over 50 percent, favour them to win in your summary.\n" +
+                "5. 3–5 sentences maximum.";
+    }
+}
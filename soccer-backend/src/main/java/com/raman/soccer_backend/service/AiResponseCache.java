@@ -0,0 +1,245 @@
+package com.raman.soccer_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Content-addressed cache for OpenAI completions: the key is a SHA-256 of everything sent to the model,
+// so the same prompt is only ever paid for once and a prompt with different inputs (new form, new odds,
+// another goal) is simply a different key. Two tiers: a bounded in-process LRU in front of one file per
+// entry under ai.cache.dir, which survives restarts. Permanent entries (full-time summaries) never expire,
+// but at most ai.cache.permanent.max-files of them are kept (least recently used go first); the rest expire
+// after ai.cache.ttl-ms.
+@Component
+public class AiResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AiResponseCache.class);
+
+    private static final String PERMANENT = "permanent";
+    private static final String EXPIRING = "expiring";
+
+    private final Path dir;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final int maxPermanentFiles;
+    private final Map<String, Entry> memory;
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public AiResponseCache(@Value("${ai.cache.dir:ai-cache}") String dir,
+                           @Value("${ai.cache.max-entries:2000}") int maxEntries,
+                           @Value("${ai.cache.ttl-ms:21600000}") long ttlMs,
+                           @Value("${ai.cache.permanent.max-files:20000}") int maxPermanentFiles,
+                           MeterRegistry meters) {
+        this.dir = Path.of(dir);
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.maxPermanentFiles = maxPermanentFiles;
+        // access-order LinkedHashMap = LRU; guarded by synchronized(memory)
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AiResponseCache.this.maxEntries;
+            }
+        };
+
+        this.memoryHits = meters.counter("ai.cache.requests", "result", "memory");
+        this.diskHits = meters.counter("ai.cache.requests", "result", "disk");
+        this.misses = meters.counter("ai.cache.requests", "result", "miss");
+        Gauge.builder("ai.cache.memory.size", this, c -> c.memorySize()).register(meters);
+
+        try {
+            Files.createDirectories(this.dir.resolve(PERMANENT));
+            Files.createDirectories(this.dir.resolve(EXPIRING));
+        } catch (IOException e) {
+            log.error("❌ AI cache dir {} not usable, memory only: {}", this.dir.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    // ✅ SHA-256 over the parts, length-prefixed so ("ab","c") and ("a","bc") can't collide
+    public static String key(Object... parts) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+                sha.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+                sha.update((byte) ':');
+                sha.update(bytes);
+            }
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Cached text for a key, or null. A disk hit is promoted into memory.
+    public String get(String key) {
+        Entry hit;
+        synchronized (memory) {
+            hit = memory.get(key);
+        }
+        if (hit != null && !expired(hit)) {
+            memoryHits.increment();
+            return hit.text();
+        }
+
+        Entry stored = readFromDisk(key);
+        if (stored != null) {
+            diskHits.increment();
+            remember(key, stored);
+            return stored.text();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, String text, boolean permanent) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        Entry entry = new Entry(text, System.currentTimeMillis(), permanent);
+        remember(key, entry);
+        writeToDisk(key, entry);
+    }
+
+    // Expired entries are dropped lazily on read; this clears the ones nobody asks for again,
+    // and trims the permanent tier back to its cap
+    @Scheduled(fixedDelayString = "${ai.cache.sweep-ms:3600000}")
+    public void sweep() {
+        synchronized (memory) {
+            memory.values().removeIf(this::expired);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir.resolve(EXPIRING))) {
+            long cutoff = System.currentTimeMillis() - ttlMs;
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.error("❌ AI cache sweep failed: {}", e.getMessage());
+        }
+        prunePermanent();
+    }
+
+    // Permanent files carry their last use as mtime (disk hits touch it), so the oldest are the least recently used
+    private void prunePermanent() {
+        List<Path> files = new ArrayList<>();
+        Map<Path, Long> used = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir.resolve(PERMANENT))) {
+            for (Path file : stream) {
+                files.add(file);
+                used.put(file, Files.getLastModifiedTime(file).toMillis());
+            }
+        } catch (IOException e) {
+            log.error("❌ AI cache prune failed: {}", e.getMessage());
+            return;
+        }
+        if (files.size() <= maxPermanentFiles) {
+            return;
+        }
+        files.sort(Comparator.comparingLong(used::get));
+        List<Path> evicted = files.subList(0, files.size() - maxPermanentFiles);
+        synchronized (memory) {
+            for (Path file : evicted) {
+                memory.remove(file.getFileName().toString());
+            }
+        }
+        for (Path file : evicted) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.error("❌ AI cache prune failed for {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        log.info("🧹 AI cache: pruned {} permanent entries over the cap of {}", evicted.size(), maxPermanentFiles);
+    }
+
+    private void remember(String key, Entry entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+    }
+
+    private boolean expired(Entry entry) {
+        return !entry.permanent() && System.currentTimeMillis() - entry.createdAtMillis() >= ttlMs;
+    }
+
+    private Entry readFromDisk(String key) {
+        try {
+            Path permanent = dir.resolve(PERMANENT).resolve(key);
+            if (Files.exists(permanent)) {
+                Entry entry = new Entry(Files.readString(permanent), Files.getLastModifiedTime(permanent).toMillis(), true);
+                Files.setLastModifiedTime(permanent, FileTime.fromMillis(System.currentTimeMillis())); // last use, for pruning
+                return entry;
+            }
+            Path expiring = dir.resolve(EXPIRING).resolve(key);
+            Entry entry = new Entry(Files.readString(expiring), Files.getLastModifiedTime(expiring).toMillis(), false);
+            if (expired(entry)) {
+                Files.deleteIfExists(expiring);
+                return null;
+            }
+            return entry;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.error("❌ AI cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    // Write to a temp file and rename, so a crash never leaves a half-written entry behind
+    private void writeToDisk(String key, Entry entry) {
+        Path target = dir.resolve(entry.permanent() ? PERMANENT : EXPIRING).resolve(key);
+        try {
+            Path tmp = Files.createTempFile(target.getParent(), key, ".tmp");
+            Files.writeString(tmp, entry.text());
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (entry.permanent()) {
+                // a live-match summary cached earlier under the same prompt is now superseded
+                Files.deleteIfExists(dir.resolve(EXPIRING).resolve(key));
+            }
+        } catch (IOException e) {
+            log.error("❌ AI cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private record Entry(String text, long createdAtMillis, boolean permanent) {
+    }
+}
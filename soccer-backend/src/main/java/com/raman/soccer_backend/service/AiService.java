@@ -1,51 +1,168 @@
 package com.raman.soccer_backend.service;
 
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.client.OpenAiApi;
 import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.disposables.Disposable;
+import jakarta.annotation.PreDestroy;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 public class AiService {
 
+    private static final Logger log = LoggerFactory.getLogger(AiService.class);
+
+    private static final String MODEL = "gpt-4o-mini";
+    private static final int MAX_TOKENS = 250;
+
     private final OpenAiService service;
-    private final ScoresService scoresService;
+    private final MatchArchive archive;
+    private final EventTimelineService timelines;
+    private final FixtureSnapshotService fixtures;
+    private final AiResponseCache cache;
+    private final UpstreamCoalescer coalescer;
+    private final MeterRegistry meters;
+    private final long fetchTimeoutMs;
+    private final long streamTimeoutMs;
+    private final Timer openAiOk;
+    private final Timer openAiFailed;
+    private final Timer streamOk;
+    private final Timer streamFailed;
+    private final Timer streamCancelled;
+    private final Timer timeToFirstToken;
+    private final Counter promptTokens;
+    private final Counter completionTokens;
+    private final Counter completionChunks;
+    private final ExecutorService fetchers = Executors.newVirtualThreadPerTaskExecutor();
 
-    public AiService(@Value("${openai.api.key}") String apiKey, ScoresService scoresService) {
+    public AiService(@Value("${openai.api.key}") String apiKey,
+                     @Value("${openai.base-url:https://api.openai.com/}") String baseUrl,
+                     MatchArchive archive,
+                     EventTimelineService timelines, FixtureSnapshotService fixtures,
+                     AiResponseCache cache, UpstreamCoalescer coalescer, UpstreamHttp upstream, MeterRegistry meters,
+                     @Value("${ai.preview.fetch-timeout-ms:3000}") long fetchTimeoutMs,
+                     @Value("${ai.stream.timeout-ms:120000}") long streamTimeoutMs) {
         if (apiKey == null || apiKey.isBlank()) {
-            System.out.println("❌ No OpenAI API key found! Check your Render env variable.");
+            log.error("❌ No OpenAI API key found! Check your Render env variable.");
         } else {
-            System.out.println("✅ OpenAI API key loaded (length: " + apiKey.length() + ")");
+            log.info("✅ OpenAI API key loaded (length: {})", apiKey.length());
         }
-        this.service = new OpenAiService(apiKey);
-        this.scoresService = scoresService;
+        // the SDK's own client (auth header, JSON mapping) on our pool/timeouts/breaker; the read timeout is ours
+        OkHttpClient http = upstream.okHttp("openai", OpenAiService.defaultClient(apiKey, Duration.ZERO).newBuilder());
+        this.service = new OpenAiService(
+                OpenAiService.defaultRetrofit(http, OpenAiService.defaultObjectMapper()).newBuilder()
+                        .baseUrl(baseUrl)
+                        .build()
+                        .create(OpenAiApi.class),
+                http.dispatcher().executorService());
+        this.archive = archive;
+        this.timelines = timelines;
+        this.fixtures = fixtures;
+        this.cache = cache;
+        this.coalescer = coalescer;
+        this.meters = meters;
+        this.fetchTimeoutMs = fetchTimeoutMs;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.openAiOk = openAiTimer("blocking", "success");
+        this.openAiFailed = openAiTimer("blocking", "failure");
+        this.streamOk = openAiTimer("stream", "success");
+        this.streamFailed = openAiTimer("stream", "failure");
+        this.streamCancelled = openAiTimer("stream", "cancelled");
+        this.timeToFirstToken = Timer.builder("ai.openai.ttft")
+                .description("Request sent to first streamed token")
+                .tag("model", MODEL)
+                .publishPercentileHistogram()
+                .register(meters);
+        this.promptTokens = meters.counter("ai.openai.tokens", "model", MODEL, "type", "prompt");
+        this.completionTokens = meters.counter("ai.openai.tokens", "model", MODEL, "type", "completion");
+        // streamed answers report no usage (this SDK can't ask for stream_options.include_usage): content chunks
+        // are counted instead, kept apart from the billed figures since a chunk isn't exactly one token
+        this.completionChunks = meters.counter("ai.openai.stream.chunks", "model", MODEL);
+    }
+
+    private Timer openAiTimer(String mode, String outcome) {
+        return Timer.builder("ai.openai")
+                .tag("model", MODEL)
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meters);
     }
 
     // ✅ Post-match recap
     public String getPostMatchSummary(String matchId, String homeName, int homeScore,
                                       String awayName, int awayScore) {
-        List<Map<String, Object>> events = scoresService.getMatchEvents(matchId);
-
-        StringBuilder facts = new StringBuilder("Match result: ")
-                .append(homeName).append(" ").append(homeScore)
-                .append(" – ").append(awayScore).append(" ").append(awayName).append(".\n");
-
-        if (!events.isEmpty()) {
-            facts.append("Events:\n");
-            for (Map<String, Object> ev : events) {
-                facts.append(ev.get("minute")).append("' ")
-                        .append(ev.get("team")).append(" - ")
-                        .append(ev.get("player")).append(" (")
-                        .append(ev.get("type")).append(": ")
-                        .append(ev.get("detail")).append(")\n");
+        SummaryPrompt prompt = postMatchPrompt(matchId, homeName, homeScore, awayName, awayScore);
+        return cachedCall(prompt.text(), prompt.permanent());
+    }
+
+    // ✅ Post-match recap, streamed token by token (SSE)
+    public SseEmitter streamPostMatchSummary(String matchId, String homeName, int homeScore,
+                                             String awayName, int awayScore) {
+        AiStream stream = new AiStream(streamTimeoutMs);
+        // the timeline may go upstream, so even that happens off the request thread
+        fetchers.execute(() -> {
+            try {
+                SummaryPrompt prompt = postMatchPrompt(matchId, homeName, homeScore, awayName, awayScore);
+                streamCall(prompt.text(), prompt.permanent(), stream);
+            } catch (RuntimeException e) {
+                stream.fail(e);
             }
+        });
+        return stream.emitter();
+    }
+
+    // For a fixture on today's board the names and score come from the snapshot and the client's are ignored.
+    // A full-time summary never changes, so it is kept for good, but only when built from snapshot data:
+    // anything else (made-up ids or parameters, a match still running) expires.
+    private SummaryPrompt postMatchPrompt(String matchId, String homeName, int homeScore,
+                                          String awayName, int awayScore) {
+        FixtureSnapshot snap = fixtures.peek(FixtureSnapshotService.today());
+        Fixture f = snap == null ? null : snap.fixture(matchId);
+        List<MatchEvent> events = events(matchId);
+        if (f == null) {
+            return new SummaryPrompt(AiPrompts.postMatch(homeName, homeScore, awayName, awayScore, events), false);
         }
+        return new SummaryPrompt(AiPrompts.postMatch(f.home().name(), goals(f.home().score()),
+                f.away().name(), goals(f.away().score()), events), f.status().isFinished());
+    }
+
+    private static int goals(Integer score) {
+        return score == null ? 0 : score;
+    }
+
+    private record SummaryPrompt(String text, boolean permanent) {
+    }
 
-        return callOpenAi("Write a 2–4 sentence post-match summary:\n" + facts);
+    // Whole timeline; a fixture that isn't on today's board has none, so its events come straight from upstream
+    private List<MatchEvent> events(String matchId) {
+        EventTimeline.Slice slice = timelines.since(matchId, 0);
+        return slice == null ? timelines.untracked(matchId) : slice.events();
     }
 
     // ✅ Pre-match analysis with odds support
@@ -53,67 +170,206 @@ public class AiService {
                                       String kickoff, String league,
                                       int homeId, int awayId,
                                       String oddsJson) {
+        return preview(homeName, awayName, kickoff, league, homeId, awayId, oddsJson).text();
+    }
+
+    // Same, also saying whether every input made it into the prompt (complete=false: form or H2H fell back
+    // to "no data", so the text is worth regenerating later)
+    public Preview preview(String homeName, String awayName,
+                           String kickoff, String league,
+                           int homeId, int awayId,
+                           String oddsJson) {
+        PreMatchPrompt prompt = preMatchPrompt(homeName, awayName, kickoff, league, homeId, awayId, oddsJson);
+
+        Timer openAi = meters.timer("ai.preview.stage", "stage", "openai");
+        // form, H2H and odds are all in the prompt, so new inputs mean a new cache key
+        return new Preview(openAi.record(() -> cachedCall(prompt.text(), false)), prompt.complete());
+    }
+
+    public record Preview(String text, boolean complete) {
+    }
 
-        // Get recent form
-        List<String> homeForm = scoresService.getRecentForm(homeId, 5);
-        List<String> awayForm = scoresService.getRecentForm(awayId, 5);
-
-        // Get head-to-head
-        List<Map<String, Object>> h2h = scoresService.getHeadToHead(homeId, awayId, 5);
-        System.out.println("📊 H2H for " + homeName + " vs " + awayName + ": " + h2h);
-
-        StringBuilder facts = new StringBuilder("Upcoming match: ")
-                .append(homeName).append(" vs ").append(awayName).append(".\n");
-
-        facts.append("Kickoff: ").append(kickoff).append(", League: ").append(league).append("\n");
-
-        facts.append("Recent form: ")
-                .append(homeName).append(" -> ").append(String.join("", homeForm))
-                .append(", ").append(awayName).append(" -> ").append(String.join("", awayForm)).append("\n");
-
-        if (!h2h.isEmpty()) {
-            facts.append("Head-to-head (last ").append(h2h.size()).append(" meetings):\n");
-            for (Map<String, Object> m : h2h) {
-                Map<String, Object> home = (Map<String, Object>) m.get("home");
-                Map<String, Object> away = (Map<String, Object>) m.get("away");
-                facts.append(home.get("name")).append(" ")
-                        .append(home.get("score"))
-                        .append(" – ")
-                        .append(away.get("score")).append(" ")
-                        .append(away.get("name"))
-                        .append(" (").append(m.get("kickoffIso")).append(")\n");
+    // ✅ Pre-match analysis, streamed token by token (SSE). Form/H2H are gathered first, same as above.
+    public SseEmitter streamPreMatchAnalysis(String homeName, String awayName,
+                                             String kickoff, String league,
+                                             int homeId, int awayId,
+                                             String oddsJson) {
+        AiStream stream = new AiStream(streamTimeoutMs);
+        fetchers.execute(() -> {
+            try {
+                streamCall(preMatchPrompt(homeName, awayName, kickoff, league, homeId, awayId, oddsJson).text(), false, stream);
+            } catch (RuntimeException e) {
+                stream.fail(e);
             }
+        });
+        return stream.emitter();
+    }
+
+    // Pre-generated or other finished text as a (one-token) stream
+    public SseEmitter streamOf(String text) {
+        return AiStream.of(text, streamTimeoutMs);
+    }
+
+    private PreMatchPrompt preMatchPrompt(String homeName, String awayName,
+                                  String kickoff, String league,
+                                  int homeId, int awayId,
+                                  String oddsJson) {
+        // Form x2 and H2H go out together; the slowest one (capped by the timeout) sets the wait, not the sum
+        Timer.Sample gather = Timer.start(meters);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchTimeoutMs);
+        Future<MatchArchive.Answer<String>> homeFormCall = fetch("homeForm", () -> archive.recentForm(homeId, 5));
+        Future<MatchArchive.Answer<String>> awayFormCall = fetch("awayForm", () -> archive.recentForm(awayId, 5));
+        Future<MatchArchive.Answer<Fixture>> h2hCall = fetch("h2h", () -> archive.headToHead(homeId, awayId, 5));
+        MatchArchive.Answer<String> homeForm = await("homeForm", homeFormCall, deadline);
+        MatchArchive.Answer<String> awayForm = await("awayForm", awayFormCall, deadline);
+        MatchArchive.Answer<Fixture> h2h = await("h2h", h2hCall, deadline);
+        gather.stop(meters.timer("ai.preview.stage", "stage", "gather"));
+
+        // null = that input fell back and goes in as "no data"; an archive answer can be partial too
+        boolean complete = complete(homeForm) && complete(awayForm) && complete(h2h);
+        log.debug("📊 H2H for {} vs {}: {}", homeName, awayName, h2h);
+        return new PreMatchPrompt(AiPrompts.preMatch(homeName, awayName, kickoff, league,
+                items(homeForm), items(awayForm), items(h2h), oddsJson), complete);
+    }
+
+    private static boolean complete(MatchArchive.Answer<?> answer) {
+        return answer != null && answer.complete();
+    }
+
+    private static <T> List<T> items(MatchArchive.Answer<T> answer) {
+        return answer == null ? List.of() : answer.items();
+    }
+
+    private record PreMatchPrompt(String text, boolean complete) {
+    }
+
+    // One pre-match input on its own virtual thread, timed per stage
+    private <T> Future<T> fetch(String stage, Supplier<T> call) {
+        Timer timer = meters.timer("ai.preview.stage", "stage", stage);
+        return fetchers.submit(() -> timer.record(call));
+    }
+
+    // Waits for one input until the shared deadline; a timeout or error gives null so the preview still goes out
+    // with whatever else came back. A late call is left to finish into the archive, not interrupted: the
+    // interrupt would fail its upstream request, count against the api-sports breaker, and fail every caller
+    // coalesced onto it.
+    private <T> T await(String stage, Future<T> call, long deadlineNanos) {
+        String reason;
+        String detail;
+        try {
+            return call.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            reason = "timeout";
+            detail = "no answer within " + fetchTimeoutMs + " ms";
+        } catch (ExecutionException e) {
+            reason = "error";
+            detail = e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // the remaining awaits fall back at once
+            reason = "interrupted";
+            detail = "caller interrupted";
+        }
+        meters.counter("ai.preview.fallback", "stage", stage, "reason", reason).increment();
+        log.warn("⚠️ Preview {} fell back ({}): {}", stage, reason, detail);
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetchers.shutdownNow();
+    }
+
+    // Same prompt -> same answer: serve it from the cache, and let concurrent identical requests share one call
+    private String cachedCall(String prompt, boolean permanent) {
+        String key = AiResponseCache.key(MODEL, AiPrompts.SYSTEM, MAX_TOKENS, prompt);
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
         }
+        return coalescer.execute("openai", key, () -> {
+            String text = callOpenAi(prompt);
+            cache.put(key, text, permanent);
+            return text;
+        });
+    }
 
-        // Odds (sent from frontend)
-        if (oddsJson != null && !oddsJson.isBlank()) {
-            facts.append("Betting odds (raw JSON): ").append(oddsJson).append("\n");
+    // Streaming counterpart of cachedCall: a cached answer goes out in one piece; otherwise tokens are forwarded
+    // as OpenAI sends them and the full text is cached at the end. The stream is read on an OkHttp dispatcher
+    // thread (virtual, see UpstreamHttp.okHttp), so an open stream never holds a platform thread. Identical
+    // concurrent streams are not coalesced: each client wants its own tokens as they arrive.
+    private void streamCall(String prompt, boolean permanent, AiStream stream) {
+        String key = AiResponseCache.key(MODEL, AiPrompts.SYSTEM, MAX_TOKENS, prompt);
+        String cached = cache.get(key);
+        if (cached != null) {
+            stream.token(cached);
+            stream.done(cached);
+            return;
         }
 
-        return callOpenAi(
-            "You are given structured football data. " +
-            "Write a 3–5 sentence pre-match preview ONLY using this data:\n\n" + facts +
-            "\nRules:\n" +
-            "1. Do NOT invent results, players, or stats that are not listed.\n" +
-            "2. Summarize head-to-head exactly as provided.\n" +
-            "3. Mention betting odds if available, noting which side is the favorite.\n" +
-            "4. Try to stay concise, neutral, and insightful but if a team has a lot of odds to win, like over 50 percent, favour them to win in your summary.\n" +
-            "5. 3–5 sentences maximum."
-        );
+        long start = System.nanoTime();
+        StringBuilder text = new StringBuilder();
+        Disposable call = service.streamChatCompletion(request(prompt)).subscribe(
+                chunk -> {
+                    String delta = delta(chunk);
+                    if (delta == null || delta.isEmpty()) {
+                        return;
+                    }
+                    if (text.isEmpty()) {
+                        timeToFirstToken.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    text.append(delta);
+                    completionChunks.increment();
+                    stream.token(delta);
+                },
+                e -> {
+                    (stream.isClosed() ? streamCancelled : streamFailed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    stream.fail(e); // logs it unless the client had already left
+                },
+                () -> {
+                    streamOk.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    String full = text.toString();
+                    cache.put(key, full, permanent);
+                    stream.done(full);
+                });
+        stream.onClose(call::dispose);
+    }
+
+    private static String delta(ChatCompletionChunk chunk) {
+        List<ChatCompletionChoice> choices = chunk.getChoices();
+        if (choices == null || choices.isEmpty() || choices.get(0).getMessage() == null) {
+            return null;
+        }
+        return choices.get(0).getMessage().getContent();
     }
 
-    // 🔧 Helper
+    // 🔧 Helper. Whole-call latency goes to ai.openai{outcome}, billed tokens to ai.openai.tokens{type}
     private String callOpenAi(String prompt) {
-        ChatCompletionRequest req = ChatCompletionRequest.builder()
-                .model("gpt-4o-mini")
+        ChatCompletionRequest req = request(prompt);
+        long start = System.nanoTime();
+        ChatCompletionResult result;
+        try {
+            result = service.createChatCompletion(req);
+        } catch (RuntimeException e) {
+            openAiFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        openAiOk.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        Usage usage = result.getUsage();
+        if (usage != null) {
+            promptTokens.increment(usage.getPromptTokens());
+            completionTokens.increment(usage.getCompletionTokens());
+        }
+        return result.getChoices().get(0).getMessage().getContent();
+    }
+
+    private static ChatCompletionRequest request(String prompt) {
+        return ChatCompletionRequest.builder()
+                .model(MODEL)
                 .messages(List.of(
-                        new ChatMessage("system", "You are a football commentator. Be concise but insightful."),
+                        new ChatMessage("system", AiPrompts.SYSTEM),
                         new ChatMessage("user", prompt)
                 ))
-                .maxTokens(250)
+                .maxTokens(MAX_TOKENS)
                 .build();
-
-        return service.createChatCompletion(req)
-                .getChoices().get(0).getMessage().getContent();
     }
 }
@@ -0,0 +1,104 @@
+package com.raman.soccer_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// One AI answer streamed over SSE: "token" events carrying the text as it arrives, then "done" with the
+// whole text (or "error"). Data is JSON ({"text": ...}) so the leading spaces of tokens survive EventSource
+// parsing. A cached or pre-generated answer is one token followed by done.
+public final class AiStream {
+
+    private static final Logger log = LoggerFactory.getLogger(AiStream.class);
+
+    // all the browser learns about a failure; the cause can name hosts, keys or upstream bodies
+    private static final String ERROR_TEXT = "AI answer unavailable, please try again";
+
+    private final SseEmitter emitter;
+    private volatile boolean closed;
+    private volatile Runnable onClose = () -> {};
+
+    public AiStream(long timeoutMs) {
+        this.emitter = new SseEmitter(timeoutMs);
+        // SseEmitter keeps one callback of each kind, so they all go through here
+        emitter.onCompletion(this::closed);
+        emitter.onTimeout(this::closed);
+        emitter.onError(e -> closed());
+    }
+
+    // ✅ A stream that is already finished, e.g. for a pre-generated answer
+    public static SseEmitter of(String text, long timeoutMs) {
+        AiStream stream = new AiStream(timeoutMs);
+        stream.token(text);
+        stream.done(text);
+        return stream.emitter();
+    }
+
+    public SseEmitter emitter() {
+        return emitter;
+    }
+
+    // Client gone (or the stream already ended): stop producing
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // Runs when the client goes away or the stream times out, e.g. to cancel the upstream call
+    public void onClose(Runnable action) {
+        this.onClose = action;
+        if (closed) {
+            action.run();
+        }
+    }
+
+    private void closed() {
+        closed = true;
+        onClose.run();
+    }
+
+    // Throws if the client is gone, so the producer stops reading from upstream
+    public void token(String text) {
+        send("token", text);
+    }
+
+    public void done(String text) {
+        try {
+            send("done", text);
+            emitter.complete();
+        } catch (RuntimeException e) {
+            // client left before the end; nothing to finish
+        }
+        closed = true;
+    }
+
+    // Logs the cause here and sends the client only a fixed error text
+    public void fail(Throwable cause) {
+        if (closed) {
+            return;
+        }
+        log.error("❌ AI stream failed: {}", cause.toString(), cause);
+        try {
+            send("error", ERROR_TEXT);
+            emitter.complete();
+        } catch (RuntimeException e) {
+            // client left
+        }
+        closed = true;
+    }
+
+    private void send(String name, String text) {
+        if (closed) {
+            throw new IllegalStateException("AI stream closed");
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(Map.of("text", text), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            closed = true;
+            throw new IllegalStateException("AI stream client disconnected", e);
+        }
+    }
+}
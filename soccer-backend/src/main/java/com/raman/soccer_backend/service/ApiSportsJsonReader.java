@@ -0,0 +1,338 @@
+package com.raman.soccer_backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.raman.soccer_backend.model.MatchStatus;
+import com.raman.soccer_backend.model.Standing;
+import com.raman.soccer_backend.model.TeamSide;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Token-level readers for api-sports responses. They walk the parser once, keep only the fields
+// we serve and skipChildren() over everything else (venue, referee, periods, score breakdown...),
+// so no JsonNode tree is ever built.
+public final class ApiSportsJsonReader {
+
+    public static final JsonFactory JSON = new JsonFactory();
+
+    private ApiSportsJsonReader() {
+    }
+
+    public static List<Fixture> readFixtures(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            return readFixtures(p);
+        }
+    }
+
+    public static List<Fixture> readFixtures(JsonParser p) throws IOException {
+        List<Fixture> out = new ArrayList<>();
+        if (toResponseArray(p)) {
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                out.add(readFixture(p));
+            }
+        }
+        return out;
+    }
+
+    public static List<MatchEvent> readEvents(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            return readEvents(p);
+        }
+    }
+
+    public static List<MatchEvent> readEvents(JsonParser p) throws IOException {
+        List<MatchEvent> out = new ArrayList<>();
+        if (toResponseArray(p)) {
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                out.add(readEvent(p));
+            }
+        }
+        return out;
+    }
+
+    // Every row of every group in /standings (response[].league.standings is an array of groups)
+    public static List<Standing> readStandings(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            return readStandings(p);
+        }
+    }
+
+    public static List<Standing> readStandings(JsonParser p) throws IOException {
+        List<Standing> out = new ArrayList<>();
+        if (!toResponseArray(p)) {
+            return out;
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if (!"league".equals(field) || !enterObject(p)) {
+                    p.skipChildren();
+                    continue;
+                }
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String leagueField = p.currentName();
+                    if (p.nextToken() == JsonToken.START_ARRAY && "standings".equals(leagueField)) {
+                        while (p.nextToken() == JsonToken.START_ARRAY) { // one group
+                            while (p.nextToken() == JsonToken.START_OBJECT) {
+                                out.add(readStandingRow(p));
+                            }
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private static Standing readStandingRow(JsonParser p) throws IOException {
+        int teamId = 0, rank = 0, points = 0, played = 0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "rank" -> rank = intOr(p, 0);
+                case "points" -> points = intOr(p, 0);
+                case "team" -> teamId = readTeam(p).id;
+                case "all" -> {
+                    if (enterObject(p)) {
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String a = p.currentName();
+                            p.nextToken();
+                            if ("played".equals(a)) {
+                                played = intOr(p, 0);
+                            } else {
+                                p.skipChildren();
+                            }
+                        }
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return new Standing(teamId, rank, points, played);
+    }
+
+    // Moves the parser onto the START_ARRAY of the top-level "response" field; false if there isn't one
+    static boolean toResponseArray(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("response".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    // Parser is on START_OBJECT of one element of "response"
+    private static Fixture readFixture(JsonParser p) throws IOException {
+        FixtureFields f = new FixtureFields();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "fixture" -> readFixtureBlock(p, f);
+                case "league" -> readLeagueBlock(p, f);
+                case "teams" -> readTeamsBlock(p, f);
+                case "goals" -> readGoalsBlock(p, f);
+                default -> p.skipChildren();
+            }
+        }
+
+        return new Fixture(f.id, f.league, f.leagueId, f.season, f.kickoff, f.home.id, f.away.id,
+                new TeamSide(f.home.name, f.home.logo, f.homeGoals),
+                new TeamSide(f.away.name, f.away.logo, f.awayGoals),
+                new MatchStatus(f.phase, f.longName, f.elapsed));
+    }
+
+    private static void readFixtureBlock(JsonParser p, FixtureFields f) throws IOException {
+        if (!enterObject(p)) {
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> f.id = text(p, "");
+                case "date" -> f.kickoff = text(p, "");
+                case "status" -> readStatusBlock(p, f);
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void readStatusBlock(JsonParser p, FixtureFields f) throws IOException {
+        if (!enterObject(p)) {
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "short" -> f.phase = text(p, "");
+                case "long" -> f.longName = text(p, "");
+                case "elapsed" -> f.elapsed = intOrNull(p);
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void readLeagueBlock(JsonParser p, FixtureFields f) throws IOException {
+        if (!enterObject(p)) {
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> f.leagueId = intOr(p, 0);
+                case "name" -> f.league = text(p, "");
+                case "season" -> f.season = intOr(p, 0);
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void readTeamsBlock(JsonParser p, FixtureFields f) throws IOException {
+        if (!enterObject(p)) {
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "home" -> f.home = readTeam(p);
+                case "away" -> f.away = readTeam(p);
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void readGoalsBlock(JsonParser p, FixtureFields f) throws IOException {
+        if (!enterObject(p)) {
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "home" -> f.homeGoals = intOrNull(p);
+                case "away" -> f.awayGoals = intOrNull(p);
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static TeamRef readTeam(JsonParser p) throws IOException {
+        int id = 0;
+        String name = "", logo = null;
+        if (enterObject(p)) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> id = intOr(p, 0);
+                    case "name" -> name = text(p, "");
+                    case "logo" -> logo = text(p, null);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+        return new TeamRef(id, name, logo);
+    }
+
+    private static MatchEvent readEvent(JsonParser p) throws IOException {
+        int minute = 0;
+        Integer extra = null;
+        String type = "", detail = "", player = "", team = "";
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "time" -> {
+                    if (enterObject(p)) {
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String t = p.currentName();
+                            p.nextToken();
+                            switch (t) {
+                                case "elapsed" -> minute = intOr(p, 0);
+                                case "extra" -> extra = intOrNull(p);
+                                default -> p.skipChildren();
+                            }
+                        }
+                    }
+                }
+                case "type" -> type = text(p, "");
+                case "detail" -> detail = text(p, "");
+                case "player" -> player = readTeam(p).name; // same {id, name} shape
+                case "team" -> team = readTeam(p).name;
+                default -> p.skipChildren();
+            }
+        }
+        return new MatchEvent(null, minute, extra, type, detail, player, team);
+    }
+
+    // True if the current value is an object we can walk; otherwise skips it (null, scalar, array)
+    static boolean enterObject(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        p.skipChildren();
+        return false;
+    }
+
+    static String text(JsonParser p, String ifNull) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NULL) {
+            return ifNull;
+        }
+        if (t == JsonToken.START_OBJECT || t == JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return ifNull;
+        }
+        return p.getText();
+    }
+
+    static Integer intOrNull(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return p.getIntValue();
+        }
+        p.skipChildren();
+        return null;
+    }
+
+    static int intOr(JsonParser p, int fallback) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NUMBER_INT || t == JsonToken.VALUE_NUMBER_FLOAT || t == JsonToken.VALUE_STRING) {
+            return p.getValueAsInt(fallback);
+        }
+        p.skipChildren();
+        return fallback;
+    }
+
+    private record TeamRef(int id, String name, String logo) {
+        static final TeamRef EMPTY = new TeamRef(0, "", null);
+    }
+
+    // Scratch space while walking one fixture object
+    private static final class FixtureFields {
+        String id = "", league = "", kickoff = "", phase = "", longName = "";
+        Integer elapsed, homeGoals, awayGoals;
+        int leagueId, season;
+        TeamRef home = TeamRef.EMPTY, away = TeamRef.EMPTY;
+    }
+}
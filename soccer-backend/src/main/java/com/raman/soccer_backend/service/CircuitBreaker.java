@@ -0,0 +1,76 @@
+package com.raman.soccer_backend.service;
+
+// Per-provider breaker: after failureThreshold failed calls in a row it opens and calls are refused
+// without touching the network for openMs; then one probe call is let through (half-open), and its
+// outcome closes the breaker again or re-opens it. Only 5xx and I/O errors count as failures.
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    // false = refuse the call
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAtMillis < openMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    // returns true if this failure opened the breaker
+    synchronized boolean onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAtMillis = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    // Neither success nor failure (e.g. a 4xx): just frees the half-open probe slot
+    synchronized void onNeutral() {
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        }
+        probeInFlight = false;
+    }
+
+    // The call never produced an outcome (cancelled, or not sent after all): frees the half-open probe slot
+    // without deciding anything, so the next call probes instead
+    synchronized void release() {
+        probeInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
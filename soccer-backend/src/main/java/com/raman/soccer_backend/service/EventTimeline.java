@@ -0,0 +1,122 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.MatchEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Event timeline for one fixture. The whole timeline is always the latest upstream list; every event
+// gets a sequence number (1, 2, 3, ...) the first time it is seen, so clients can ask for "everything
+// after N". Upstream also corrects events (a player filled in later, a minute fixed, a goal cancelled
+// by VAR): the old entry disappears, and anyone asking from before that gets the whole list back
+// with reset=true instead of a delta.
+public class EventTimeline {
+
+    private final String fixtureId;
+    private volatile State state = State.EMPTY;
+    private volatile long refreshedAtMillis;
+
+    public EventTimeline(String fixtureId) {
+        this.fixtureId = fixtureId;
+    }
+
+    public String fixtureId() {
+        return fixtureId;
+    }
+
+    public long cursor() {
+        return state.cursor();
+    }
+
+    public long refreshedAtMillis() {
+        return refreshedAtMillis;
+    }
+
+    // Failed fetch: still counts as an attempt so we don't retry on every request
+    public void markAttempted() {
+        refreshedAtMillis = System.currentTimeMillis();
+    }
+
+    // Take a full upstream event list as the new timeline; returns what changed for clients that
+    // are up to date: the new entries, or (after a correction/removal) the whole list with reset=true
+    public synchronized Change merge(List<MatchEvent> upstream) {
+        refreshedAtMillis = System.currentTimeMillis();
+
+        State old = state;
+        long cursor = old.cursor();
+        List<MatchEvent> entries = new ArrayList<>(upstream.size());
+        List<MatchEvent> added = new ArrayList<>();
+        Map<Seen, Long> seqs = new HashMap<>();
+        Map<MatchEvent, Integer> occurrences = new HashMap<>();
+        for (MatchEvent ev : upstream) {
+            // same minute/type/player can legitimately repeat, so count occurrences within the list
+            MatchEvent key = ev.withSeq(null);
+            Seen id = new Seen(key, occurrences.merge(key, 1, Integer::sum));
+            Long seq = old.seqs().get(id);
+            MatchEvent entry = key.withSeq(seq != null ? seq : ++cursor);
+            if (seq == null) {
+                added.add(entry);
+            }
+            seqs.put(id, entry.seq());
+            entries.add(entry);
+        }
+
+        // an entry that is gone from the list was corrected or withdrawn upstream
+        boolean removed = !seqs.keySet().containsAll(old.seqs().keySet());
+        if (!removed) {
+            if (added.isEmpty()) {
+                return Change.NONE;
+            }
+            state = new State(List.copyOf(entries), seqs, cursor, old.resetAt());
+            return new Change(cursor, false, List.copyOf(added));
+        }
+        if (added.isEmpty()) {
+            cursor++; // a pure removal still has to move the cursor
+        }
+        state = new State(List.copyOf(entries), seqs, cursor, cursor);
+        return new Change(cursor, true, state.entries());
+    }
+
+    // Everything after sequence number `since` (0 = whole timeline), plus the cursor to send next time.
+    // If the timeline was corrected after `since` (or `since` is from before a restart), it's the whole
+    // list with reset=true.
+    public Slice since(long since) {
+        State s = state;
+        if (since <= 0) {
+            return new Slice(s.cursor(), false, s.entries());
+        }
+        if (since < s.resetAt() || since > s.cursor()) {
+            return new Slice(s.cursor(), true, s.entries());
+        }
+        List<MatchEvent> after = new ArrayList<>();
+        for (MatchEvent ev : s.entries()) {
+            if (ev.seq() > since) {
+                after.add(ev);
+            }
+        }
+        return new Slice(s.cursor(), false, after);
+    }
+
+    public record Slice(long cursor, boolean reset, List<MatchEvent> events) {
+    }
+
+    // Result of a merge; reset means events is the whole timeline and replaces what the client has
+    public record Change(long cursor, boolean reset, List<MatchEvent> events) {
+        static final Change NONE = new Change(0, false, List.of());
+
+        public boolean isEmpty() {
+            return !reset && events.isEmpty();
+        }
+    }
+
+    // One immutable view, so a reader never sees entries and cursor from different merges.
+    // resetAt: cursor right after the last correction; clients behind it need the whole list.
+    private record State(List<MatchEvent> entries, Map<Seen, Long> seqs, long cursor, long resetAt) {
+        static final State EMPTY = new State(List.of(), Map.of(), 0, 0);
+    }
+
+    private record Seen(MatchEvent event, int occurrence) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.raman.soccer_backend.model.MatchStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Owns the versioned event timelines. Upstream is only asked again once a timeline is older than
+// its TTL (short while the match is live, never again once it is finished and fully fetched).
+// Only fixtures on today's board get a timeline (so made-up ids can't grow the map); any other id is
+// answered by untracked(): a plain coalesced fetch of the whole list, nothing kept.
+@Service
+public class EventTimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventTimelineService.class);
+
+    private final ScoresService scores;
+    private final FixtureSnapshotService fixtures;
+    private final long liveTtlMs;
+    private final long idleTtlMs;
+    private final Counter hits;
+    private final Counter refreshes;
+    private final Counter unknown;
+
+    private final Map<String, EventTimeline> timelines = new ConcurrentHashMap<>();
+    private final Set<String> complete = ConcurrentHashMap.newKeySet();
+
+    public EventTimelineService(ScoresService scores,
+                                FixtureSnapshotService fixtures,
+                                @Value("${events.timeline.live-ttl-ms:15000}") long liveTtlMs,
+                                @Value("${events.timeline.idle-ttl-ms:300000}") long idleTtlMs,
+                                MeterRegistry meters) {
+        this.scores = scores;
+        this.fixtures = fixtures;
+        this.liveTtlMs = liveTtlMs;
+        this.idleTtlMs = idleTtlMs;
+        this.hits = meters.counter("events.timeline.requests", "result", "hit");
+        this.refreshes = meters.counter("events.timeline.requests", "result", "refresh");
+        this.unknown = meters.counter("events.timeline.requests", "result", "unknown");
+    }
+
+    // ✅ Events after sequence number `since` for a fixture, refreshing from upstream if due.
+    // null if the fixture isn't on today's board (see untracked).
+    public EventTimeline.Slice since(String fixtureId, long since) {
+        EventTimeline timeline = timeline(fixtureId);
+        if (timeline == null) {
+            unknown.increment();
+            return null;
+        }
+        if (isDue(timeline)) {
+            refreshes.increment();
+            refresh(timeline);
+        } else {
+            hits.increment();
+        }
+        return timeline.since(since);
+    }
+
+    // Whole event list for a fixture that has no timeline (yesterday's late match, one opened from history):
+    // straight from upstream, coalesced with identical requests; empty if upstream fails
+    public List<MatchEvent> untracked(String fixtureId) {
+        return scores.getMatchEvents(fixtureId);
+    }
+
+    // Forced refresh (used by the live push); returns what changed since the last merge
+    public EventTimeline.Change refresh(String fixtureId) {
+        EventTimeline timeline = timeline(fixtureId);
+        return timeline == null ? EventTimeline.Change.NONE : refresh(timeline);
+    }
+
+    // Same, but only once the timeline's TTL is up (the live push polls watched live fixtures with this)
+    public EventTimeline.Change refreshIfDue(String fixtureId) {
+        EventTimeline timeline = timeline(fixtureId);
+        return timeline == null || !isDue(timeline) ? EventTimeline.Change.NONE : refresh(timeline);
+    }
+
+    private EventTimeline.Change refresh(EventTimeline timeline) {
+        MatchStatus status = statusOf(timeline.fixtureId());
+        List<MatchEvent> upstream;
+        try {
+            upstream = scores.fetchMatchEvents(timeline.fixtureId());
+        } catch (Exception e) {
+            log.error("❌ Timeline refresh failed for fixture {}: {}", timeline.fixtureId(), e.getMessage());
+            timeline.markAttempted();
+            return EventTimeline.Change.NONE;
+        }
+        EventTimeline.Change change = timeline.merge(upstream);
+        // a successful fetch after the final whistle means the timeline won't change any more
+        if (status != null && status.isFinished()) {
+            complete.add(timeline.fixtureId());
+        }
+        return change;
+    }
+
+    // null for ids that aren't in today's snapshot, so made-up ids can't create entries or upstream calls
+    private EventTimeline timeline(String fixtureId) {
+        EventTimeline timeline = timelines.get(fixtureId);
+        if (timeline != null) {
+            return timeline;
+        }
+        FixtureSnapshot snap = fixtures.peek(FixtureSnapshotService.today());
+        if (snap == null || snap.fixture(fixtureId) == null) {
+            return null;
+        }
+        return timelines.computeIfAbsent(fixtureId, EventTimeline::new);
+    }
+
+    private boolean isDue(EventTimeline timeline) {
+        if (timeline.refreshedAtMillis() == 0) {
+            return true;
+        }
+        if (complete.contains(timeline.fixtureId())) {
+            return false;
+        }
+        MatchStatus status = statusOf(timeline.fixtureId());
+        long ttl = status != null && status.isLive() ? liveTtlMs : idleTtlMs;
+        return System.currentTimeMillis() - timeline.refreshedAtMillis() >= ttl;
+    }
+
+    // Status from today's snapshot (no upstream call); null for fixtures that aren't in it
+    private MatchStatus statusOf(String fixtureId) {
+        FixtureSnapshot snap = fixtures.peek(FixtureSnapshotService.today());
+        Fixture f = snap == null ? null : snap.fixture(fixtureId);
+        return f == null ? null : f.status();
+    }
+
+    // New day: drop timelines for fixtures that are no longer on the board
+    @EventListener
+    public void onSnapshotRefreshed(FixtureSnapshotRefreshedEvent e) {
+        if (e.previous() != null) {
+            return;
+        }
+        Set<String> keep = new HashSet<>();
+        for (Fixture f : e.current().fixtures()) {
+            keep.add(f.id());
+        }
+        timelines.keySet().retainAll(keep);
+        complete.retainAll(keep);
+    }
+}
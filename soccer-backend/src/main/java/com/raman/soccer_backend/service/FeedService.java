@@ -0,0 +1,83 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.Pref;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Today's fixtures for one user: their favourite team's and league's matches first, then the rest of the
+// covered leagues, everything else left out. The join is done on bitsets from a FixtureFeedIndex, which is
+// rebuilt only when the fixture snapshot changes; a request just ORs a few sets and walks the bits.
+@Service
+public class FeedService {
+
+    private final FixtureSnapshotService fixtures;
+    private final PreferencesService prefs;
+    private final List<Integer> defaultLeagues;
+    private final DistributionSummary feedSize;
+
+    private volatile FixtureFeedIndex index;
+
+    public FeedService(FixtureSnapshotService fixtures,
+                       PreferencesService prefs,
+                       MeterRegistry meters,
+                       @Value("${feed.leagues:2,39,140,135,78,61}") List<Integer> defaultLeagues) {
+        this.fixtures = fixtures;
+        this.prefs = prefs;
+        this.defaultLeagues = List.copyOf(defaultLeagues);
+        this.feedSize = DistributionSummary.builder("feed.fixtures").register(meters);
+    }
+
+    // ✅ leagues overrides the covered leagues (null = feed.leagues)
+    public CompletableFuture<Feed> feed(String userId, List<Integer> leagues) {
+        return prefs.getPrefs(userId).thenApply(p -> {
+            FixtureFeedIndex idx = indexFor(fixtures.getToday());
+            List<Fixture> selected = select(idx, p.prefs(), leagues == null || leagues.isEmpty() ? defaultLeagues : leagues);
+            return new Feed(idx.snapshot().version() + ":" + p.etag(), selected);
+        });
+    }
+
+    private List<Fixture> select(FixtureFeedIndex idx, List<Pref> userPrefs, List<Integer> leagues) {
+        BitSet favourite = new BitSet();
+        for (Pref p : userPrefs) {
+            if ("TEAM".equals(p.prefType())) {
+                favourite.or(idx.team(p.valueName()));
+            } else if ("LEAGUE".equals(p.prefType())) {
+                favourite.or(idx.leagueNamed(p.valueName()));
+            }
+        }
+        BitSet rest = idx.leagues(leagues);
+        rest.andNot(favourite);
+
+        List<Fixture> out = new ArrayList<>(favourite.cardinality() + rest.cardinality());
+        for (int i = favourite.nextSetBit(0); i >= 0; i = favourite.nextSetBit(i + 1)) {
+            out.add(idx.fixture(i));
+        }
+        for (int i = rest.nextSetBit(0); i >= 0; i = rest.nextSetBit(i + 1)) {
+            out.add(idx.fixture(i));
+        }
+        feedSize.record(out.size());
+        return out;
+    }
+
+    // One index per snapshot; a racing rebuild just builds the same thing twice
+    private FixtureFeedIndex indexFor(FixtureSnapshot snap) {
+        FixtureFeedIndex current = index;
+        if (current == null || current.snapshot() != snap) {
+            current = new FixtureFeedIndex(snap);
+            index = current;
+        }
+        return current;
+    }
+
+    // version changes with the fixture snapshot or the user's prefs, i.e. whenever the selection can
+    public record Feed(String version, List<Fixture> fixtures) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Positions of a snapshot's fixtures by league id, league name and team name, one BitSet per key, so a
+// personalized feed is a few ORs instead of a scan of every fixture. Built once per snapshot; read-only after.
+public final class FixtureFeedIndex {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final FixtureSnapshot snapshot;
+    private final Map<Integer, BitSet> byLeagueId = new HashMap<>();
+    private final Map<String, BitSet> byLeagueName = new HashMap<>();
+    private final Map<String, BitSet> byTeamName = new HashMap<>();
+
+    public FixtureFeedIndex(FixtureSnapshot snapshot) {
+        this.snapshot = snapshot;
+        List<Fixture> fixtures = snapshot.fixtures();
+        for (int i = 0; i < fixtures.size(); i++) {
+            Fixture f = fixtures.get(i);
+            byLeagueId.computeIfAbsent(f.leagueId(), k -> new BitSet()).set(i);
+            if (f.league() != null) {
+                byLeagueName.computeIfAbsent(f.league(), k -> new BitSet()).set(i);
+            }
+            if (f.home().name() != null) {
+                byTeamName.computeIfAbsent(f.home().name(), k -> new BitSet()).set(i);
+            }
+            if (f.away().name() != null) {
+                byTeamName.computeIfAbsent(f.away().name(), k -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    public FixtureSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Callers must not modify the returned sets; copy first (BitSet.clone) to combine
+    public BitSet league(int leagueId) {
+        return byLeagueId.getOrDefault(leagueId, EMPTY);
+    }
+
+    public BitSet leagues(Iterable<Integer> leagueIds) {
+        BitSet out = new BitSet();
+        for (int id : leagueIds) {
+            out.or(league(id));
+        }
+        return out;
+    }
+
+    public BitSet leagueNamed(String name) {
+        return byLeagueName.getOrDefault(name, EMPTY);
+    }
+
+    public BitSet team(String name) {
+        return byTeamName.getOrDefault(name, EMPTY);
+    }
+
+    public Fixture fixture(int position) {
+        return snapshot.fixtures().get(position);
+    }
+}
@@ -0,0 +1,38 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One immutable copy of the fixtures list for a date, as last fetched from api-sports.
+// version goes up on every successful refresh so callers can tell snapshots apart cheaply.
+public record FixtureSnapshot(String date,
+                              List<Fixture> fixtures,
+                              Map<String, Fixture> byId,
+                              long version,
+                              long fetchedAtMillis,
+                              boolean live) {
+
+    public FixtureSnapshot(String date, List<Fixture> fixtures, long version,
+                           long fetchedAtMillis, boolean live) {
+        this(date, fixtures, index(fixtures), version, fetchedAtMillis, live);
+    }
+
+    public long ageMillis() {
+        return System.currentTimeMillis() - fetchedAtMillis;
+    }
+
+    public Fixture fixture(String id) {
+        return byId.get(id);
+    }
+
+    private static Map<String, Fixture> index(List<Fixture> fixtures) {
+        Map<String, Fixture> byId = new HashMap<>(fixtures.size() * 2);
+        for (Fixture f : fixtures) {
+            byId.put(f.id(), f);
+        }
+        return Map.copyOf(byId);
+    }
+}
@@ -0,0 +1,5 @@
+package com.raman.soccer_backend.service;
+
+// Published after every successful fixture snapshot refresh. previous is null on the first load of a date.
+public record FixtureSnapshotRefreshedEvent(FixtureSnapshot previous, FixtureSnapshot current) {
+}
@@ -0,0 +1,230 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one shared fixtures snapshot per date so /api/scores/fixtures never waits on api-sports.
+// A scheduled tick refreshes it: fast while anything is in play (or about to kick off), slow otherwise.
+// Requests that find a stale snapshot still get it immediately and just kick off a background refresh.
+@Service
+public class FixtureSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(FixtureSnapshotService.class);
+
+    private final ScoresService scores;
+    private final ApplicationEventPublisher publisher;
+    private final long liveRefreshMs;
+    private final long idleRefreshMs;
+    private final long kickoffWindowMs;
+
+    private final Map<String, FixtureSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<FixtureSnapshot>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastFailureMillis = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter refreshOk;
+    private final Counter refreshFailed;
+    private final Timer refreshTimer;
+
+    public FixtureSnapshotService(ScoresService scores,
+                                  ApplicationEventPublisher publisher,
+                                  MeterRegistry meters,
+                                  @Value("${fixtures.snapshot.live-refresh-ms:30000}") long liveRefreshMs,
+                                  @Value("${fixtures.snapshot.idle-refresh-ms:300000}") long idleRefreshMs,
+                                  @Value("${fixtures.snapshot.kickoff-window-ms:600000}") long kickoffWindowMs) {
+        this.scores = scores;
+        this.publisher = publisher;
+        this.liveRefreshMs = liveRefreshMs;
+        this.idleRefreshMs = idleRefreshMs;
+        this.kickoffWindowMs = kickoffWindowMs;
+
+        this.hits = meters.counter("fixtures.snapshot.requests", "result", "hit");
+        this.staleHits = meters.counter("fixtures.snapshot.requests", "result", "stale");
+        this.misses = meters.counter("fixtures.snapshot.requests", "result", "miss");
+        this.refreshOk = meters.counter("fixtures.snapshot.refresh", "outcome", "success");
+        this.refreshFailed = meters.counter("fixtures.snapshot.refresh", "outcome", "failure");
+        this.refreshTimer = meters.timer("fixtures.snapshot.refresh.duration");
+        Gauge.builder("fixtures.snapshot.age.seconds", this, s -> s.todayAgeSeconds())
+                .register(meters);
+    }
+
+    // UTC, like the fetch (timezone=UTC), the archive, the budget and the extension's dates
+    public static String today() {
+        return LocalDate.now(ZoneOffset.UTC).toString();
+    }
+
+    // ✅ Today's fixtures, straight from memory whenever we have a copy
+    public FixtureSnapshot getToday() {
+        return get(today());
+    }
+
+    public FixtureSnapshot get(String date) {
+        FixtureSnapshot snap = snapshots.get(date);
+        if (snap == null) {
+            // Cold start (or new day): everyone asking for this date waits on the same fetch
+            misses.increment();
+            if (recentlyFailed(date)) {
+                // upstream just failed for this date; don't make every request wait on another attempt
+                return empty(date);
+            }
+            try {
+                return refresh(date).join();
+            } catch (Exception e) {
+                log.error("❌ Fixture snapshot load failed for {}: {}", date, e.getMessage());
+                return empty(date);
+            }
+        }
+
+        if (isDue(snap)) {
+            staleHits.increment();
+            refresh(date); // stale-while-revalidate: serve what we have, refresh behind it
+        } else {
+            hits.increment();
+        }
+        return snap;
+    }
+
+    private static FixtureSnapshot empty(String date) {
+        return new FixtureSnapshot(date, List.of(), 0, System.currentTimeMillis(), false);
+    }
+
+    // Last good snapshot for a date without triggering any upstream work (null if we never loaded it)
+    public FixtureSnapshot peek(String date) {
+        return snapshots.get(date);
+    }
+
+    // Runs often; only actually hits upstream when the current cadence says the snapshot is due
+    @Scheduled(fixedDelayString = "${fixtures.snapshot.tick-ms:5000}")
+    public void tick() {
+        String today = today();
+        snapshots.keySet().removeIf(date -> !date.equals(today));
+
+        FixtureSnapshot snap = snapshots.get(today);
+        if (snap == null ? !recentlyFailed(today) : isDue(snap)) {
+            refresh(today);
+        }
+    }
+
+    // Single-flight refresh per date: concurrent callers share the in-flight future. Listeners hear about the
+    // new snapshot after the waiters have it, so a cold-miss request doesn't wait on archive writes and the like.
+    CompletableFuture<FixtureSnapshot> refresh(String date) {
+        CompletableFuture<FixtureSnapshot> created = new CompletableFuture<>();
+        CompletableFuture<FixtureSnapshot> existing = inFlight.putIfAbsent(date, created);
+        if (existing != null) {
+            return existing;
+        }
+        refresher.execute(() -> {
+            FixtureSnapshot previous = snapshots.get(date);
+            FixtureSnapshot snap;
+            try {
+                snap = load(date);
+            } catch (Throwable t) {
+                created.completeExceptionally(t);
+                inFlight.remove(date, created);
+                return;
+            }
+            created.complete(snap);
+            inFlight.remove(date, created);
+            notifyListeners(previous, snap);
+        });
+        return created;
+    }
+
+    private FixtureSnapshot load(String date) {
+        long start = System.nanoTime();
+        try {
+            List<Fixture> fixtures = List.copyOf(scores.getMatchesForDate(date));
+            FixtureSnapshot snap = new FixtureSnapshot(date, fixtures, versions.incrementAndGet(),
+                    System.currentTimeMillis(), needsLiveCadence(fixtures));
+            snapshots.put(date, snap);
+            lastFailureMillis.remove(date);
+            refreshOk.increment();
+            return snap;
+        } catch (RuntimeException e) {
+            lastFailureMillis.put(date, System.currentTimeMillis());
+            refreshFailed.increment();
+            log.error("❌ Fixture snapshot refresh failed for {}: {}", date, e.getMessage());
+            throw e;
+        } finally {
+            refreshTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Each listener is isolated by the multicaster's error handler (EventsConfig); this only guards the publish
+    private void notifyListeners(FixtureSnapshot previous, FixtureSnapshot current) {
+        try {
+            publisher.publishEvent(new FixtureSnapshotRefreshedEvent(previous, current));
+        } catch (RuntimeException e) {
+            log.error("❌ Fixture snapshot listener failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isDue(FixtureSnapshot snap) {
+        long cadence = snap.live() ? liveRefreshMs : idleRefreshMs;
+        return snap.ageMillis() >= cadence && !recentlyFailed(snap.date());
+    }
+
+    // After a failed refresh, back off for one live interval instead of retrying every tick
+    private boolean recentlyFailed(String date) {
+        Long failedAt = lastFailureMillis.get(date);
+        return failedAt != null && System.currentTimeMillis() - failedAt < liveRefreshMs;
+    }
+
+    // Live cadence if something is in play, or is scheduled to kick off within the window
+    private boolean needsLiveCadence(List<Fixture> fixtures) {
+        long now = System.currentTimeMillis();
+        for (Fixture f : fixtures) {
+            if (f.status().isLive()) {
+                return true;
+            }
+            if (f.status().isNotStarted() && kicksOffBefore(f.kickoffIso(), now + kickoffWindowMs)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean kicksOffBefore(String kickoffIso, long deadlineMillis) {
+        try {
+            return OffsetDateTime.parse(kickoffIso).toInstant().toEpochMilli() <= deadlineMillis;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private double todayAgeSeconds() {
+        FixtureSnapshot snap = snapshots.get(today());
+        return snap == null ? Double.NaN : snap.ageMillis() / 1000.0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,255 @@
+package com.raman.soccer_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.raman.soccer_backend.config.JsonWriters;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes live score changes to SSE subscribers. The fixture snapshot refresher is the only poller:
+// every refresh is diffed against the previous snapshot and only changed fixtures (score, status,
+// elapsed) and newly seen events go out. Each payload is serialized once and shared by all subscribers.
+@Service
+public class LiveScoreService {
+
+    // a client this far behind is not reading; drop it and let EventSource reconnect
+    private static final int MAX_PENDING = 200;
+
+    private final FixtureSnapshotService fixtures;
+    private final EventTimelineService timelines;
+    private final JsonWriters writers;
+    private final ObjectWriter eventsWriter;
+    private final long emitterTimeoutMs;
+
+    private final Set<LiveSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LiveScoreService(FixtureSnapshotService fixtures,
+                            EventTimelineService timelines,
+                            JsonWriters writers,
+                            MeterRegistry meters,
+                            @Value("${live.stream.timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.fixtures = fixtures;
+        this.timelines = timelines;
+        this.writers = writers;
+        this.eventsWriter = writers.writerFor(LiveEvents.class);
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        Gauge.builder("live.subscribers", subscribers, Set::size).register(meters);
+    }
+
+    // ✅ New subscriber: gets the current (filtered) snapshot first, then only diffs
+    public SseEmitter subscribe(Collection<String> fixtureIds, Collection<Integer> leagueIds) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        LiveSubscriber sub = new LiveSubscriber(emitter,
+                fixtureIds == null ? Set.of() : Set.copyOf(fixtureIds),
+                leagueIds == null ? Set.of() : Set.copyOf(leagueIds),
+                workers);
+
+        emitter.onCompletion(() -> subscribers.remove(sub));
+        emitter.onTimeout(() -> subscribers.remove(sub));
+        emitter.onError(e -> subscribers.remove(sub));
+        subscribers.add(sub);
+
+        FixtureSnapshot snap = fixtures.getToday();
+        sub.send(message("snapshot", snap.version(), writers.fixtureList(), filter(snap.fixtures(), sub)));
+        return emitter;
+    }
+
+    @EventListener
+    public void onSnapshotRefreshed(FixtureSnapshotRefreshedEvent e) {
+        FixtureSnapshot current = e.current();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (e.previous() == null) {
+            // new day (or first load): nothing to diff against
+            for (LiveSubscriber sub : subscribers) {
+                sub.send(message("snapshot", current.version(), writers.fixtureList(), filter(current.fixtures(), sub)));
+            }
+            return;
+        }
+
+        for (Fixture f : current.fixtures()) {
+            Fixture old = e.previous().fixture(f.id());
+            boolean scoreChanged = old == null || !Objects.equals(old.home().score(), f.home().score())
+                    || !Objects.equals(old.away().score(), f.away().score());
+            boolean phaseChanged = old == null || !Objects.equals(old.status().phase(), f.status().phase());
+            boolean elapsedChanged = old != null && !Objects.equals(old.status().elapsed(), f.status().elapsed());
+            boolean changed = scoreChanged || phaseChanged || elapsedChanged;
+            if (!changed && !f.status().isLive()) {
+                continue;
+            }
+
+            LiveMessage update = changed ? message("fixture", current.version(), writers.fixture(), f) : null;
+            boolean anyone = false;
+            for (LiveSubscriber sub : subscribers) {
+                if (sub.wants(f)) {
+                    if (update != null) {
+                        sub.send(update);
+                    }
+                    anyone = true;
+                }
+            }
+
+            // Timelines are fetched off the refresh thread: right away after a goal or phase change, otherwise
+            // whenever a watched live match's timeline is due (cards, subs and VAR don't move the score)
+            if (anyone && old != null) {
+                boolean force = scoreChanged || phaseChanged;
+                workers.execute(() -> pushNewEvents(f, current.version(), force));
+            }
+        }
+    }
+
+    private void pushNewEvents(Fixture fixture, long version, boolean force) {
+        EventTimeline.Change change = force ? timelines.refresh(fixture.id()) : timelines.refreshIfDue(fixture.id());
+        if (change.isEmpty()) {
+            return;
+        }
+
+        // entries carry their timeline seq, so clients can append and resume with ?since=;
+        // reset=true means upstream corrected something and events is the whole timeline
+        LiveMessage msg = message("events", version, eventsWriter,
+                new LiveEvents(fixture.id(), change.cursor(), change.reset(), change.events()));
+        for (LiveSubscriber sub : subscribers) {
+            if (sub.wants(fixture)) {
+                sub.send(msg);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and flushes out dead clients
+    @Scheduled(fixedRateString = "${live.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (LiveSubscriber sub : subscribers) {
+            sub.send(LiveMessage.HEARTBEAT);
+        }
+    }
+
+    private List<Fixture> filter(List<Fixture> all, LiveSubscriber sub) {
+        List<Fixture> out = new ArrayList<>();
+        for (Fixture f : all) {
+            if (sub.wants(f)) {
+                out.add(f);
+            }
+        }
+        return out;
+    }
+
+    private LiveMessage message(String name, long version, ObjectWriter writer, Object payload) {
+        try {
+            return new LiveMessage(name, Long.toString(version), writer.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize live " + name + " payload", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (LiveSubscriber sub : subscribers) {
+            sub.emitter.complete();
+        }
+        workers.shutdownNow();
+    }
+
+    private record LiveEvents(String fixture, long cursor, boolean reset, List<MatchEvent> events) {
+    }
+
+    // Pre-serialized SSE frame; an SseEventBuilder can't be shared between emitters, this can
+    private record LiveMessage(String name, String id, String json) {
+        static final LiveMessage HEARTBEAT = new LiveMessage(null, null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("keepalive");
+            }
+            return SseEmitter.event().name(name).id(id).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    // One connected client. Sends are queued and drained by at most one worker at a time,
+    // so a slow client never blocks the refresh thread and messages stay in order.
+    private final class LiveSubscriber {
+        private final SseEmitter emitter;
+        private final Set<String> fixtureIds;
+        private final Set<Integer> leagueIds;
+        private final Executor executor;
+        private final Queue<LiveMessage> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        LiveSubscriber(SseEmitter emitter, Set<String> fixtureIds, Set<Integer> leagueIds, Executor executor) {
+            this.emitter = emitter;
+            this.fixtureIds = fixtureIds;
+            this.leagueIds = leagueIds;
+            this.executor = executor;
+        }
+
+        boolean wants(Fixture fixture) {
+            if (!fixtureIds.isEmpty() && !fixtureIds.contains(fixture.id())) {
+                return false;
+            }
+            return leagueIds.isEmpty() || leagueIds.contains(fixture.leagueId());
+        }
+
+        void send(LiveMessage msg) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > MAX_PENDING) {
+                close(null);
+                return;
+            }
+            pending.add(msg);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                LiveMessage msg;
+                while ((msg = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(msg.toEvent());
+                    } catch (Exception e) {
+                        close(e);
+                        draining.set(false);
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close(Exception cause) {
+            closed = true;
+            pending.clear();
+            subscribers.remove(this);
+            if (cause == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+}
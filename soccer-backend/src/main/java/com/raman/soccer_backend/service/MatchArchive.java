@@ -0,0 +1,559 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchStatus;
+import com.raman.soccer_backend.model.TeamSide;
+import com.raman.soccer_backend.service.UpstreamBudget.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Local archive of finished fixtures, so recent form and head-to-head (data that never changes once a match is
+// over) are read from disk instead of paying api-sports for them on every preview. Finished fixtures come from
+// the snapshots we fetch anyway, plus a low-priority backfill of past dates (one call returns a whole day).
+// Rows are in MatchArchiveFile; team and team-pair indexes (row numbers by kickoff) are rebuilt in memory at
+// startup. Names and logos are a small append-only dictionary next to it.
+//
+// A local answer is only given when it is known to be complete: a day is "covered" once all of its fixtures
+// are in the archive, so if every day since the Nth most recent match is covered, those N are the last N.
+// An upstream answer leaves a "seed" (complete as of that day), which makes the same question local from then
+// on. Otherwise upstream is asked (and its answer archived); if that fails, whatever is local is returned.
+// Days are UTC days, like the kickoffs in the archive.
+@Service
+public class MatchArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchArchive.class);
+
+    private static final DateTimeFormatter KICKOFF = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx");
+    private static final Set<String> TERMINAL_PHASES = Set.of("FT", "AET", "PEN", "PST", "CANC", "ABD", "AWD", "WO");
+    private static final Map<String, String> LONG_NAMES = Map.of(
+            "FT", "Match Finished",
+            "AET", "Match Finished After Extra Time",
+            "PEN", "Match Finished After Penalty");
+    private static final int[] NONE = new int[0];
+
+    private final ScoresService scores;
+    private final Path dir;
+    private final int backfillDays;
+    private final int backfillCallsPerRun;
+    private final Clock clock;
+
+    private MatchArchiveFile file;
+    private BufferedWriter namesOut;
+    private BufferedWriter daysOut;
+    private BufferedWriter seedsOut;
+
+    private final Map<Long, Integer> rowsById = new ConcurrentHashMap<>();
+    private final Map<Integer, int[]> byTeam = new ConcurrentHashMap<>();
+    private final Map<Long, int[]> byPair = new ConcurrentHashMap<>();
+    private final Map<Integer, TeamSide> teams = new ConcurrentHashMap<>(); // id -> name + logo (score unused)
+    private final Map<Integer, String> leagues = new ConcurrentHashMap<>();
+    private final Set<Long> coveredDays = ConcurrentHashMap.newKeySet();
+    private final Map<String, Seed> seeds = new ConcurrentHashMap<>();
+    private volatile long todaySeen = Long.MIN_VALUE;
+
+    // Archive writes from queries run here: the querying thread can be interrupted (AiService cancels a preview
+    // fetch that timed out), and an interrupt during FileChannel I/O closes the channel for good
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("match-archive-writer").factory());
+
+    private final Timer lookupTimer;
+    private final Map<String, Counter> queries = new ConcurrentHashMap<>();
+    private final MeterRegistry meters;
+
+    @Autowired
+    public MatchArchive(ScoresService scores,
+                        MeterRegistry meters,
+                        @Value("${archive.dir:match-archive}") String dir,
+                        @Value("${archive.backfill.days:35}") int backfillDays,
+                        @Value("${archive.backfill.calls-per-run:2}") int backfillCallsPerRun) {
+        this(scores, meters, dir, backfillDays, backfillCallsPerRun, Clock.systemUTC());
+    }
+
+    MatchArchive(ScoresService scores, MeterRegistry meters, String dir, int backfillDays, int backfillCallsPerRun,
+                 Clock clock) {
+        this.scores = scores;
+        this.clock = clock;
+        this.meters = meters;
+        this.dir = Path.of(dir);
+        this.backfillDays = backfillDays;
+        this.backfillCallsPerRun = backfillCallsPerRun;
+        this.lookupTimer = Timer.builder("archive.lookup")
+                .description("Local form / head-to-head answer")
+                .publishPercentileHistogram()
+                .register(meters);
+        Gauge.builder("archive.fixtures", rowsById, Map::size).register(meters);
+        Gauge.builder("archive.days.covered", coveredDays, Set::size).register(meters);
+
+        try {
+            open();
+            log.info("📚 Match archive: {} fixtures, {} covered days, {} seeds", rowsById.size(), coveredDays.size(), seeds.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Match archive at {} not usable, form/H2H go upstream: {}", this.dir.toAbsolutePath(), e.getMessage());
+            close();
+            file = null;
+        }
+    }
+
+    // ✅ Last n results (W/D/L, most recent first) for a team
+    public Answer<String> recentForm(int teamId, int n) {
+        Answer<Fixture> matches = query("form", "team\t" + teamId, () -> byTeam.getOrDefault(teamId, NONE), n,
+                () -> scores.fetchLastMatches(teamId, n));
+        List<String> form = new ArrayList<>(matches.items().size());
+        for (Fixture f : matches.items()) {
+            form.add(result(f, teamId));
+        }
+        return new Answer<>(form, matches.complete());
+    }
+
+    // ✅ Last n meetings of two teams, as fixtures
+    public Answer<Fixture> headToHead(int homeId, int awayId, int n) {
+        long pair = pair(homeId, awayId);
+        return query("h2h", "pair\t" + Math.min(homeId, awayId) + "-" + Math.max(homeId, awayId),
+                () -> byPair.getOrDefault(pair, NONE), n, () -> scores.fetchHeadToHead(homeId, awayId, n));
+    }
+
+    // Local if complete; else upstream (archived, and seeded for next time); if that fails, whatever is local,
+    // flagged as not complete
+    private Answer<Fixture> query(String kind, String seedKey, Supplier<int[]> rows, int n, Supplier<List<Fixture>> upstream) {
+        List<Fixture> local = local(rows.get(), n, seedKey);
+        if (local != null) {
+            count(kind, "local");
+            return new Answer<>(local, true);
+        }
+        try {
+            List<Fixture> fetched = upstream.get();
+            recordOffThread(fetched, seedKey, n);
+            count(kind, "upstream");
+            return new Answer<>(fetched, true);
+        } catch (RuntimeException e) {
+            count(kind, "partial");
+            log.warn("⚠️ {} for {} from the archive only: {}", kind, seedKey.replace('\t', ' '), e.getMessage());
+            return new Answer<>(file == null ? List.of() : fixtures(newest(rows.get(), n)), false);
+        }
+    }
+
+    // complete=false: upstream couldn't be asked and the archive alone may be missing matches
+    public record Answer<T>(List<T> items, boolean complete) {
+    }
+
+    // The newest n rows as fixtures if they are known to be complete, else null
+    private List<Fixture> local(int[] rows, int n, String seedKey) {
+        if (file == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            long today = today();
+            if (rows.length >= n && coveredSince(day(file.kickoff(rows[rows.length - n])), today)) {
+                return fixtures(newest(rows, n));
+            }
+            Seed seed = seeds.get(seedKey);
+            if (seed != null && (seed.requested() >= n || seed.returned() < seed.requested())
+                    && coveredSince(seed.asOfDay(), today)) {
+                return fixtures(newest(rows, n));
+            }
+            return null;
+        } finally {
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Most recent first
+    private static int[] newest(int[] rows, int n) {
+        int k = Math.min(n, rows.length);
+        int[] out = new int[k];
+        for (int i = 0; i < k; i++) {
+            out[i] = rows[rows.length - 1 - i];
+        }
+        return out;
+    }
+
+    private List<Fixture> fixtures(int[] rows) {
+        List<Fixture> out = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            out.add(fixture(row));
+        }
+        return out;
+    }
+
+    // Every day from `from` to yesterday fully archived, and today's snapshot seen (it archives matches as they end)
+    private boolean coveredSince(long from, long today) {
+        if (todaySeen != today) {
+            return false;
+        }
+        for (long d = today - 1; d >= from; d--) {
+            if (!coveredDays.contains(d)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Snapshots: archive what has finished; a day whose fixtures have all ended is covered
+    @EventListener
+    public void onSnapshotRefreshed(FixtureSnapshotRefreshedEvent e) {
+        FixtureSnapshot snap = e.current();
+        if (file == null || snap.fixtures().isEmpty()) {
+            return;
+        }
+        archiveDay(snap.date(), snap.fixtures(), false);
+    }
+
+    // Past days the snapshots didn't cover (app down, or a match that ended after midnight), newest first.
+    // One api-sports call per day at LOW priority, a few per run, so it fills in over time without crowding out
+    // live traffic.
+    @Scheduled(initialDelayString = "${archive.backfill.initial-delay-ms:60000}",
+            fixedDelayString = "${archive.backfill.interval-ms:3600000}")
+    public void backfill() {
+        if (file == null) {
+            return;
+        }
+        long today = today();
+        int calls = 0;
+        for (long d = today - 1; d >= today - backfillDays && calls < backfillCallsPerRun; d--) {
+            if (coveredDays.contains(d)) {
+                continue;
+            }
+            String date = LocalDate.ofEpochDay(d).toString();
+            calls++;
+            try {
+                archiveDay(date, scores.fetchMatchesForDate(date, Priority.LOW), true);
+            } catch (QuotaExceededException ex) {
+                return; // try again next run
+            } catch (RuntimeException ex) {
+                log.warn("⚠️ Archive backfill of {} failed: {}", date, ex.getMessage());
+            }
+        }
+    }
+
+    private void archiveDay(String date, List<Fixture> fixtures, boolean backfill) {
+        long day = LocalDate.parse(date).toEpochDay();
+        long today = today();
+        boolean allEnded = true;
+        for (Fixture f : fixtures) {
+            allEnded &= TERMINAL_PHASES.contains(f.status().phase());
+        }
+        synchronized (this) {
+            appendAll(fixtures);
+            // a past day fetched in full won't change any more, even if some fixture never got a final status
+            if (allEnded || (backfill && day < today - 1)) {
+                cover(day);
+            }
+        }
+        if (day == today) {
+            todaySeen = today;
+        }
+    }
+
+    // Waits for the write unless interrupted; it completes on the writer thread either way
+    private void recordOffThread(List<Fixture> fixtures, String seedKey, int requested) {
+        Future<?> done = writer.submit(() -> record(fixtures, seedKey, requested));
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("❌ Match archive record failed: {}", e.getCause().getMessage());
+        }
+    }
+
+    // An upstream answer: archive its fixtures and remember it was complete as of today. An empty answer isn't
+    // remembered: for a team (or pair) we know nothing about it more likely means a wrong id or a bad response
+    // than no history, and as a seed it would answer "no matches" locally from then on.
+    private synchronized void record(List<Fixture> fixtures, String seedKey, int requested) {
+        if (file == null) {
+            return;
+        }
+        appendAll(fixtures);
+        if (fixtures.isEmpty()) {
+            return;
+        }
+        Seed seed = new Seed(today(), requested, fixtures.size());
+        if (!seed.equals(seeds.put(seedKey, seed))) {
+            writeLine(seedsOut, seedLine(seedKey, seed));
+        }
+    }
+
+    private static String seedLine(String key, Seed seed) {
+        return key + "\t" + LocalDate.ofEpochDay(seed.asOfDay()) + "\t" + seed.requested() + "\t" + seed.returned();
+    }
+
+    // Caller holds the lock
+    private void appendAll(Collection<Fixture> fixtures) {
+        boolean appended = false;
+        for (Fixture f : fixtures) {
+            if (!MatchArchiveFile.archivable(f.status().phase())) {
+                continue;
+            }
+            long id;
+            long kickoff;
+            try {
+                id = Long.parseLong(f.id());
+                kickoff = OffsetDateTime.parse(f.kickoffIso()).toEpochSecond();
+            } catch (RuntimeException e) {
+                continue;
+            }
+            remember(f);
+            if (rowsById.containsKey(id)) {
+                continue;
+            }
+            try {
+                int row = file.append(id, kickoff, f.leagueId(), f.season(), f.homeId(), f.awayId(),
+                        goals(f.home()), goals(f.away()), f.status().phase());
+                index(row);
+                appended = true;
+            } catch (IOException e) {
+                log.error("❌ Match archive append failed: {}", e.getMessage());
+                return;
+            }
+        }
+        if (appended) {
+            file.force();
+        }
+        flush(namesOut);
+    }
+
+    private void index(int row) {
+        rowsById.put(file.id(row), row);
+        insert(byTeam, file.home(row), row);
+        insert(byTeam, file.away(row), row);
+        insert(byPair, pair(file.home(row), file.away(row)), row);
+    }
+
+    // Copy-on-write insert keeping rows in kickoff order (backfilled days land in the middle)
+    private <K> void insert(Map<K, int[]> index, K key, int row) {
+        int[] rows = index.getOrDefault(key, NONE);
+        long kickoff = file.kickoff(row);
+        int at = rows.length;
+        while (at > 0 && file.kickoff(rows[at - 1]) > kickoff) {
+            at--;
+        }
+        int[] grown = Arrays.copyOf(rows, rows.length + 1);
+        System.arraycopy(rows, at, grown, at + 1, rows.length - at);
+        grown[at] = row;
+        index.put(key, grown);
+    }
+
+    private void cover(long day) {
+        if (coveredDays.add(day)) {
+            writeLine(daysOut, LocalDate.ofEpochDay(day).toString());
+        }
+    }
+
+    // Team/league names for rebuilding fixtures; a new line only when something changed
+    private void remember(Fixture f) {
+        rememberTeam(f.homeId(), f.home());
+        rememberTeam(f.awayId(), f.away());
+        if (f.league() != null && !f.league().equals(leagues.get(f.leagueId()))) {
+            leagues.put(f.leagueId(), f.league());
+            writeLineNoFlush(namesOut, "league\t" + f.leagueId() + "\t" + clean(f.league()));
+        }
+    }
+
+    private void rememberTeam(int id, TeamSide side) {
+        TeamSide known = teams.get(id);
+        if (side.name() != null && (known == null || !side.name().equals(known.name())
+                || (side.logo() != null && !side.logo().equals(known.logo())))) {
+            teams.put(id, new TeamSide(side.name(), side.logo(), null));
+            writeLineNoFlush(namesOut, "team\t" + id + "\t" + clean(side.name()) + "\t" + clean(side.logo()));
+        }
+    }
+
+    private Fixture fixture(int row) {
+        int home = file.home(row);
+        int away = file.away(row);
+        String phase = file.phase(row);
+        return new Fixture(String.valueOf(file.id(row)),
+                leagues.getOrDefault(file.league(row), ""),
+                file.league(row),
+                file.season(row),
+                KICKOFF.format(Instant.ofEpochSecond(file.kickoff(row)).atOffset(ZoneOffset.UTC)),
+                home,
+                away,
+                side(home, file.homeGoals(row)),
+                side(away, file.awayGoals(row)),
+                new MatchStatus(phase, LONG_NAMES.get(phase), "FT".equals(phase) ? 90 : 120));
+    }
+
+    private TeamSide side(int teamId, int goals) {
+        TeamSide known = teams.get(teamId);
+        return new TeamSide(known == null ? "Team " + teamId : known.name(), known == null ? null : known.logo(), goals);
+    }
+
+    // The one place the W/D/L rule lives: teamId's point of view, on goals alone (a shoot-out is a draw)
+    private static String result(Fixture f, int teamId) {
+        int homeGoals = goals(f.home());
+        int awayGoals = goals(f.away());
+        boolean isHome = f.homeId() == teamId;
+        if (homeGoals == awayGoals) {
+            return "D";
+        }
+        return (isHome && homeGoals > awayGoals) || (!isHome && awayGoals > homeGoals) ? "W" : "L";
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(dir);
+        file = new MatchArchiveFile(dir.resolve("fixtures.bin"));
+        for (int row = 0; row < file.count(); row++) {
+            index(row);
+        }
+
+        for (String line : readLines("names.tsv")) {
+            String[] f = line.split("\t", -1);
+            if (f[0].equals("team") && f.length >= 4) {
+                teams.put(Integer.parseInt(f[1]), new TeamSide(f[2], f[3].isEmpty() ? null : f[3], null));
+            } else if (f[0].equals("league") && f.length >= 3) {
+                leagues.put(Integer.parseInt(f[1]), f[2]);
+            }
+        }
+        for (String line : readLines("days.txt")) {
+            if (!line.isBlank()) {
+                coveredDays.add(LocalDate.parse(line.trim()).toEpochDay());
+            }
+        }
+        List<String> seedLines = readLines("seeds.tsv");
+        for (String line : seedLines) {
+            String[] f = line.split("\t");
+            if (f.length == 5) {
+                seeds.put(f[0] + "\t" + f[1], new Seed(LocalDate.parse(f[2]).toEpochDay(),
+                        Integer.parseInt(f[3]), Integer.parseInt(f[4])));
+            }
+        }
+        if (seedLines.size() > seeds.size()) {
+            compactSeeds();
+        }
+
+        namesOut = appender("names.tsv");
+        daysOut = appender("days.txt");
+        seedsOut = appender("seeds.tsv");
+    }
+
+    // A re-asked question appends a newer seed; keep only the latest one per key
+    private void compactSeeds() throws IOException {
+        List<String> lines = new ArrayList<>(seeds.size());
+        seeds.forEach((key, seed) -> lines.add(seedLine(key, seed)));
+        Path tmp = dir.resolve("seeds.tsv.tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, dir.resolve("seeds.tsv"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<String> readLines(String name) throws IOException {
+        Path p = dir.resolve(name);
+        return Files.exists(p) ? Files.readAllLines(p, StandardCharsets.UTF_8) : List.of();
+    }
+
+    private BufferedWriter appender(String name) throws IOException {
+        return Files.newBufferedWriter(dir.resolve(name), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void writeLine(BufferedWriter out, String line) {
+        writeLineNoFlush(out, line);
+        flush(out);
+    }
+
+    private void writeLineNoFlush(BufferedWriter out, String line) {
+        try {
+            out.write(line);
+            out.newLine();
+        } catch (IOException e) {
+            log.error("❌ Match archive write failed: {}", e.getMessage());
+        }
+    }
+
+    private void flush(BufferedWriter out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            log.error("❌ Match archive write failed: {}", e.getMessage());
+        }
+    }
+
+    private void count(String kind, String result) {
+        queries.computeIfAbsent(kind + result, k -> meters.counter("archive.queries", "kind", kind, "result", result))
+                .increment();
+    }
+
+    @PreDestroy
+    void close() {
+        // let queued writes finish first (they take the lock, so don't hold it while waiting)
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            for (AutoCloseable c : new AutoCloseable[]{namesOut, daysOut, seedsOut, file}) {
+                if (c == null) {
+                    continue;
+                }
+                try {
+                    c.close();
+                } catch (Exception e) {
+                    log.error("❌ Match archive close failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static long pair(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | (Math.max(a, b) & 0xFFFFFFFFL);
+    }
+
+    private static long day(long epochSec) {
+        return Math.floorDiv(epochSec, 86_400L);
+    }
+
+    private long today() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC).toEpochDay();
+    }
+
+    private static int goals(TeamSide side) {
+        return side.score() == null ? 0 : side.score();
+    }
+
+    private static String clean(String s) {
+        return s == null ? "" : s.replace('\t', ' ').replace('\n', ' ');
+    }
+
+    // Upstream said these were the last `returned` of `requested` (fewer = the whole history) as of asOfDay
+    private record Seed(long asOfDay, int requested, int returned) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.raman.soccer_backend.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Append-only file of finished fixtures, memory-mapped. A 16-byte header (magic, format version, row count)
+// and then fixed-width 48-byte rows, so row i is at a known offset and reads are plain buffer gets with no
+// parsing. The mapping doubles when it fills up. Names live elsewhere (MatchArchive's dictionary); a row is ids,
+// kickoff, goals and the final phase only. Appends are single-writer (callers synchronize), reads need no lock.
+final class MatchArchiveFile implements AutoCloseable {
+
+    static final int ROW_BYTES = 48;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAGIC = 0x4D415243; // "MARC"
+    private static final int VERSION = 1;
+    private static final int INITIAL_ROWS = 16_384;
+
+    // row layout
+    private static final int ID = 0;            // long  fixture id
+    private static final int KICKOFF = 8;       // long  kickoff, epoch seconds UTC
+    private static final int LEAGUE = 16;       // int
+    private static final int SEASON = 20;       // int
+    private static final int HOME = 24;         // int   team id
+    private static final int AWAY = 28;         // int   team id
+    private static final int HOME_GOALS = 32;   // short
+    private static final int AWAY_GOALS = 34;   // short
+    private static final int PHASE = 36;        // byte  index into PHASES
+    // 37..47 reserved
+
+    static final String[] PHASES = {"FT", "AET", "PEN"};
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer map;
+    private volatile int count;
+
+    MatchArchiveFile(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size == 0) {
+            this.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) INITIAL_ROWS * ROW_BYTES);
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putLong(8, 0);
+            this.count = 0;
+        } else {
+            this.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException(file + " is not a version " + VERSION + " match archive");
+            }
+            long rows = map.getLong(8);
+            if (rows < 0 || HEADER_BYTES + rows * ROW_BYTES > size) {
+                channel.close();
+                throw new IOException(file + " header says " + rows + " rows but the file is " + size + " bytes");
+            }
+            this.count = (int) rows;
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    // Writes the row, then bumps the count in the header, so a crash mid-append leaves the previous count valid.
+    // Returns the new row's index. phase must be one of PHASES.
+    int append(long id, long kickoffEpochSec, int leagueId, int season, int homeId, int awayId,
+               int homeGoals, int awayGoals, String phase) throws IOException {
+        int row = count;
+        long offset = offset(row);
+        if (offset + ROW_BYTES > map.capacity()) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (map.capacity() - HEADER_BYTES) * 2L);
+        }
+        MappedByteBuffer m = map;
+        int at = (int) offset;
+        m.putLong(at + ID, id);
+        m.putLong(at + KICKOFF, kickoffEpochSec);
+        m.putInt(at + LEAGUE, leagueId);
+        m.putInt(at + SEASON, season);
+        m.putInt(at + HOME, homeId);
+        m.putInt(at + AWAY, awayId);
+        m.putShort(at + HOME_GOALS, (short) homeGoals);
+        m.putShort(at + AWAY_GOALS, (short) awayGoals);
+        m.put(at + PHASE, (byte) phaseIndex(phase));
+        m.putLong(8, row + 1L);
+        count = row + 1;
+        return row;
+    }
+
+    // Flush dirty pages to disk (after a batch of appends)
+    void force() {
+        map.force();
+    }
+
+    long id(int row) {
+        return map.getLong(at(row) + ID);
+    }
+
+    long kickoff(int row) {
+        return map.getLong(at(row) + KICKOFF);
+    }
+
+    int league(int row) {
+        return map.getInt(at(row) + LEAGUE);
+    }
+
+    int season(int row) {
+        return map.getInt(at(row) + SEASON);
+    }
+
+    int home(int row) {
+        return map.getInt(at(row) + HOME);
+    }
+
+    int away(int row) {
+        return map.getInt(at(row) + AWAY);
+    }
+
+    int homeGoals(int row) {
+        return map.getShort(at(row) + HOME_GOALS);
+    }
+
+    int awayGoals(int row) {
+        return map.getShort(at(row) + AWAY_GOALS);
+    }
+
+    String phase(int row) {
+        return PHASES[map.get(at(row) + PHASE)];
+    }
+
+    static boolean archivable(String phase) {
+        return phaseIndex(phase) >= 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private static int phaseIndex(String phase) {
+        for (int i = 0; i < PHASES.length; i++) {
+            if (PHASES[i].equals(phase)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long offset(int row) {
+        return HEADER_BYTES + (long) row * ROW_BYTES;
+    }
+
+    private int at(int row) {
+        return (int) offset(row);
+    }
+}
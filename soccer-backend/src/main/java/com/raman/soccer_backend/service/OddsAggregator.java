@@ -0,0 +1,96 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.BookmakerOdds;
+import com.raman.soccer_backend.model.OddsConsensus;
+import com.raman.soccer_backend.model.OddsGame;
+import com.raman.soccer_backend.model.OddsLine;
+import com.raman.soccer_backend.model.OutcomeConsensus;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Folds every bookmaker's h2h prices for a game into best / median / margin / fair probabilities.
+// Prices go into one flat double[] (outcome-major) in a single pass over the bookmakers; everything
+// after that is arithmetic and an in-place sort per outcome, no boxing.
+public final class OddsAggregator {
+
+    private static final int HOME = 0, DRAW = 1, AWAY = 2, OUTCOMES = 3;
+
+    private OddsAggregator() {
+    }
+
+    // null if no bookmaker quotes all three outcomes
+    public static OddsConsensus aggregate(OddsGame game) {
+        List<BookmakerOdds> books = game.bookmakers();
+        int n = books.size();
+        double[] prices = new double[OUTCOMES * n]; // [outcome * n + book]
+        double[] margins = new double[n];
+        double[] best = new double[OUTCOMES];
+        int[] bestBook = new int[OUTCOMES];
+
+        // one pass: keep complete books only, track best price per outcome and each book's margin
+        int used = 0;
+        double[] row = new double[OUTCOMES];
+        for (int b = 0; b < n; b++) {
+            if (!fill(books.get(b), game, row)) {
+                continue;
+            }
+            double inverseSum = 0;
+            for (int o = 0; o < OUTCOMES; o++) {
+                prices[o * n + used] = row[o];
+                inverseSum += 1 / row[o];
+                if (row[o] > best[o]) {
+                    best[o] = row[o];
+                    bestBook[o] = b;
+                }
+            }
+            margins[used] = inverseSum - 1;
+            used++;
+        }
+        if (used == 0) {
+            return null;
+        }
+
+        double[] median = new double[OUTCOMES];
+        double medianInverseSum = 0;
+        double bestInverseSum = 0;
+        for (int o = 0; o < OUTCOMES; o++) {
+            median[o] = median(prices, o * n, used);
+            medianInverseSum += 1 / median[o];
+            bestInverseSum += 1 / best[o];
+        }
+
+        String[] names = {game.homeTeam(), "Draw", game.awayTeam()};
+        OutcomeConsensus[] outcomes = new OutcomeConsensus[OUTCOMES];
+        for (int o = 0; o < OUTCOMES; o++) {
+            // normalizing 1/price over the consensus book removes the margin proportionally
+            outcomes[o] = new OutcomeConsensus(names[o], best[o], books.get(bestBook[o]).title(), median[o],
+                    (1 / median[o]) / medianInverseSum);
+        }
+        return new OddsConsensus(game.homeTeam(), game.awayTeam(), game.commenceTime(), used,
+                List.of(outcomes), median(margins, 0, used), bestInverseSum - 1);
+    }
+
+    // Home/draw/away prices of one bookmaker into row; false unless all three are there and sane
+    private static boolean fill(BookmakerOdds book, OddsGame game, double[] row) {
+        row[HOME] = row[DRAW] = row[AWAY] = 0;
+        for (OddsLine line : book.outcomes()) {
+            String name = line.name();
+            if (name.equals(game.homeTeam())) {
+                row[HOME] = line.price();
+            } else if (name.equals(game.awayTeam())) {
+                row[AWAY] = line.price();
+            } else if ("Draw".equalsIgnoreCase(name)) {
+                row[DRAW] = line.price();
+            }
+        }
+        return row[HOME] > 1 && row[DRAW] > 1 && row[AWAY] > 1;
+    }
+
+    // Median of values[from, from + count); sorts that range in place
+    static double median(double[] values, int from, int count) {
+        Arrays.sort(values, from, from + count);
+        int mid = from + count / 2;
+        return count % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+}
@@ -0,0 +1,132 @@
+package com.raman.soccer_backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.raman.soccer_backend.model.BookmakerOdds;
+import com.raman.soccer_backend.model.OddsGame;
+import com.raman.soccer_backend.model.OddsLine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.raman.soccer_backend.service.ApiSportsJsonReader.JSON;
+import static com.raman.soccer_backend.service.ApiSportsJsonReader.enterObject;
+import static com.raman.soccer_backend.service.ApiSportsJsonReader.text;
+
+// Token-level reader for the Odds API /v4/sports/{sport}/odds board (a top-level array of games).
+// Keeps the h2h market of every bookmaker; other markets and fields are skipped.
+public final class OddsApiJsonReader {
+
+    private OddsApiJsonReader() {
+    }
+
+    public static List<OddsGame> readGames(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            return readGames(p);
+        }
+    }
+
+    public static List<OddsGame> readGames(JsonParser p) throws IOException {
+        List<OddsGame> games = new ArrayList<>();
+        if (p.nextToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return games;
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            games.add(readGame(p));
+        }
+        return games;
+    }
+
+    private static OddsGame readGame(JsonParser p) throws IOException {
+        String id = "", home = "", away = "", commence = "";
+        List<BookmakerOdds> bookmakers = new ArrayList<>();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "id" -> id = text(p, "");
+                case "home_team" -> home = text(p, "");
+                case "away_team" -> away = text(p, "");
+                case "commence_time" -> commence = text(p, "");
+                case "bookmakers" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (p.nextToken() == JsonToken.START_OBJECT) {
+                            BookmakerOdds b = readBookmaker(p);
+                            if (b != null) {
+                                bookmakers.add(b);
+                            }
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return new OddsGame(id, home, away, commence, List.copyOf(bookmakers));
+    }
+
+    // null if the bookmaker has no h2h market
+    private static BookmakerOdds readBookmaker(JsonParser p) throws IOException {
+        String key = "", title = "";
+        List<OddsLine> h2h = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "key" -> key = text(p, "");
+                case "title" -> title = text(p, "");
+                case "markets" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (p.nextToken() == JsonToken.START_OBJECT) {
+                            List<OddsLine> outcomes = readH2hMarket(p);
+                            if (h2h == null) {
+                                h2h = outcomes;
+                            }
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return h2h == null ? null : new BookmakerOdds(key, title, h2h);
+    }
+
+    // Outcomes of one market, or null unless it is the h2h market
+    private static List<OddsLine> readH2hMarket(JsonParser p) throws IOException {
+        String key = null;
+        List<OddsLine> outcomes = new ArrayList<>(3);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("key".equals(field)) {
+                key = text(p, null);
+            } else if ("outcomes".equals(field) && value == JsonToken.START_ARRAY) {
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    String name = "";
+                    double price = 0;
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String f = p.currentName();
+                        JsonToken v = p.nextToken();
+                        if ("name".equals(f)) {
+                            name = text(p, "");
+                        } else if ("price".equals(f) && v.isNumeric()) {
+                            price = p.getDoubleValue();
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                    outcomes.add(new OddsLine(name, price));
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return "h2h".equals(key) ? List.copyOf(outcomes) : null;
+    }
+}
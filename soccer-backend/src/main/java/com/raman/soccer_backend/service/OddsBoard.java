@@ -0,0 +1,31 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.OddsConsensus;
+import com.raman.soccer_backend.model.OddsGame;
+
+import java.util.List;
+import java.util.Map;
+
+// One league's Odds API board as last fetched, indexed by canonical (home, away) team pair, plus the
+// consensus for every game in board order. nameGeneration is the TeamNameResolver index the keys were
+// built with. Immutable; a refresh builds a new board and swaps it in.
+public record OddsBoard(String sportKey,
+                        List<OddsGame> games,
+                        Map<String, Line> byPair,
+                        List<OddsConsensus> consensus,
+                        long nameGeneration,
+                        long fetchedAtMillis) {
+
+    public long ageMillis() {
+        return System.currentTimeMillis() - fetchedAtMillis;
+    }
+
+    public Line find(String pairKey) {
+        return byPair.get(pairKey);
+    }
+
+    // A game plus what we serve for it: the first bookmaker's h2h prices (outcome -> price) and the
+    // all-bookmaker consensus (null if no bookmaker had a full market). Built once per refresh.
+    public record Line(OddsGame game, Map<String, Double> prices, OddsConsensus consensus) {
+    }
+}
@@ -0,0 +1,293 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.BookmakerOdds;
+import com.raman.soccer_backend.model.OddsConsensus;
+import com.raman.soccer_backend.model.OddsGame;
+import com.raman.soccer_backend.model.OddsLine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Odds API boards held in memory, one per league. A league's whole board is fetched in one call and
+// indexed by normalized (home, away) pair, so a lookup is a map read. Boards are refreshed on a schedule
+// for as long as somebody keeps asking about that league; a board nobody has asked about in a while is dropped.
+@Service
+public class OddsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OddsService.class);
+
+    private static final long FAILURE_BACKOFF_MS = 60_000;
+
+    // frontend league key -> Odds API sport key
+    private static final Map<String, String> SPORT_KEYS = Map.of(
+            "premier_league", "soccer_epl",
+            "la_liga", "soccer_spain_la_liga",
+            "serie_a", "soccer_italy_serie_a",
+            "ligue_1", "soccer_france_ligue_one",
+            "bundesliga", "soccer_germany_bundesliga",
+            "uefa_champions_league", "soccer_uefa_champs_league"
+    );
+
+    private final RestClient client;
+    private final String apiKey;
+    private final UpstreamCoalescer coalescer;
+    private final TeamNameResolver names;
+    private final long activeForMs;
+
+    private final Map<String, OddsBoard> boards = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastRequestedMillis = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastFailureMillis = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong creditsUsed = new AtomicLong(-1);
+    private final AtomicLong creditsRemaining = new AtomicLong(-1);
+    private final Counter creditsSpent;
+    private final Counter refreshOk;
+    private final Counter refreshFailed;
+    private final Timer lookupTimer;
+    private final Timer parseTimer;
+    private final Counter consensusComputed;
+    private final Counter consensusReused;
+
+    public OddsService(@Value("${oddsapi.key}") String apiKey,
+                       @Value("${oddsapi.base-url:https://api.the-odds-api.com/v4}") String baseUrl,
+                       UpstreamCoalescer coalescer,
+                       TeamNameResolver names,
+                       UpstreamHttp upstream,
+                       MeterRegistry meters,
+                       @Value("${odds.active-for-ms:21600000}") long activeForMs) {
+        this.client = upstream.restClient("odds-api")
+                .baseUrl(baseUrl)
+                .build();
+        this.apiKey = apiKey;
+        this.coalescer = coalescer;
+        this.names = names;
+        this.activeForMs = activeForMs;
+
+        this.creditsSpent = meters.counter("odds.credits.spent");
+        this.refreshOk = meters.counter("odds.refresh", "outcome", "success");
+        this.refreshFailed = meters.counter("odds.refresh", "outcome", "failure");
+        this.lookupTimer = meters.timer("odds.lookup");
+        this.parseTimer = upstream.parseTimer("odds-api", "odds");
+        this.consensusComputed = meters.counter("odds.consensus.games", "result", "computed");
+        this.consensusReused = meters.counter("odds.consensus.games", "result", "unchanged");
+        Gauge.builder("odds.credits.used", creditsUsed, AtomicLong::get).register(meters);
+        Gauge.builder("odds.credits.remaining", creditsRemaining, AtomicLong::get).register(meters);
+        Gauge.builder("odds.boards", boards, Map::size).register(meters);
+    }
+
+    // Odds API sport key for a frontend league key, or null if we don't cover that league
+    public static String sportKey(String league) {
+        return league == null ? null : SPORT_KEYS.get(league.toLowerCase(Locale.ROOT));
+    }
+
+    // Index key for a fixture: both names resolved to their canonical team keys, so provider spellings
+    // ("Bayern München" / "Bayern Munich") meet in the same slot
+    public String pairKey(String home, String away) {
+        return names.canonical(home) + '|' + names.canonical(away);
+    }
+
+    // Same key for a game on the board; board names are the ones the resolver caches
+    private String boardPairKey(String home, String away) {
+        return names.boardCanonical(home) + '|' + names.boardCanonical(away);
+    }
+
+    // ✅ Odds for one fixture from the in-memory board. Only a cold league goes upstream.
+    public Quote quote(String sportKey, String home, String away) {
+        long start = System.nanoTime();
+        try {
+            OddsBoard board = board(sportKey);
+            if (board == null) {
+                return new Quote(null, null);
+            }
+            return new Quote(board, board.find(pairKey(home, away)));
+        } finally {
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Current board for a league, loading it on first use; null if it has never loaded
+    public OddsBoard board(String sportKey) {
+        lastRequestedMillis.put(sportKey, System.currentTimeMillis());
+        OddsBoard board = boards.get(sportKey);
+        if (board != null) {
+            if (board.nameGeneration() != names.generation()) {
+                // new team names were learned since this board was indexed; re-key it from the games we have
+                board = build(sportKey, board.games(), board, board.fetchedAtMillis());
+                boards.put(sportKey, board);
+            }
+            return board;
+        }
+        Long failedAt = lastFailureMillis.get(sportKey);
+        if (failedAt != null && System.currentTimeMillis() - failedAt < FAILURE_BACKOFF_MS) {
+            return null; // don't hammer the Odds API (or our credits) while it is failing
+        }
+        try {
+            return refresh(sportKey);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Every league somebody asked about recently; the rest are dropped so they stop costing credits
+    @Scheduled(fixedDelayString = "${odds.refresh-ms:900000}", initialDelayString = "${odds.refresh-ms:900000}")
+    public void refreshActive() {
+        long now = System.currentTimeMillis();
+        lastRequestedMillis.entrySet().removeIf(e -> now - e.getValue() >= activeForMs);
+        boards.keySet().retainAll(lastRequestedMillis.keySet());
+        for (String sportKey : lastRequestedMillis.keySet()) {
+            refresher.execute(() -> {
+                try {
+                    refresh(sportKey);
+                } catch (RuntimeException ignored) {
+                    // logged in refresh; the previous board stays
+                }
+            });
+        }
+    }
+
+    private OddsBoard refresh(String sportKey) {
+        return coalescer.execute("odds", sportKey, () -> {
+            try {
+                List<OddsGame> games = fetch(sportKey);
+                OddsBoard board = build(sportKey, games, boards.get(sportKey), System.currentTimeMillis());
+                boards.put(sportKey, board);
+                lastFailureMillis.remove(sportKey);
+                refreshOk.increment();
+                return board;
+            } catch (RuntimeException e) {
+                lastFailureMillis.put(sportKey, System.currentTimeMillis());
+                refreshFailed.increment();
+                log.error("❌ Odds refresh failed for {}: {}", sportKey, e.getMessage());
+                throw e;
+            }
+        });
+    }
+
+    private List<OddsGame> fetch(String sportKey) {
+        String uri = "/sports/" + sportKey + "/odds/?regions=eu&markets=h2h&apiKey=" + apiKey;
+        return client.get()
+                .uri(uri)
+                .attribute(UpstreamHttp.PRIORITY, UpstreamBudget.Priority.NORMAL)
+                .exchange((request, response) -> {
+                    recordCredits(response.getHeaders());
+                    if (response.getStatusCode().isError()) {
+                        throw new RestClientResponseException("Odds API " + sportKey + " returned " + response.getStatusCode(),
+                                response.getStatusCode(), response.getStatusText(), response.getHeaders(), null, null);
+                    }
+                    long start = System.nanoTime();
+                    List<OddsGame> games = OddsApiJsonReader.readGames(response.getBody());
+                    parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return games;
+                });
+    }
+
+    // The Odds API reports quota on every response: total used, remaining, and what this call cost
+    private void recordCredits(HttpHeaders headers) {
+        Long used = longHeader(headers, "x-requests-used");
+        Long remaining = longHeader(headers, "x-requests-remaining");
+        Long last = longHeader(headers, "x-requests-last");
+        if (used != null) {
+            creditsUsed.set(used);
+        }
+        if (remaining != null) {
+            creditsRemaining.set(remaining);
+        }
+        if (last != null) {
+            creditsSpent.increment(last);
+        }
+    }
+
+    private static Long longHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return (long) Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Incremental: a game whose bookmaker prices are unchanged since the previous board keeps its
+    // line (and consensus) as is; only games that moved are re-aggregated
+    private OddsBoard build(String sportKey, List<OddsGame> games, OddsBoard previous, long fetchedAtMillis) {
+        long generation = names.generation();
+        Map<String, OddsBoard.Line> previousById = new HashMap<>();
+        if (previous != null) {
+            for (OddsBoard.Line line : previous.byPair().values()) {
+                previousById.put(line.game().id(), line);
+            }
+        }
+
+        Map<String, OddsBoard.Line> byPair = new HashMap<>(games.size() * 2);
+        List<OddsConsensus> consensus = new ArrayList<>(games.size());
+        int reused = 0;
+        for (OddsGame game : games) {
+            String key = boardPairKey(game.homeTeam(), game.awayTeam());
+            if (byPair.containsKey(key)) {
+                continue;
+            }
+            OddsBoard.Line old = previousById.get(game.id());
+            OddsBoard.Line line;
+            if (old != null && old.game().equals(game)) {
+                line = old;
+                reused++;
+            } else {
+                line = new OddsBoard.Line(game, firstBookmakerPrices(game), OddsAggregator.aggregate(game));
+            }
+            byPair.put(key, line);
+            if (line.consensus() != null) {
+                consensus.add(line.consensus());
+            }
+        }
+        consensusReused.increment(reused);
+        consensusComputed.increment(byPair.size() - reused);
+        return new OddsBoard(sportKey, games, Map.copyOf(byPair), List.copyOf(consensus), generation, fetchedAtMillis);
+    }
+
+    private static Map<String, Double> firstBookmakerPrices(OddsGame game) {
+        if (game.bookmakers().isEmpty()) {
+            return Map.of();
+        }
+        BookmakerOdds first = game.bookmakers().get(0);
+        Map<String, Double> prices = new LinkedHashMap<>();
+        for (OddsLine line : first.outcomes()) {
+            prices.put(line.name(), line.price());
+        }
+        return Collections.unmodifiableMap(prices);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // board is null if the league could not be loaded; line is null if the fixture isn't on the board
+    public record Quote(OddsBoard board, OddsBoard.Line line) {
+    }
+}
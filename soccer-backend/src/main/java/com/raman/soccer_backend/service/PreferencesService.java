@@ -1,85 +1,274 @@
 package com.raman.soccer_backend.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.raman.soccer_backend.model.Pref;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+// Preferences are written behind: savePref/deletePrefs only record the change in a local overlay, keyed by
+// (userId, prefType) so repeated toggles of the same row collapse into the last one. A flush every
+// prefs.write-behind.flush-ms sends everything pending as BatchWriteItem calls of up to 25 rows. getPrefs
+// applies the overlay on top of what DynamoDB returns, so a user always reads their own writes, flushed or not.
+// Reads go through a size-bounded Caffeine cache per user (W-TinyLFU eviction, weighed by rough heap size);
+// a user's entry is dropped whenever they change something, and expires after prefs.cache.ttl-ms regardless.
+// DynamoDB calls are non-blocking (DynamoDbAsyncClient); reads hand back futures the controller returns as is.
 @Service
 public class PreferencesService {
 
-    private final DynamoDbClient dynamoDb;
+    private static final Logger log = LoggerFactory.getLogger(PreferencesService.class);
+
     private static final String TABLE = "UserPreferences"; // your table name
+    private static final int BATCH_SIZE = 25; // BatchWriteItem limit
+
+    private final DynamoDbAsyncClient dynamoDb;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    // Not yet in DynamoDB. An entry is only removed once the exact write it holds has been persisted.
+    private final Map<PrefKey, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final AsyncCache<String, UserPrefs> cache;
 
-    public PreferencesService(DynamoDbClient dynamoDb) {
+    private final Counter rowsWritten;
+    private final Counter batchCalls;
+    private final Counter unprocessedRetries;
+    private final Counter flushFailures;
+
+    public PreferencesService(DynamoDbAsyncClient dynamoDb,
+                              MeterRegistry meters,
+                              @Value("${prefs.write-behind.max-attempts:5}") int maxAttempts,
+                              @Value("${prefs.write-behind.backoff-ms:50}") long backoffMs,
+                              @Value("${prefs.cache.max-weight-bytes:16777216}") long cacheMaxWeightBytes,
+                              @Value("${prefs.cache.ttl-ms:3600000}") long cacheTtlMs) {
         this.dynamoDb = dynamoDb;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxWeightBytes)
+                .weigher((String userId, UserPrefs prefs) -> userId.length() * 2 + prefs.weight())
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meters, cache, "prefs.cache");
+
+        this.rowsWritten = meters.counter("prefs.write-behind.rows");
+        this.batchCalls = meters.counter("prefs.write-behind.batches");
+        this.unprocessedRetries = meters.counter("prefs.write-behind.unprocessed.retries");
+        this.flushFailures = meters.counter("prefs.write-behind.flush.failures");
+        Gauge.builder("prefs.write-behind.pending", pending, Map::size).register(meters);
     }
 
-    // Get all prefs for a user
-    public List<Map<String, String>> getPrefs(String userId) {
-        QueryRequest request = QueryRequest.builder()
-                .tableName(TABLE)
-                .keyConditionExpression("userId = :uid")
-                .expressionAttributeValues(Map.of(
-                        ":uid", AttributeValue.builder().s(userId).build()
-                ))
-                .build();
+    // ✅ Get all prefs for a user, from the cache or loaded on a miss (concurrent misses share one Query)
+    public CompletableFuture<UserPrefs> getPrefs(String userId) {
+        return cache.get(userId, (id, executor) -> queryUser(id).thenApply(items -> merge(id, items)));
+    }
 
-        QueryResponse response = dynamoDb.query(request);
+    // What DynamoDB has, with the writes still pending applied on top
+    private UserPrefs merge(String userId, List<Map<String, AttributeValue>> items) {
+        Map<String, String> byType = new TreeMap<>();
+        for (Map<String, AttributeValue> item : items) {
+            byType.put(item.get("prefType").s(), item.get("valueName").s());
+        }
+        for (Map.Entry<PrefKey, PendingWrite> e : pending.entrySet()) {
+            if (!e.getKey().userId().equals(userId)) {
+                continue;
+            }
+            String valueName = e.getValue().valueName();
+            if (valueName == null) {
+                byType.remove(e.getKey().prefType());
+            } else {
+                byType.put(e.getKey().prefType(), valueName);
+            }
+        }
 
-        List<Map<String, String>> prefs = new ArrayList<>();
-        for (Map<String, AttributeValue> item : response.items()) {
-            Map<String, String> pref = new HashMap<>();
-            pref.put("prefType", item.get("prefType").s());
-            pref.put("valueName", item.get("valueName").s());
-            prefs.add(pref);
+        List<Pref> prefs = new ArrayList<>(byType.size());
+        for (Map.Entry<String, String> e : byType.entrySet()) {
+            prefs.add(new Pref(e.getKey(), e.getValue()));
         }
-        return prefs;
+        return UserPrefs.of(prefs);
     }
 
-    // Save or overwrite a pref
+    // Save or overwrite a pref (written on the next flush)
     public void savePref(String userId, String prefType, String valueName) {
-        Map<String, AttributeValue> item = new HashMap<>();
-        item.put("userId", AttributeValue.builder().s(userId).build());
-        item.put("prefType", AttributeValue.builder().s(prefType).build());
-        item.put("valueName", AttributeValue.builder().s(valueName).build());
+        pending.put(new PrefKey(userId, prefType), new PendingWrite(valueName));
+        // after the overlay write: a load racing this one either sees it or is waited for and then dropped
+        cache.synchronous().invalidate(userId);
+    }
 
-        PutItemRequest request = PutItemRequest.builder()
-                .tableName(TABLE)
-                .item(item)
-                .build();
+    // Delete all prefs for a user (TEAM + LEAGUE rows): one Query to find the stored rows, then a
+    // delete per row (and per unflushed one) goes into the same batched flush as everything else
+    public CompletableFuture<Void> deletePrefs(String userId) {
+        return queryUser(userId).thenAccept(items -> {
+            Set<String> prefTypes = new HashSet<>();
+            for (Map<String, AttributeValue> item : items) {
+                prefTypes.add(item.get("prefType").s());
+            }
+            for (PrefKey key : pending.keySet()) {
+                if (key.userId().equals(userId)) {
+                    prefTypes.add(key.prefType());
+                }
+            }
+            for (String prefType : prefTypes) {
+                pending.put(new PrefKey(userId, prefType), PendingWrite.DELETE);
+            }
+            cache.synchronous().invalidate(userId);
+        });
+    }
 
-        dynamoDb.putItem(request);
+    // ✅ Sends everything pending in batches of 25; rows that fail stay pending for the next flush.
+    // Runs on a (virtual) scheduler thread, so it simply waits for each batch.
+    @Scheduled(fixedDelayString = "${prefs.write-behind.flush-ms:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<PrefKey, PendingWrite>> batch = new ArrayList<>(BATCH_SIZE);
+        for (Map.Entry<PrefKey, PendingWrite> e : pending.entrySet()) {
+            batch.add(Map.entry(e.getKey(), e.getValue()));
+            if (batch.size() == BATCH_SIZE) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
     }
 
-    // Delete all prefs for a user (TEAM + LEAGUE rows)
-    public void deletePrefs(String userId) {
-        // Query all prefTypes for this user
-        QueryRequest query = QueryRequest.builder()
+    private void writeBatch(List<Map.Entry<PrefKey, PendingWrite>> batch) {
+        List<WriteRequest> requests = new ArrayList<>(batch.size());
+        for (Map.Entry<PrefKey, PendingWrite> e : batch) {
+            requests.add(toRequest(e.getKey(), e.getValue()));
+        }
+
+        try {
+            // DynamoDB may accept only part of a batch under throttling; resend the rest with backoff
+            for (int attempt = 1; !requests.isEmpty(); attempt++) {
+                BatchWriteItemResponse response = dynamoDb.batchWriteItem(BatchWriteItemRequest.builder()
+                        .requestItems(Map.of(TABLE, requests))
+                        .build()).join();
+                batchCalls.increment();
+                List<WriteRequest> unprocessed = response.unprocessedItems().getOrDefault(TABLE, List.of());
+                if (unprocessed.isEmpty()) {
+                    requests = List.of();
+                    break;
+                }
+                if (attempt >= maxAttempts) {
+                    requests = unprocessed;
+                    break;
+                }
+                unprocessedRetries.increment();
+                requests = unprocessed;
+                sleepBackoff(attempt);
+            }
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            log.error("❌ Prefs flush failed, {} writes stay pending: {}", batch.size(), e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        Set<PrefKey> stillPending = new HashSet<>();
+        for (WriteRequest request : requests) {
+            stillPending.add(keyOf(request));
+        }
+        if (!stillPending.isEmpty()) {
+            flushFailures.increment();
+            log.warn("⚠️ Prefs flush: {} writes unprocessed after {} attempts, retrying next flush", stillPending.size(), maxAttempts);
+        }
+        for (Map.Entry<PrefKey, PendingWrite> e : batch) {
+            if (!stillPending.contains(e.getKey())) {
+                // only if nobody changed the row again while we were writing it
+                if (pending.remove(e.getKey(), e.getValue())) {
+                    // a load that queried before this write landed would merge without the overlay entry and
+                    // cache the old value; drop it so the next read queries again
+                    cache.synchronous().invalidate(e.getKey().userId());
+                }
+                rowsWritten.increment();
+            }
+        }
+    }
+
+    // Exponential with full jitter: 0..backoffMs * 2^(attempt-1)
+    private void sleepBackoff(int attempt) throws InterruptedException {
+        long cap = backoffMs << Math.min(attempt - 1, 10);
+        TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    private CompletableFuture<List<Map<String, AttributeValue>>> queryUser(String userId) {
+        QueryRequest request = QueryRequest.builder()
                 .tableName(TABLE)
                 .keyConditionExpression("userId = :uid")
                 .expressionAttributeValues(Map.of(
                         ":uid", AttributeValue.builder().s(userId).build()
                 ))
+                // once a write leaves the overlay, an eventually consistent read could still miss it
+                .consistentRead(true)
                 .build();
+        return dynamoDb.query(request).thenApply(QueryResponse::items);
+    }
 
-        QueryResponse response = dynamoDb.query(query);
+    private static WriteRequest toRequest(PrefKey key, PendingWrite write) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("userId", AttributeValue.builder().s(key.userId()).build());
+        item.put("prefType", AttributeValue.builder().s(key.prefType()).build());
+        if (write.valueName() == null) {
+            return WriteRequest.builder().deleteRequest(DeleteRequest.builder().key(item).build()).build();
+        }
+        item.put("valueName", AttributeValue.builder().s(write.valueName()).build());
+        return WriteRequest.builder().putRequest(PutRequest.builder().item(item).build()).build();
+    }
 
-        // Delete each (userId, prefType) pair
-        for (Map<String, AttributeValue> item : response.items()) {
-            String prefType = item.get("prefType").s();
+    private static PrefKey keyOf(WriteRequest request) {
+        Map<String, AttributeValue> item = request.putRequest() != null
+                ? request.putRequest().item()
+                : request.deleteRequest().key();
+        return new PrefKey(item.get("userId").s(), item.get("prefType").s());
+    }
 
-            Map<String, AttributeValue> key = new HashMap<>();
-            key.put("userId", AttributeValue.builder().s(userId).build());
-            key.put("prefType", AttributeValue.builder().s(prefType).build());
+    // Nothing acknowledged to a user is lost on a clean shutdown
+    @PreDestroy
+    void shutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.error("❌ Shutting down with {} unflushed preference writes", pending.size());
+        }
+    }
 
-            DeleteItemRequest delete = DeleteItemRequest.builder()
-                    .tableName(TABLE)
-                    .key(key)
-                    .build();
+    private record PrefKey(String userId, String prefType) {
+    }
+
+    // valueName null = delete. Compared by identity when clearing the overlay, so it's a class, not a record.
+    private static final class PendingWrite {
+        static final PendingWrite DELETE = new PendingWrite(null);
+
+        private final String valueName;
+
+        PendingWrite(String valueName) {
+            this.valueName = valueName;
+        }
 
-            dynamoDb.deleteItem(delete);
+        String valueName() {
+            return valueName;
         }
     }
 }
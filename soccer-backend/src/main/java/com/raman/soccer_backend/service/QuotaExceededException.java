@@ -0,0 +1,10 @@
+package com.raman.soccer_backend.service;
+
+// Thrown instead of calling upstream when the request budget has no room for a call of this priority.
+// Callers treat it like any upstream failure, which means serving their last cached copy.
+public class QuotaExceededException extends RuntimeException {
+
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,282 +1,137 @@
 package com.raman.soccer_backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchEvent;
+import com.raman.soccer_backend.model.Standing;
+import com.raman.soccer_backend.service.UpstreamBudget.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class ScoresService {
 
-    private final RestClient client;
-    
+    private static final Logger log = LoggerFactory.getLogger(ScoresService.class);
 
-    public ScoresService(@Value("${apifootball.key:}") String apiKey) {
-        System.out.println("🔑 Loaded API key (length): " + (apiKey == null ? "null" : apiKey.length()));
-        System.out.println(apiKey);
-        this.client = RestClient.builder()
-                .baseUrl("https://v3.football.api-sports.io")
+    private final RestClient client;
+    private final UpstreamCoalescer coalescer;
+    private final UpstreamHttp upstream;
+
+    public ScoresService(@Value("${apifootball.key:}") String apiKey,
+                         @Value("${apifootball.base-url:https://v3.football.api-sports.io}") String baseUrl,
+                         UpstreamCoalescer coalescer, UpstreamHttp upstream) {
+        log.info("🔑 Loaded API key (length): {}", apiKey == null ? "null" : apiKey.length());
+        this.client = upstream.restClient("api-sports")
+                .baseUrl(baseUrl)
                 .defaultHeader("x-apisports-key", apiKey)
                 .build();
+        this.coalescer = coalescer;
+        this.upstream = upstream;
     }
 
-    // ✅ Fetch all matches for today
-public List<Map<String, Object>> getTodayMatches() {
-    String today = LocalDate.now().toString();  // ✅ Correct
-    System.out.println("🕒 getTodayMatches() using date = " + today);
-
-
-    try {
-        JsonNode root = client.get()
-                .uri("/fixtures?date=" + today + "&timezone=UTC")
-                .retrieve()
-                .body(JsonNode.class);
-        System.out.println("📥 Raw API response:\n" + root.toPrettyString());
+    // ✅ Fetch all matches for a date (yyyy-MM-dd). Throws on upstream failure so the
+    // snapshot cache can keep serving the last good copy instead of an empty list.
+    public List<Fixture> getMatchesForDate(String date) {
+        return fetchMatchesForDate(date, Priority.CRITICAL);
+    }
 
-        List<Map<String, Object>> matches = new ArrayList<>();
-        for (JsonNode m : root.path("response")) {
-            matches.add(parseMatch(m));
-        }
-        return matches;
+    // Same at a chosen budget priority (the archive backfill asks for past days at LOW)
+    public List<Fixture> fetchMatchesForDate(String date, Priority priority) {
+        log.debug("🕒 getMatchesForDate() using date = {}", date);
+        String uri = "/fixtures?date=" + date + "&timezone=UTC";
 
-    } catch (Exception e) {
-        System.err.println("❌ Error fetching matches: " + e.getMessage());
-        e.printStackTrace();
-        return Collections.emptyList();
+        return coalescer.execute("fixtures", uri, () -> read("fixtures", uri, priority, ApiSportsJsonReader::readFixtures));
     }
-}
 
 
     // ✅ Fetch a single match directly by ID
-    public Map<String, Object> getMatchById(String matchId) {
+    public Fixture getMatchById(String matchId) {
+        String uri = "/fixtures?id=" + matchId;
         try {
-            JsonNode root = client.get()
-                    .uri("/fixtures?id=" + matchId)
-                    .retrieve()
-                    .body(JsonNode.class);
-
-            JsonNode arr = root.path("response");
-            if (arr.isArray() && arr.size() > 0) {
-                return parseMatch(arr.get(0));
-            }
-            return null;
+            List<Fixture> found = coalescer.execute("fixture", uri, () -> read("fixture", uri, Priority.HIGH, ApiSportsJsonReader::readFixtures));
+            return found.isEmpty() ? null : found.get(0);
 
         } catch (Exception e) {
-            System.err.println("❌ Error fetching match by ID: " + e.getMessage());
-            e.printStackTrace();
+            // a budget denial is routine pacing, not a failure worth a stack trace
+            if (e instanceof QuotaExceededException) {
+                log.warn("⚠️ Skipped fetching match by ID: {}", e.getMessage());
+            } else {
+                log.error("❌ Error fetching match by ID: {}", e.getMessage(), e);
+            }
             return null;
         }
     }
 
     // ✅ Fetch timeline / events for a match
-    public List<Map<String, Object>> getMatchEvents(String matchId) {
+    public List<MatchEvent> getMatchEvents(String matchId) {
         try {
-            JsonNode root = client.get()
-                    .uri("/fixtures/events?fixture=" + matchId)
-                    .retrieve()
-                    .body(JsonNode.class);
-
-            List<Map<String, Object>> events = new ArrayList<>();
-            for (JsonNode ev : root.path("response")) {
-                Map<String, Object> event = new HashMap<>();
-                event.put("minute", ev.path("time").path("elapsed").asInt(0));
-                event.put("extra", ev.path("time").path("extra").isInt() ? ev.path("time").path("extra").asInt() : null);
-                event.put("type", ev.path("type").asText());
-                event.put("detail", ev.path("detail").asText());
-                event.put("player", ev.path("player").path("name").asText());
-                event.put("team", ev.path("team").path("name").asText());
-                events.add(event);
-            }
-            return events;
-
+            return fetchMatchEvents(matchId);
         } catch (Exception e) {
-            System.err.println("❌ Error fetching match events: " + e.getMessage());
-            e.printStackTrace();
+            if (e instanceof QuotaExceededException) {
+                log.warn("⚠️ Skipped fetching match events: {}", e.getMessage());
+            } else {
+                log.error("❌ Error fetching match events: {}", e.getMessage(), e);
+            }
             return Collections.emptyList();
         }
     }
-    // Odds API integration
-public List<Map<String, Object>> getOdds(String league) {
-    String apiKey = "95ff0c69ac2576ece2cd9683806a6225"; // dummy key for now
-    String url = "https://api.the-odds-api.com/v4/sports/" 
-                 + league 
-                 + "/odds/?regions=us&markets=h2h&apiKey=" 
-                 + apiKey;
 
-    try {
-        RestClient oddsClient = RestClient.create();
-        System.out.println("🧠 Using key prefix: " + apiKey.substring(0, 8));
-        JsonNode root = oddsClient.get()
-                .uri(url)
-                .retrieve()
-                .body(JsonNode.class);
-
-        List<Map<String, Object>> results = new ArrayList<>();
-        if (root.isArray()) {
-            for (JsonNode game : root) {
-                Map<String, Object> matchOdds = new HashMap<>();
-                matchOdds.put("id", game.path("id").asText());
-                matchOdds.put("sport", game.path("sport_key").asText());
-                matchOdds.put("home_team", game.path("home_team").asText());
-                matchOdds.put("away_team", game.path("away_team").asText());
+    // Same as getMatchEvents but lets upstream errors through (the timeline must not mistake them for "no events")
+    public List<MatchEvent> fetchMatchEvents(String matchId) {
+        String uri = "/fixtures/events?fixture=" + matchId;
+        return coalescer.execute("events", uri, () -> read("events", uri, Priority.HIGH, ApiSportsJsonReader::readEvents));
+    }
 
-                // Grab first bookmaker’s odds if available
-                JsonNode bookmaker = game.path("bookmakers").isArray() && game.path("bookmakers").size() > 0
-                        ? game.path("bookmakers").get(0)
-                        : null;
-                if (bookmaker != null) {
-                    JsonNode markets = bookmaker.path("markets").get(0).path("outcomes");
-                    List<Map<String, Object>> oddsList = new ArrayList<>();
-                    for (JsonNode outcome : markets) {
-                        Map<String, Object> o = new HashMap<>();
-                        o.put("name", outcome.path("name").asText());
-                        o.put("price", outcome.path("price").asDouble());
-                        oddsList.add(o);
+    // Streams the response body straight into a token reader; no JsonNode tree in between.
+    // Charged to the request budget at the given priority, per attempt (QuotaExceededException if there's no room).
+    // Body download + parse time goes to upstream.parse{provider=api-sports, endpoint}.
+    private <T> T read(String endpoint, String uri, Priority priority, BodyReader<T> reader) {
+        return client.get()
+                .uri(uri)
+                .attribute(UpstreamHttp.PRIORITY, priority)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new RestClientResponseException("api-sports " + uri + " returned " + response.getStatusCode(),
+                                response.getStatusCode(), response.getStatusText(), response.getHeaders(), null, null);
                     }
-                    matchOdds.put("odds", oddsList);
-                }
-
-                results.add(matchOdds);
-            }
-        }
-
-        return results;
-
-    } catch (Exception e) {
-        System.err.println("❌ Error fetching odds: " + e.getMessage());
-        e.printStackTrace();
-        return Collections.emptyList();
+                    long start = System.nanoTime();
+                    T result = reader.read(response.getBody());
+                    upstream.parseTimer("api-sports", endpoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return result;
+                });
     }
-}
-
-
-    // ✅ Helper to parse one match JSON into a Map
-// ✅ Helper to parse one match JSON into a Map
-private Map<String, Object> parseMatch(JsonNode m) {
-    Map<String, Object> match = new HashMap<>();
-    match.put("id", m.path("fixture").path("id").asText());
-    match.put("league", m.path("league").path("name").asText());
-    match.put("kickoffIso", m.path("fixture").path("date").asText());
-
-    match.put("leagueId", m.path("league").path("id").asInt());
-    match.put("season", m.path("league").path("season").asInt());
-    match.put("homeId", m.path("teams").path("home").path("id").asInt());
-    match.put("awayId", m.path("teams").path("away").path("id").asInt());
-
-    Map<String, Object> home = new HashMap<>();
-    home.put("name", m.path("teams").path("home").path("name").asText());
-    home.put("logo", m.path("teams").path("home").path("logo").asText(null));
-    home.put("score", m.path("goals").path("home").isInt()
-            ? m.path("goals").path("home").asInt()
-            : null);
-
-    Map<String, Object> away = new HashMap<>();
-    away.put("name", m.path("teams").path("away").path("name").asText());
-    away.put("logo", m.path("teams").path("away").path("logo").asText(null));
-    away.put("score", m.path("goals").path("away").isInt()
-            ? m.path("goals").path("away").asInt()
-            : null);
-
-    match.put("home", home);
-    match.put("away", away);
 
-    // ✅ NEW: add status info (phase + elapsed time)
-    Map<String, Object> status = new HashMap<>();
-    status.put("phase", m.path("fixture").path("status").path("short").asText()); // e.g. "1H", "HT", "FT"
-    status.put("long", m.path("fixture").path("status").path("long").asText());   // e.g. "First Half"
-    status.put("elapsed", m.path("fixture").path("status").path("elapsed").isInt()
-            ? m.path("fixture").path("status").path("elapsed").asInt()
-            : null);
-    match.put("status", status);
-
-    return match;
-}
-
-
-    // ✅ Get last N matches for a team (recent form)
-    public List<String> getRecentForm(int teamId, int lastN) {
-        try {
-            JsonNode root = client.get()
-                    .uri("/fixtures?team=" + teamId + "&last=" + lastN)
-                    .retrieve()
-                    .body(JsonNode.class);
-
-            List<String> form = new ArrayList<>();
-            for (JsonNode f : root.path("response")) {
-                String result;
-                int homeGoals = f.path("goals").path("home").asInt();
-                int awayGoals = f.path("goals").path("away").asInt();
-                boolean isHome = f.path("teams").path("home").path("id").asInt() == teamId;
-
-                if (homeGoals == awayGoals) {
-                    result = "D"; // draw
-                } else if ((isHome && homeGoals > awayGoals) || (!isHome && awayGoals > homeGoals)) {
-                    result = "W"; // win
-                } else {
-                    result = "L"; // loss
-                }
-
-                form.add(result);
-            }
-            return form;
-
-        } catch (Exception e) {
-            System.err.println("❌ Error fetching recent form: " + e.getMessage());
-            e.printStackTrace();
-            return Collections.emptyList();
-        }
+    @FunctionalInterface
+    interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
     }
 
-    // ✅ Get current league standings
-    public Map<String, Object> getTeamStanding(int leagueId, int season, int teamId) {
-        try {
-            JsonNode root = client.get()
-                    .uri("/standings?league=" + leagueId + "&season=" + season)
-                    .retrieve()
-                    .body(JsonNode.class);
-
-            for (JsonNode league : root.path("response")) {
-                JsonNode table = league.path("league").path("standings").get(0); // usually array of arrays
-                for (JsonNode row : table) {
-                    if (row.path("team").path("id").asInt() == teamId) {
-                        Map<String, Object> standing = new HashMap<>();
-                        standing.put("rank", row.path("rank").asInt());
-                        standing.put("points", row.path("points").asInt());
-                        standing.put("played", row.path("all").path("played").asInt());
-                        return standing;
-                    }
-                }
-            }
-            return null;
 
-        } catch (Exception e) {
-            System.err.println("❌ Error fetching standings: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
+    // ✅ Last N played matches for a team (recent form). Throws on upstream failure; MatchArchive decides
+    // what to fall back on and archives what comes back.
+    public List<Fixture> fetchLastMatches(int teamId, int lastN) {
+        String uri = "/fixtures?team=" + teamId + "&last=" + lastN;
+        return coalescer.execute("form", uri, () -> read("form", uri, Priority.LOW, ApiSportsJsonReader::readFixtures));
     }
 
-    // ✅ Fetch head-to-head results between two teams
-    public List<Map<String, Object>> getHeadToHead(int homeId, int awayId, int last) {
-        try {
-            JsonNode root = client.get()
-                    .uri("/fixtures/headtohead?h2h=" + homeId + "-" + awayId + "&last=" + last)
-                    .retrieve()
-                    .body(JsonNode.class);
-
-            List<Map<String, Object>> matches = new ArrayList<>();
-            for (JsonNode m : root.path("response")) {
-                matches.add(parseMatch(m));
-            }
-            return matches;
+    // ✅ Full league table (every group). Throws on upstream failure so the standings cache keeps its last copy;
+    // single-team lookups go through StandingsService instead of downloading the table each time.
+    public List<Standing> fetchStandings(int leagueId, int season) {
+        String uri = "/standings?league=" + leagueId + "&season=" + season;
+        return coalescer.execute("standings", uri, () -> read("standings", uri, Priority.NORMAL, ApiSportsJsonReader::readStandings));
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ Error fetching head-to-head: " + e.getMessage());
-            e.printStackTrace();
-            return Collections.emptyList();
-        }
+    // ✅ Last N meetings of two teams. Throws on upstream failure, like fetchLastMatches
+    public List<Fixture> fetchHeadToHead(int homeId, int awayId, int last) {
+        String uri = "/fixtures/headtohead?h2h=" + homeId + "-" + awayId + "&last=" + last;
+        return coalescer.execute("h2h", uri, () -> read("h2h", uri, Priority.LOW, ApiSportsJsonReader::readFixtures));
     }
 }
@@ -0,0 +1,189 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.Standing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// League tables kept in memory per (leagueId, season). The tracked leagues are loaded up front and
+// refreshed on a schedule, and a table is refreshed as soon as one of its fixtures goes to full time,
+// so team lookups are a memory read instead of downloading and scanning the whole table.
+// Any other table is loaded when someone asks for it, reloaded on request once it is older than the
+// refresh interval, and dropped once nobody has asked for it for a while; it is never refreshed on its own.
+@Service
+public class StandingsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingsService.class);
+
+    private final ScoresService scores;
+    private final Set<Integer> trackedLeagues;
+    private final long refreshMs;
+    private final long idleMs;
+    private final int maxOnDemand;
+
+    private final Map<Long, StandingsTable> tables = new ConcurrentHashMap<>();
+    // on-demand (untracked) tables only: when somebody last asked for each
+    private final Map<Long, Long> lastRequested = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshOk;
+    private final Counter refreshFailed;
+
+    public StandingsService(ScoresService scores,
+                            MeterRegistry meters,
+                            @Value("${standings.leagues:39,140,135,78,61}") Set<Integer> trackedLeagues,
+                            @Value("${standings.refresh-ms:3600000}") long refreshMs,
+                            @Value("${standings.on-demand.idle-ms:21600000}") long idleMs,
+                            @Value("${standings.on-demand.max-tables:64}") int maxOnDemand) {
+        this.scores = scores;
+        this.trackedLeagues = Set.copyOf(trackedLeagues);
+        this.refreshMs = refreshMs;
+        this.idleMs = idleMs;
+        this.maxOnDemand = maxOnDemand;
+
+        this.hits = meters.counter("standings.lookups", "result", "hit");
+        this.misses = meters.counter("standings.lookups", "result", "miss");
+        this.refreshOk = meters.counter("standings.refresh", "outcome", "success");
+        this.refreshFailed = meters.counter("standings.refresh", "outcome", "failure");
+    }
+
+    // European seasons are named after the year they start in (Aug 2025 - May 2026 is 2025)
+    public static int currentSeason() {
+        LocalDate today = LocalDate.now();
+        return today.getMonthValue() >= 7 ? today.getYear() : today.getYear() - 1;
+    }
+
+    // ✅ Whole table; loaded on first use for leagues we don't track. null only if it has never loaded.
+    public StandingsTable table(int leagueId, int season) {
+        long key = key(leagueId, season);
+        boolean tracked = isTracked(key);
+        long now = System.currentTimeMillis();
+        if (!tracked) {
+            lastRequested.put(key, now);
+        }
+        StandingsTable table = tables.get(key);
+        if (table != null && (tracked || now - table.fetchedAtMillis() < refreshMs)) {
+            hits.increment();
+            return table;
+        }
+        misses.increment();
+        table = refresh(leagueId, season);
+        if (!tracked) {
+            evictOnDemand(now);
+        }
+        return table;
+    }
+
+    // ✅ One team's rank/points/played (null if the team isn't in that table)
+    public Standing standing(int leagueId, int season, int teamId) {
+        StandingsTable table = table(leagueId, season);
+        return table == null ? null : table.find(teamId);
+    }
+
+    // Tracked leagues for the current season only; on-demand tables nobody asked for lately are dropped
+    @Scheduled(fixedDelayString = "${standings.refresh-ms:3600000}")
+    public void refreshAll() {
+        int season = currentSeason();
+        for (int leagueId : trackedLeagues) {
+            refresher.execute(() -> refresh(leagueId, season));
+        }
+        evictOnDemand(System.currentTimeMillis());
+    }
+
+    // Drops on-demand tables idle for longer than idleMs, then the least recently requested ones while
+    // there are more than maxOnDemand. Also catches a tracked league's table once its season is over.
+    private void evictOnDemand(long now) {
+        lastRequested.entrySet().removeIf(e -> now - e.getValue() > idleMs);
+        if (lastRequested.size() > maxOnDemand) {
+            lastRequested.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(lastRequested.size() - maxOnDemand)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(lastRequested::remove);
+        }
+        tables.keySet().removeIf(key -> !isTracked(key) && !lastRequested.containsKey(key));
+    }
+
+    private boolean isTracked(long key) {
+        return trackedLeagues.contains(leagueOf(key)) && seasonOf(key) == currentSeason();
+    }
+
+    // A result just came in: the table has changed for that league
+    @EventListener
+    public void onSnapshotRefreshed(FixtureSnapshotRefreshedEvent e) {
+        if (e.previous() == null) {
+            return;
+        }
+        Set<Long> due = new HashSet<>();
+        for (Fixture f : e.current().fixtures()) {
+            if (!f.status().isFinished()) {
+                continue;
+            }
+            Fixture old = e.previous().fixture(f.id());
+            if (old == null || old.status().isFinished()) {
+                continue;
+            }
+            long key = key(f.leagueId(), f.season());
+            if (isTracked(key)) {
+                due.add(key);
+            }
+        }
+        for (long key : due) {
+            refresher.execute(() -> refresh(leagueOf(key), seasonOf(key)));
+        }
+    }
+
+    // Concurrent refreshes of the same table share one upstream call (ScoresService coalesces them).
+    // On failure the previous table stays in place.
+    private StandingsTable refresh(int leagueId, int season) {
+        long key = key(leagueId, season);
+        try {
+            // empty for cups and seasons that haven't started; cached too so they don't miss every time
+            List<Standing> rows = scores.fetchStandings(leagueId, season);
+            StandingsTable table = new StandingsTable(leagueId, season, rows, System.currentTimeMillis());
+            tables.put(key, table);
+            refreshOk.increment();
+            return table;
+        } catch (RuntimeException e) {
+            refreshFailed.increment();
+            log.error("❌ Standings refresh failed for league {} season {}: {}", leagueId, season, e.getMessage());
+            return tables.get(key);
+        }
+    }
+
+    private static long key(int leagueId, int season) {
+        return ((long) leagueId << 32) | (season & 0xFFFFFFFFL);
+    }
+
+    private static int leagueOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int seasonOf(long key) {
+        return (int) key;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,99 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Standing;
+
+import java.util.List;
+
+// One league table, indexed by team id. The index is an open-addressing int map (linear probing,
+// power-of-two capacity, team id 0 = empty slot) over parallel int arrays, so a lookup is a couple
+// of array reads with no boxing and no per-entry objects. Immutable once built.
+public final class StandingsTable {
+
+    private final int leagueId;
+    private final int season;
+    private final List<Standing> rows;
+    private final long fetchedAtMillis;
+
+    private final int mask;
+    private final int[] teamIds;
+    private final int[] ranks;
+    private final int[] points;
+    private final int[] played;
+
+    public StandingsTable(int leagueId, int season, List<Standing> rows, long fetchedAtMillis) {
+        this.leagueId = leagueId;
+        this.season = season;
+        this.rows = List.copyOf(rows);
+        this.fetchedAtMillis = fetchedAtMillis;
+
+        // keep the load factor at or below 0.5 so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(rows.size(), 1) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.teamIds = new int[capacity];
+        this.ranks = new int[capacity];
+        this.points = new int[capacity];
+        this.played = new int[capacity];
+
+        for (Standing row : rows) {
+            if (row.teamId() == 0) {
+                continue;
+            }
+            int slot = slot(row.teamId());
+            if (teamIds[slot] == row.teamId()) {
+                continue; // same team in two groups: keep the first row, like the old linear scan
+            }
+            teamIds[slot] = row.teamId();
+            ranks[slot] = row.rank();
+            points[slot] = row.points();
+            played[slot] = row.played();
+        }
+    }
+
+    public int leagueId() {
+        return leagueId;
+    }
+
+    public int season() {
+        return season;
+    }
+
+    // Whole table in upstream order (group by group)
+    public List<Standing> rows() {
+        return rows;
+    }
+
+    public long fetchedAtMillis() {
+        return fetchedAtMillis;
+    }
+
+    public boolean contains(int teamId) {
+        return teamId != 0 && teamIds[slot(teamId)] == teamId;
+    }
+
+    // Rank/points/played for a team, or null if it isn't in this table
+    public Standing find(int teamId) {
+        if (teamId == 0) {
+            return null;
+        }
+        int slot = slot(teamId);
+        if (teamIds[slot] != teamId) {
+            return null;
+        }
+        return new Standing(teamId, ranks[slot], points[slot], played[slot]);
+    }
+
+    // Slot holding teamId, or the empty slot where it would go
+    private int slot(int teamId) {
+        int i = mix(teamId) & mask;
+        while (teamIds[i] != 0 && teamIds[i] != teamId) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // api-sports team ids are clustered; spread them before masking
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,356 @@
+package com.raman.soccer_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.raman.soccer_backend.model.Fixture;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Maps a team name from any provider to one canonical key, so the same club spelled differently by
+// api-sports and the Odds API ("Bayern München" / "Bayern Munich", "Man Utd" / "Manchester United FC")
+// joins with a hash lookup. Canonical keys are api-sports team ids ("id:33") for every team we have seen in
+// a fixture snapshot; the index of their name variants (accent-folded, noise tokens dropped, plus the alias
+// table) is rebuilt whenever new teams show up. Names with no exact hit get a trigram fuzzy match, then a
+// unique token-containment match ("Tottenham" / "Tottenham Hotspur").
+// Names from provider boards are cached per raw name (bounded) and, if they can't be resolved, logged once
+// for the alias table. Names from clients are looked up in that cache but never added to it or logged.
+@Component
+public class TeamNameResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamNameResolver.class);
+
+    // Spelling differences folding can't fix. Both sides are the same club. (add more as needed)
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("Athletic Club", "Athletic Bilbao"),
+            Map.entry("PSG", "Paris Saint Germain"),
+            Map.entry("Qarabag", "Qarabag FK"),
+            Map.entry("Man City", "Manchester City"),
+            Map.entry("Man Utd", "Manchester United"),
+            Map.entry("Inter Milan", "Internazionale"),
+            Map.entry("Inter", "Internazionale"),
+            Map.entry("Sporting CP", "Sporting Lisbon"),
+            Map.entry("Monaco", "AS Monaco"),
+            Map.entry("Newcastle", "Newcastle United"),
+            Map.entry("Union St. Gilloise", "Union Saint-Gilloise"),
+            Map.entry("Wolves", "Wolverhampton Wanderers")
+    );
+
+    // Club-type words that one provider writes and the other doesn't
+    private static final Set<String> NOISE = Set.of(
+            "fc", "cf", "afc", "sc", "ac", "as", "cd", "ud", "fk", "sk", "bk", "sv", "ssc", "club", "calcio", "the");
+
+    private static final Map<String, String> TOKEN_SYNONYMS = Map.of(
+            "utd", "united",
+            "st", "saint",
+            "munchen", "munich");
+
+    // Fuzzy matches need to be both close and clearly better than the runner-up
+    // ("Manchester City" vs "Manchester United" share most trigrams)
+    private static final double MIN_SIMILARITY = 0.75;
+    private static final double MIN_MARGIN = 0.1;
+
+    // a few hundred board names per league; the bound only matters if something feeds it junk
+    private static final int CACHE_SIZE = 20_000;
+
+    private final Map<Integer, String> knownTeams = new ConcurrentHashMap<>();
+    private final Cache<String, String> cache = Caffeine.newBuilder().maximumSize(CACHE_SIZE).build();
+    private final Cache<String, Boolean> reported = Caffeine.newBuilder().maximumSize(CACHE_SIZE).build();
+    private volatile Index index = Index.build(Map.of());
+
+    private final Counter exact;
+    private final Counter fuzzy;
+    private final Counter misses;
+
+    public TeamNameResolver(MeterRegistry meters) {
+        this.exact = meters.counter("teams.resolve", "result", "exact");
+        this.fuzzy = meters.counter("teams.resolve", "result", "fuzzy");
+        this.misses = meters.counter("teams.resolve", "result", "miss");
+    }
+
+    // ✅ Canonical key for a team name: "id:<api-sports id>" when resolved, else the folded name
+    // (so two unknown names still match when they only differ in accents, case or "FC").
+    // For client-supplied names: uses the cache but never grows it.
+    public String canonical(String name) {
+        if (name == null) {
+            return "";
+        }
+        String cached = cache.getIfPresent(name);
+        return cached != null ? cached : resolve(name, index, false);
+    }
+
+    // Same for a name from a provider board (Odds API): cached, and reported once if it can't be resolved
+    public String boardCanonical(String name) {
+        if (name == null) {
+            return "";
+        }
+        String cached = cache.getIfPresent(name);
+        if (cached != null) {
+            return cached;
+        }
+        Index current = index;
+        String resolved = resolve(name, current, true);
+        if (index == current) {
+            cache.put(name, resolved); // not if a rebuild raced us; the next call resolves against the new index
+        }
+        return resolved;
+    }
+
+    // Bumped on every rebuild; anything keyed by canonical names must be re-keyed when it changes
+    public long generation() {
+        return index.generation;
+    }
+
+    // New teams on the board: rebuild the variant index (cheap, a few thousand names at most)
+    @EventListener
+    public void onSnapshotRefreshed(FixtureSnapshotRefreshedEvent e) {
+        boolean changed = false;
+        for (Fixture f : e.current().fixtures()) {
+            changed |= learn(f.homeId(), f.home().name());
+            changed |= learn(f.awayId(), f.away().name());
+        }
+        if (changed) {
+            rebuild();
+        }
+    }
+
+    private boolean learn(int teamId, String name) {
+        if (teamId == 0 || name == null || name.isBlank()) {
+            return false;
+        }
+        return !name.equals(knownTeams.put(teamId, name));
+    }
+
+    private synchronized void rebuild() {
+        Index next = Index.build(Map.copyOf(knownTeams));
+        next.generation = index.generation + 1;
+        index = next;
+        cache.invalidateAll();
+    }
+
+    private String resolve(String name, Index current, boolean fromBoard) {
+        String folded = fold(name);
+        String hit = current.variants.get(folded);
+        if (hit != null) {
+            exact.increment();
+            return hit;
+        }
+
+        String best = current.fuzzy(folded);
+        if (best == null) {
+            best = current.contained(folded);
+        }
+        if (best != null) {
+            fuzzy.increment();
+            log.debug("🔎 Team name \"{}\" fuzzy-matched to {}", name, best);
+            return best;
+        }
+
+        misses.increment();
+        if (fromBoard && !current.variants.isEmpty() && reported.asMap().putIfAbsent(folded, Boolean.TRUE) == null) {
+            log.warn("⚠️ Team name not resolved: \"{}\" (folded \"{}\"); consider an alias", name, folded);
+        }
+        return folded;
+    }
+
+    // Accent-folded, lower-case, punctuation-free, noise tokens dropped: "1. FC Köln" -> "1 koln"
+    static String fold(String name) {
+        String s = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case 'ø', 'Ø' -> sb.append('o');
+                case 'æ', 'Æ' -> sb.append("ae");
+                case 'ß' -> sb.append("ss");
+                case 'ł', 'Ł' -> sb.append('l');
+                case 'đ', 'Đ' -> sb.append('d');
+                case 'ı' -> sb.append('i');
+                case '&' -> sb.append(" and ");
+                default -> sb.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+            }
+        }
+
+        StringBuilder out = new StringBuilder(sb.length());
+        for (String token : sb.toString().split(" +")) {
+            if (token.isEmpty() || NOISE.contains(token)) {
+                continue;
+            }
+            if (out.length() > 0) {
+                out.append(' ');
+            }
+            out.append(TOKEN_SYNONYMS.getOrDefault(token, token));
+        }
+        // a name made only of noise words ("AS") keeps its plain lower-case form
+        return out.length() > 0 ? out.toString() : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Folded variant -> canonical key, plus trigram sets of the variants for the fuzzy fallback
+    private static final class Index {
+        final Map<String, String> variants;
+        final String[] keys;
+        final String[] canonicals;
+        final int[][] grams;
+        final List<Set<String>> tokens;
+        long generation;
+
+        private Index(Map<String, String> variants) {
+            this.variants = variants;
+            this.keys = variants.keySet().toArray(new String[0]);
+            this.canonicals = new String[keys.length];
+            this.grams = new int[keys.length][];
+            this.tokens = new ArrayList<>(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                canonicals[i] = variants.get(keys[i]);
+                grams[i] = trigrams(keys[i]);
+                tokens.add(Set.of(keys[i].split(" ")));
+            }
+        }
+
+        static Index build(Map<Integer, String> teams) {
+            Map<String, String> variants = new HashMap<>();
+            for (Map.Entry<Integer, String> team : teams.entrySet()) {
+                variants.putIfAbsent(fold(team.getValue()), "id:" + team.getKey());
+            }
+            // an alias joins its other spelling to whatever that spelling already resolves to;
+            // aliases can chain ("Inter Milan" -> "Internazionale" -> "Inter"), so spread until stable
+            linkAliases(variants);
+            for (Map.Entry<String, String> alias : ALIASES.entrySet()) {
+                String a = fold(alias.getKey());
+                String b = fold(alias.getValue());
+                if (!variants.containsKey(a) && !variants.containsKey(b)) {
+                    // neither club seen yet: still join the two spellings under the folded name
+                    variants.put(a, b);
+                    variants.put(b, b);
+                    linkAliases(variants);
+                }
+            }
+            return new Index(Map.copyOf(variants));
+        }
+
+        private static void linkAliases(Map<String, String> variants) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Map.Entry<String, String> alias : ALIASES.entrySet()) {
+                    String a = fold(alias.getKey());
+                    String b = fold(alias.getValue());
+                    String ca = variants.get(a);
+                    String cb = variants.get(b);
+                    if (ca != null && cb == null) {
+                        variants.put(b, ca);
+                        changed = true;
+                    } else if (cb != null && ca == null) {
+                        variants.put(a, cb);
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        // Best canonical by trigram Dice similarity, or null unless it is confidently the one
+        String fuzzy(String folded) {
+            int[] query = trigrams(folded);
+            if (query.length == 0) {
+                return null;
+            }
+            double best = 0, second = 0;
+            String bestCanonical = null;
+            for (int i = 0; i < keys.length; i++) {
+                double score = dice(query, grams[i]);
+                if (score > best) {
+                    if (!canonicals[i].equals(bestCanonical)) {
+                        second = best;
+                    }
+                    best = score;
+                    bestCanonical = canonicals[i];
+                } else if (score > second && !canonicals[i].equals(bestCanonical)) {
+                    second = score;
+                }
+            }
+            return best >= MIN_SIMILARITY && best - second >= MIN_MARGIN ? bestCanonical : null;
+        }
+
+        // Canonical whose tokens contain all of the name's tokens (or the other way round), if only one does.
+        // The shorter side must say enough on its own: two tokens or more, more than half of the longer name,
+        // or the longer name's first word ("Tottenham" / "Tottenham Hotspur", but not "Athletic" /
+        // "Charlton Athletic": trailing words like Athletic, United or City are shared by many clubs).
+        String contained(String folded) {
+            String[] queryTokens = folded.split(" ");
+            Set<String> query = Set.of(queryTokens);
+            String found = null;
+            for (int i = 0; i < keys.length; i++) {
+                boolean variantInQuery = query.containsAll(tokens.get(i));
+                if (!variantInQuery && !tokens.get(i).containsAll(query)) {
+                    continue;
+                }
+                String[] shorter = variantInQuery ? keys[i].split(" ") : queryTokens;
+                String[] longer = variantInQuery ? queryTokens : keys[i].split(" ");
+                if (!saysEnough(shorter, longer)) {
+                    continue;
+                }
+                if (found != null && !found.equals(canonicals[i])) {
+                    return null; // ambiguous
+                }
+                found = canonicals[i];
+            }
+            return found;
+        }
+
+        private static boolean saysEnough(String[] shorter, String[] longer) {
+            return shorter.length >= 2 || shorter.length * 2 > longer.length || shorter[0].equals(longer[0]);
+        }
+
+        // Sorted, de-duplicated trigram codes of " name " (padded so word starts/ends count)
+        static int[] trigrams(String s) {
+            String padded = " " + s + " ";
+            if (padded.length() < 3) {
+                return new int[0];
+            }
+            int[] out = new int[padded.length() - 2];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = (padded.charAt(i) << 16) ^ (padded.charAt(i + 1) << 8) ^ padded.charAt(i + 2);
+            }
+            Arrays.sort(out);
+            int n = 0;
+            for (int i = 0; i < out.length; i++) {
+                if (i == 0 || out[i] != out[i - 1]) {
+                    out[n++] = out[i];
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        static double dice(int[] a, int[] b) {
+            int i = 0, j = 0, shared = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] == b[j]) {
+                    shared++;
+                    i++;
+                    j++;
+                } else if (a[i] < b[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return a.length + b.length == 0 ? 0 : 2.0 * shared / (a.length + b.length);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.raman.soccer_backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Request budget for the providers that bill per call. Two limits per provider:
+//  - the period quota (api-sports: per UTC day, the Odds API: per month), learned from the remaining/limit
+//    response headers. "Pace" is what is left divided by what a steady spender would have left at this point
+//    of the period; a call of a given priority only goes out while pace is at least that priority's minimum.
+//  - a per-minute token bucket (api-sports only), sized from the per-minute limit header; lower priorities
+//    can't take the last tokens of the minute.
+// So when the budget gets tight, AI data gathering stops first, then odds and standings refreshes, then event
+// polling; the fixture list keeps refreshing until the quota is really gone. Denied calls throw
+// QuotaExceededException and the caches behind them keep serving their last copy.
+// At the period boundary the learned quota starts over at the full limit. If the quota is used up and no
+// response has refreshed it for probe-after-ms, one call is let through to read fresh figures.
+@Component
+public class UpstreamBudget {
+
+    public enum Priority {
+        CRITICAL(0.0, 0.0),  // fixture list: everything else hangs off it
+        HIGH(0.5, 0.1),      // live event timelines
+        NORMAL(0.8, 0.25),   // odds boards, league tables
+        LOW(1.0, 0.5);       // AI preview inputs (form, H2H); the preview still works without them
+
+        final double minPace;
+        final double minBucketShare;
+
+        Priority(double minPace, double minBucketShare) {
+            this.minPace = minPace;
+            this.minBucketShare = minBucketShare;
+        }
+    }
+
+    enum Period { DAY, MONTH }
+
+    private final Environment env;
+    private final MeterRegistry meters;
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    public UpstreamBudget(Environment env, MeterRegistry meters) {
+        this.env = env;
+        this.meters = meters;
+    }
+
+    // ✅ Takes one call's worth of budget, or throws QuotaExceededException
+    public void acquire(String provider, Priority priority) {
+        if (!tryAcquire(provider, priority)) {
+            throw new QuotaExceededException(provider + " budget too tight for a " + priority + " call");
+        }
+    }
+
+    // Same without the exception (retries: a denied retry just means the last answer stands)
+    public boolean tryAcquire(String provider, Priority priority) {
+        boolean granted = budget(provider).tryAcquire(priority);
+        meters.counter(granted ? "upstream.budget.granted" : "upstream.budget.denied",
+                "provider", provider, "priority", priority.name()).increment();
+        return granted;
+    }
+
+    // Quota headers from any response of the provider (present on errors too)
+    public void observe(String provider, HttpHeaders headers) {
+        Budget b = budget(provider);
+        switch (provider) {
+            case "api-sports" -> {
+                b.quota(longHeader(headers, "x-ratelimit-requests-limit"), longHeader(headers, "x-ratelimit-requests-remaining"));
+                b.perMinute(longHeader(headers, "X-RateLimit-Limit"), longHeader(headers, "X-RateLimit-Remaining"));
+            }
+            case "odds-api" -> {
+                Long used = longHeader(headers, "x-requests-used");
+                Long remaining = longHeader(headers, "x-requests-remaining");
+                b.quota(used != null && remaining != null ? used + remaining : null, remaining);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Budget budget(String provider) {
+        return budgets.computeIfAbsent(provider, this::create);
+    }
+
+    private Budget create(String provider) {
+        Period period = env.getProperty("upstream.budget." + provider + ".period", Period.class,
+                "odds-api".equals(provider) ? Period.MONTH : Period.DAY);
+        long perMinute = env.getProperty("upstream.budget." + provider + ".per-minute", Long.class, 0L);
+        Long probeAfterMs = env.getProperty("upstream.budget." + provider + ".probe-after-ms", Long.class);
+        if (probeAfterMs == null) {
+            probeAfterMs = env.getProperty("upstream.budget.probe-after-ms", Long.class, 600_000L);
+        }
+        Budget b = new Budget(period, perMinute, probeAfterMs, Clock.systemUTC());
+        Gauge.builder("upstream.budget.remaining", b, Budget::remaining).tag("provider", provider).register(meters);
+        Gauge.builder("upstream.budget.pace", b, Budget::pace).tag("provider", provider).register(meters);
+        return b;
+    }
+
+    private static Long longHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return (long) Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static final class Budget {
+        private final Period period;
+        private final long probeAfterMs;
+        private final Clock clock;
+
+        private long limit = -1;      // period quota; -1 until a response told us
+        private long remaining = -1;
+        private long periodStart;     // epoch second the current period began; the figures belong to it
+        private long observedAtMillis; // last response with quota headers (or last probe let through)
+        private double bucketCapacity; // per-minute calls; 0 = no per-minute limit
+        private double tokens;
+        private long refilledAtMillis;
+
+        Budget(Period period, long perMinute, long probeAfterMs, Clock clock) {
+            this.period = period;
+            this.probeAfterMs = probeAfterMs;
+            this.clock = clock;
+            this.bucketCapacity = perMinute;
+            this.tokens = perMinute;
+            this.periodStart = periodStart(now()).toEpochSecond();
+            this.observedAtMillis = clock.millis();
+            this.refilledAtMillis = clock.millis();
+        }
+
+        synchronized boolean tryAcquire(Priority priority) {
+            rollOver();
+            boolean probe = false;
+            if (limit > 0 && remaining >= 0) {
+                if (remaining == 0) {
+                    // used up as far as we know; once that's stale, one call goes out to read the real figures
+                    if (clock.millis() - observedAtMillis < probeAfterMs) {
+                        return false;
+                    }
+                    probe = true;
+                } else if (pace() < priority.minPace) {
+                    return false;
+                }
+            }
+            if (bucketCapacity > 0) {
+                refill();
+                if (tokens < 1 || tokens - 1 < bucketCapacity * priority.minBucketShare) {
+                    return false;
+                }
+                tokens--;
+            }
+            if (probe) {
+                observedAtMillis = clock.millis(); // the next probe waits another probe-after-ms
+            }
+            if (remaining > 0) {
+                remaining--; // until the response brings the real figure
+            }
+            return true;
+        }
+
+        synchronized void quota(Long limit, Long remaining) {
+            rollOver();
+            if (limit != null && limit > 0) {
+                this.limit = limit;
+            }
+            if (remaining != null) {
+                this.remaining = remaining;
+                this.observedAtMillis = clock.millis();
+            }
+        }
+
+        synchronized void perMinute(Long limit, Long remaining) {
+            if (limit != null && limit > 0) {
+                if (bucketCapacity == 0) {
+                    tokens = limit; // first sizing of an unlimited bucket: start full
+                }
+                bucketCapacity = limit;
+            }
+            if (remaining != null && bucketCapacity > 0) {
+                refill();
+                tokens = Math.min(tokens, remaining); // the provider's count wins when it's lower
+            }
+        }
+
+        private void refill() {
+            long now = clock.millis();
+            tokens = Math.min(bucketCapacity, tokens + (now - refilledAtMillis) / 60e3 * bucketCapacity);
+            refilledAtMillis = now;
+        }
+
+        // New period: the provider has reset its count, so until a response says otherwise the whole limit is left
+        private void rollOver() {
+            long start = periodStart(now()).toEpochSecond();
+            if (start != periodStart) {
+                periodStart = start;
+                if (limit > 0) {
+                    remaining = limit;
+                }
+            }
+        }
+
+        synchronized double remaining() {
+            rollOver();
+            return remaining;
+        }
+
+        // remaining / (limit * share of the period still to come); 1 = exactly on a steady pace, NaN = unknown
+        synchronized double pace() {
+            rollOver();
+            if (limit <= 0 || remaining < 0) {
+                return Double.NaN;
+            }
+            double left = Math.max(periodLeft(), 0.01);
+            return remaining / (limit * left);
+        }
+
+        private ZonedDateTime now() {
+            return ZonedDateTime.now(clock.withZone(ZoneOffset.UTC));
+        }
+
+        private ZonedDateTime periodStart(ZonedDateTime now) {
+            LocalDate day = period == Period.DAY ? now.toLocalDate() : now.toLocalDate().withDayOfMonth(1);
+            return day.atStartOfDay(ZoneOffset.UTC);
+        }
+
+        private double periodLeft() {
+            ZonedDateTime now = now();
+            ZonedDateTime start = periodStart(now);
+            ZonedDateTime end = period == Period.DAY ? start.plusDays(1) : start.plusMonths(1);
+            double total = end.toEpochSecond() - start.toEpochSecond();
+            return (end.toEpochSecond() - now.toEpochSecond()) / total;
+        }
+    }
+}
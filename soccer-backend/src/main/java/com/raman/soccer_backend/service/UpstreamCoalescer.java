@@ -0,0 +1,87 @@
+package com.raman.soccer_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Single-flight in front of the upstream APIs: while a call for a key is in flight, anyone else
+// asking for the same key waits on it and gets the same parsed result (or the same exception)
+// instead of firing an identical request. Nothing is cached once the call completes.
+@Component
+public class UpstreamCoalescer {
+
+    private final MeterRegistry meters;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    public UpstreamCoalescer(MeterRegistry meters) {
+        this.meters = meters;
+    }
+
+    // endpoint is a short label for metrics ("events", "form", ...); key identifies the exact request (the URI)
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String endpoint, String key, Supplier<T> call) {
+        EndpointStats s = stats.computeIfAbsent(endpoint, this::register);
+        s.requests.increment();
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            s.shared.increment();
+            return (T) await(existing);
+        }
+
+        s.calls.increment();
+        try {
+            T result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            // Errors too, or waiters blocked on mine would hang forever
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> f) {
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    private EndpointStats register(String endpoint) {
+        EndpointStats s = new EndpointStats(
+                meters.counter("upstream.coalescer.requests", "endpoint", endpoint),
+                meters.counter("upstream.coalescer.calls", "endpoint", endpoint),
+                meters.counter("upstream.coalescer.shared", "endpoint", endpoint));
+        // share of inbound requests that piggy-backed on someone else's upstream call
+        Gauge.builder("upstream.coalescer.ratio", s, EndpointStats::ratio)
+                .tag("endpoint", endpoint)
+                .register(meters);
+        return s;
+    }
+
+    private record EndpointStats(Counter requests, Counter calls, Counter shared) {
+        double ratio() {
+            double total = requests.count();
+            return total == 0 ? 0 : shared.count() / total;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.raman.soccer_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+// The one place upstream HTTP clients are built. Every provider (api-sports, the Odds API, OpenAI) gets its
+// own pooled keep-alive client (HTTP/2 where the server offers it), gzip, connect/read timeouts, a circuit
+// breaker, and up to upstream.retry.max-attempts tries of idempotent calls on 5xx/I/O errors with jittered
+// backoff. Latency per host goes to the upstream.http timer (percentile histogram, time to response headers).
+// Settings are upstream.<key>, overridable per provider as upstream.<provider>.<key>.
+// Calls of billed providers carry their UpstreamBudget priority as the PRIORITY request attribute: every
+// attempt, retries included, takes budget at that priority, and every response's quota headers are observed.
+// With the upstream.payloads logger at DEBUG, a sample of response bodies is logged (truncated) as well.
+@Component
+public class UpstreamHttp {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamHttp.class);
+    private static final Logger payloadLog = LoggerFactory.getLogger("upstream.payloads");
+
+    // RestClient request attribute: the UpstreamBudget.Priority this call (and its retries) is charged at
+    public static final String PRIORITY = "upstream.budget.priority";
+
+    private final Environment env;
+    private final MeterRegistry meters;
+    private final UpstreamBudget budget;
+    private final Map<String, Provider> providers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> parseTimers = new ConcurrentHashMap<>();
+    private final double payloadSampleRate;
+    private final int payloadMaxChars;
+
+    public UpstreamHttp(Environment env, MeterRegistry meters, UpstreamBudget budget) {
+        this.env = env;
+        this.meters = meters;
+        this.budget = budget;
+        this.payloadSampleRate = env.getProperty("upstream.payload-log.sample-rate", Double.class, 0.01);
+        this.payloadMaxChars = env.getProperty("upstream.payload-log.max-chars", Integer.class, 4000);
+    }
+
+    // ✅ Time from response headers to a parsed result (body download + streaming parse), per provider and endpoint
+    public Timer parseTimer(String provider, String endpoint) {
+        return parseTimers.computeIfAbsent(provider + "/" + endpoint, k -> Timer.builder("upstream.parse")
+                .tag("provider", provider)
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meters));
+    }
+
+    // ✅ RestClient builder wired to the provider's pool, timeouts, breaker and retries; add baseUrl/headers and build
+    public RestClient.Builder restClient(String provider) {
+        Provider p = provider(provider);
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(p.http);
+        factory.setReadTimeout(Duration.ofMillis(p.readTimeoutMs));
+        return RestClient.builder()
+                .requestFactory(factory)
+                .requestInterceptor(new Guard(p));
+    }
+
+    // Same treatment for OkHttp-based SDKs (the OpenAI client). OkHttp already pools, speaks HTTP/2 and
+    // unzips; this adds our timeouts, pool size, breaker and latency metrics. No retries: those calls are POSTs.
+    // Async calls (streamed responses are read inside the callback) run on virtual threads, up to max-concurrent.
+    public OkHttpClient okHttp(String provider, OkHttpClient.Builder base) {
+        Provider p = provider(provider);
+        Dispatcher dispatcher = new Dispatcher(Executors.newVirtualThreadPerTaskExecutor());
+        int maxConcurrent = setting(provider, "max-concurrent", 256L).intValue();
+        dispatcher.setMaxRequests(maxConcurrent);
+        dispatcher.setMaxRequestsPerHost(maxConcurrent);
+        return base
+                .dispatcher(dispatcher)
+                .connectTimeout(p.connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(p.readTimeoutMs, TimeUnit.MILLISECONDS)
+                .connectionPool(new ConnectionPool(p.maxIdleConnections, p.keepAliveMs, TimeUnit.MILLISECONDS))
+                .addInterceptor(new OkHttpGuard(p))
+                .build();
+    }
+
+    private Provider provider(String name) {
+        return providers.computeIfAbsent(name, this::create);
+    }
+
+    private Provider create(String name) {
+        long connectTimeoutMs = setting(name, "connect-timeout-ms", 2000L);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2) // falls back to HTTP/1.1 when the server doesn't negotiate h2
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        CircuitBreaker breaker = new CircuitBreaker(
+                setting(name, "breaker.failure-threshold", 5L).intValue(),
+                setting(name, "breaker.open-ms", 30_000L));
+        Gauge.builder("upstream.breaker.state", breaker, b -> b.state().ordinal())
+                .tag("provider", name)
+                .description("0 closed, 1 open, 2 half-open")
+                .register(meters);
+        return new Provider(name, http, breaker,
+                connectTimeoutMs,
+                setting(name, "read-timeout-ms", 10_000L),
+                setting(name, "retry.max-attempts", 3L).intValue(),
+                setting(name, "retry.backoff-ms", 200L),
+                setting(name, "pool.max-idle", 16L).intValue(),
+                setting(name, "pool.keep-alive-ms", 60_000L),
+                meters.counter("upstream.breaker.rejected", "provider", name),
+                meters.counter("upstream.retries", "provider", name));
+    }
+
+    private Long setting(String provider, String key, long fallback) {
+        Long specific = env.getProperty("upstream." + provider + "." + key, Long.class);
+        return specific != null ? specific : env.getProperty("upstream." + key, Long.class, fallback);
+    }
+
+    private void record(String host, String outcome, long startNanos) {
+        Timer.builder("upstream.http")
+                .tag("host", host)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meters)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private boolean sampled() {
+        return payloadLog.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < payloadSampleRate;
+    }
+
+    // Debug only: buffer this one body, log the head of it, and hand the caller a replay of the same bytes
+    private ClientHttpResponse logPayload(HttpRequest request, ClientHttpResponse response) throws IOException {
+        byte[] bytes;
+        try (InputStream in = response.getBody()) {
+            bytes = in.readAllBytes();
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        // path only: the Odds API takes its key as a query parameter
+        payloadLog.debug("📦 {} {} -> {} ({} bytes): {}", request.getMethod(), request.getURI().getPath(),
+                response.getStatusCode().value(), bytes.length,
+                text.length() > payloadMaxChars ? text.substring(0, payloadMaxChars) + "…" : text);
+        return new BufferedResponse(response, bytes);
+    }
+
+    private static String outcome(int status) {
+        return (status / 100) + "xx";
+    }
+
+    // Full-jitter exponential backoff: 0..backoffMs * 2^(attempt-1)
+    private static void backoff(Provider p, int attempt) throws IOException {
+        long cap = p.backoffMs << Math.min(attempt - 1, 10);
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while backing off", e);
+        }
+    }
+
+    private final class Guard implements ClientHttpRequestInterceptor {
+        private final Provider p;
+
+        Guard(Provider p) {
+            this.p = p;
+        }
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            boolean idempotent = request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD;
+            String host = request.getURI().getHost();
+            UpstreamBudget.Priority priority = (UpstreamBudget.Priority) request.getAttributes().get(PRIORITY);
+
+            // breaker before budget: a call the breaker refuses never goes out, so it spends no quota
+            if (!p.breaker.tryAcquire()) {
+                p.rejected.increment();
+                throw new ResourceAccessException(p.name + " circuit open, not calling " + host);
+            }
+            if (priority != null) {
+                try {
+                    budget.acquire(p.name, priority); // the first attempt is the caller's call: a denial goes to it
+                } catch (RuntimeException e) {
+                    p.breaker.release();
+                    throw e;
+                }
+            }
+
+            for (int attempt = 1; ; attempt++) {
+                boolean lastTry = !idempotent || attempt >= p.maxAttempts;
+                long start = System.nanoTime();
+                ClientHttpResponse response;
+                try {
+                    response = execution.execute(request, body);
+                } catch (IOException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        // our side gave up (shutdown, a cancelled task); says nothing about the provider
+                        record(host, "INTERRUPTED", start);
+                        p.breaker.release();
+                        throw e;
+                    }
+                    record(host, "IO_ERROR", start);
+                    failed();
+                    if (lastTry || !admitRetry(priority)) {
+                        throw e;
+                    }
+                    p.retries.increment();
+                    backoff(p, attempt);
+                    continue;
+                }
+
+                int status = response.getStatusCode().value();
+                record(host, outcome(status), start);
+                if (priority != null) {
+                    budget.observe(p.name, response.getHeaders());
+                }
+                if (status >= 500) {
+                    failed();
+                    if (!lastTry && admitRetry(priority)) {
+                        response.close();
+                        p.retries.increment();
+                        backoff(p, attempt);
+                        continue;
+                    }
+                } else if (status >= 400) {
+                    p.breaker.onNeutral(); // our request was wrong (or quota), the provider is fine
+                } else {
+                    p.breaker.onSuccess();
+                }
+                ClientHttpResponse plain = new GunzippingResponse(response);
+                return sampled() ? logPayload(request, plain) : plain;
+            }
+        }
+
+        // A retry is one more billed call: it goes out only if the breaker (checked first, so a refused retry
+        // spends nothing) still lets calls through and the budget has room at the same priority. If not, the
+        // caller gets the failure it already has.
+        private boolean admitRetry(UpstreamBudget.Priority priority) {
+            if (!p.breaker.tryAcquire()) {
+                p.rejected.increment();
+                return false;
+            }
+            if (priority == null || budget.tryAcquire(p.name, priority)) {
+                return true;
+            }
+            p.breaker.release();
+            return false;
+        }
+
+        private void failed() {
+            if (p.breaker.onFailure()) {
+                log.warn("⚠️ Circuit breaker for {} opened", p.name);
+            }
+        }
+    }
+
+    private final class OkHttpGuard implements Interceptor {
+        private final Provider p;
+
+        OkHttpGuard(Provider p) {
+            this.p = p;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            String host = chain.request().url().host();
+            if (!p.breaker.tryAcquire()) {
+                p.rejected.increment();
+                throw new IOException(p.name + " circuit open, not calling " + host);
+            }
+            long start = System.nanoTime();
+            Response response;
+            try {
+                response = chain.proceed(chain.request());
+            } catch (IOException e) {
+                record(host, "IO_ERROR", start);
+                if (p.breaker.onFailure()) {
+                    log.warn("⚠️ Circuit breaker for {} opened", p.name);
+                }
+                throw e;
+            }
+            record(host, outcome(response.code()), start);
+            if (response.code() >= 500) {
+                if (p.breaker.onFailure()) {
+                    log.warn("⚠️ Circuit breaker for {} opened", p.name);
+                }
+            } else if (response.code() >= 400) {
+                p.breaker.onNeutral();
+            } else {
+                p.breaker.onSuccess();
+            }
+            return response;
+        }
+    }
+
+    // The JDK client doesn't decompress; do it here so body readers always see plain JSON
+    private static final class GunzippingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private InputStream body;
+
+        GunzippingResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream raw = delegate.getBody();
+                body = "gzip".equalsIgnoreCase(delegate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+                        ? new GZIPInputStream(raw)
+                        : raw;
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private static final class BufferedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final byte[] body;
+
+        BufferedResponse(ClientHttpResponse delegate, byte[] body) {
+            this.delegate = delegate;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private record Provider(String name, HttpClient http, CircuitBreaker breaker,
+                            long connectTimeoutMs, long readTimeoutMs,
+                            int maxAttempts, long backoffMs,
+                            int maxIdleConnections, long keepAliveMs,
+                            Counter rejected, Counter retries) {
+    }
+}
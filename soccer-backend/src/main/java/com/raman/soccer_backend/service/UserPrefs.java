@@ -0,0 +1,43 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Pref;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// A user's preferences as cached and served: the rows in prefType order plus a strong ETag over them,
+// so an unchanged set answers If-None-Match with a 304. Immutable.
+public record UserPrefs(List<Pref> prefs, String etag) {
+
+    public static UserPrefs of(List<Pref> prefs) {
+        return new UserPrefs(List.copyOf(prefs), etagOf(prefs));
+    }
+
+    // Rough heap size for the cache weigher: record + list + two strings per row
+    public int weight() {
+        int bytes = 64 + etag.length() * 2;
+        for (Pref p : prefs) {
+            bytes += 64 + (p.prefType().length() + p.valueName().length()) * 2;
+        }
+        return bytes;
+    }
+
+    private static String etagOf(List<Pref> prefs) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            for (Pref p : prefs) {
+                sha.update(p.prefType().getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) 0);
+                sha.update(p.valueName().getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) 0);
+            }
+            // 64 bits is plenty to tell one user's versions apart
+            return "\"" + HexFormat.of().formatHex(sha.digest(), 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
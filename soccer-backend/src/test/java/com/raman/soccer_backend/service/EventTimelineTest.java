@@ -0,0 +1,121 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.MatchEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventTimelineTest {
+
+    private static MatchEvent goal(int minute, String player) {
+        return new MatchEvent(null, minute, null, "Goal", "Normal Goal", player, "Arsenal");
+    }
+
+    private static MatchEvent card(int minute, String player) {
+        return new MatchEvent(null, minute, null, "Card", "Yellow Card", player, "Chelsea");
+    }
+
+    private static List<Long> seqs(List<MatchEvent> events) {
+        return events.stream().map(MatchEvent::seq).toList();
+    }
+
+    @Test
+    void newEventsAreAppendedWithIncreasingSeq() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(goal(10, "Saka")));
+        EventTimeline.Change change = timeline.merge(List.of(goal(10, "Saka"), card(20, "Caicedo")));
+
+        assertThat(change.reset()).isFalse();
+        assertThat(change.events()).containsExactly(card(20, "Caicedo").withSeq(2L));
+        assertThat(timeline.since(1)).isEqualTo(new EventTimeline.Slice(2, false, List.of(card(20, "Caicedo").withSeq(2L))));
+        assertThat(seqs(timeline.since(0).events())).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void unchangedListIsNoChange() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(goal(10, "Saka")));
+
+        assertThat(timeline.merge(List.of(goal(10, "Saka"))).isEmpty()).isTrue();
+        assertThat(timeline.cursor()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedIdenticalEventsAreKeptApart() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(card(30, "Caicedo")));
+        EventTimeline.Change change = timeline.merge(List.of(card(30, "Caicedo"), card(30, "Caicedo")));
+
+        assertThat(change.reset()).isFalse();
+        assertThat(seqs(change.events())).containsExactly(2L);
+        assertThat(timeline.since(0).events()).hasSize(2);
+    }
+
+    @Test
+    void playerFilledInLaterReplacesTheEntry() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(goal(10, null), card(20, "Caicedo")));
+        long before = timeline.cursor();
+
+        EventTimeline.Change change = timeline.merge(List.of(goal(10, "Saka"), card(20, "Caicedo")));
+
+        assertThat(change.reset()).isTrue();
+        assertThat(change.events()).extracting(MatchEvent::player).containsExactly("Saka", "Caicedo");
+        assertThat(timeline.since(0).events()).hasSize(2);
+
+        // a client that was up to date before the correction gets the whole list back
+        EventTimeline.Slice slice = timeline.since(before);
+        assertThat(slice.reset()).isTrue();
+        assertThat(slice.events()).extracting(MatchEvent::player).containsExactly("Saka", "Caicedo");
+    }
+
+    @Test
+    void minuteCorrectionReplacesTheEntry() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(new MatchEvent(null, 45, null, "Goal", "Normal Goal", "Saka", "Arsenal")));
+
+        EventTimeline.Change change = timeline.merge(List.of(new MatchEvent(null, 45, 2, "Goal", "Normal Goal", "Saka", "Arsenal")));
+
+        assertThat(change.reset()).isTrue();
+        assertThat(timeline.since(0).events()).singleElement().extracting(MatchEvent::extra).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledGoalDisappearsAndStillMovesTheCursor() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(goal(10, "Saka"), goal(80, "Havertz")));
+        long before = timeline.cursor();
+
+        EventTimeline.Change change = timeline.merge(List.of(goal(10, "Saka")));
+
+        assertThat(change.reset()).isTrue();
+        assertThat(change.cursor()).isGreaterThan(before);
+        assertThat(timeline.since(0).events()).containsExactly(goal(10, "Saka").withSeq(1L));
+        assertThat(timeline.since(before).reset()).isTrue();
+        assertThat(timeline.since(change.cursor())).isEqualTo(new EventTimeline.Slice(change.cursor(), false, List.of()));
+    }
+
+    @Test
+    void deltaAfterACorrectionOnlyHoldsLaterEvents() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(goal(10, null)));
+        EventTimeline.Change corrected = timeline.merge(List.of(goal(10, "Saka")));
+        timeline.merge(List.of(goal(10, "Saka"), card(20, "Caicedo")));
+
+        EventTimeline.Slice slice = timeline.since(corrected.cursor());
+        assertThat(slice.reset()).isFalse();
+        assertThat(slice.events()).extracting(MatchEvent::player).containsExactly("Caicedo");
+    }
+
+    @Test
+    void cursorFromBeforeARestartGetsTheWholeList() {
+        EventTimeline timeline = new EventTimeline("1");
+        timeline.merge(List.of(goal(10, "Saka")));
+
+        EventTimeline.Slice slice = timeline.since(7);
+        assertThat(slice.reset()).isTrue();
+        assertThat(slice.events()).hasSize(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.raman.soccer_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchArchiveFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rowsSurviveAReopen() throws IOException {
+        Path path = dir.resolve("fixtures.bin");
+        try (MatchArchiveFile file = new MatchArchiveFile(path)) {
+            file.append(1001L, 1_757_775_600L, 39, 2025, 42, 33, 2, 1, "FT");
+            file.append(1002L, 1_757_862_000L, 140, 2025, 541, 529, 3, 3, "PEN");
+        }
+
+        try (MatchArchiveFile file = new MatchArchiveFile(path)) {
+            assertThat(file.count()).isEqualTo(2);
+            assertThat(file.id(0)).isEqualTo(1001L);
+            assertThat(file.kickoff(0)).isEqualTo(1_757_775_600L);
+            assertThat(file.league(0)).isEqualTo(39);
+            assertThat(file.season(0)).isEqualTo(2025);
+            assertThat(file.home(0)).isEqualTo(42);
+            assertThat(file.away(0)).isEqualTo(33);
+            assertThat(file.homeGoals(0)).isEqualTo(2);
+            assertThat(file.awayGoals(0)).isEqualTo(1);
+            assertThat(file.phase(0)).isEqualTo("FT");
+            assertThat(file.phase(1)).isEqualTo("PEN");
+
+            assertThat(file.append(1003L, 1_757_948_400L, 78, 2025, 157, 165, 0, 0, "AET")).isEqualTo(2);
+        }
+
+        try (MatchArchiveFile file = new MatchArchiveFile(path)) {
+            assertThat(file.count()).isEqualTo(3);
+            assertThat(file.id(2)).isEqualTo(1003L);
+        }
+    }
+
+    @Test
+    void growsPastTheInitialMappingAndReopens() throws IOException {
+        Path path = dir.resolve("fixtures.bin");
+        int rows = 20_000;
+        try (MatchArchiveFile file = new MatchArchiveFile(path)) {
+            for (int i = 0; i < rows; i++) {
+                file.append(i, 1_700_000_000L + i, 39, 2025, i % 20, 20 + i % 20, i % 5, i % 3, "FT");
+            }
+        }
+
+        try (MatchArchiveFile file = new MatchArchiveFile(path)) {
+            assertThat(file.count()).isEqualTo(rows);
+            assertThat(file.id(rows - 1)).isEqualTo(rows - 1L);
+            assertThat(file.kickoff(rows - 1)).isEqualTo(1_700_000_000L + rows - 1);
+        }
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAnArchive() throws IOException {
+        Path path = dir.resolve("fixtures.bin");
+        Files.write(path, new byte[64]);
+
+        assertThatThrownBy(() -> new MatchArchiveFile(path)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchStatus;
+import com.raman.soccer_backend.model.TeamSide;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MatchArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-09-13T12:00:00Z"));
+    private ScoresService scores;
+    private SimpleMeterRegistry meters;
+    private MatchArchive archive;
+
+    private static Fixture fixture(long id, String day, int homeId, int awayId, int homeGoals, int awayGoals, String phase) {
+        return new Fixture(String.valueOf(id), "Premier League", 39, 2025, day + "T15:00:00+00:00", homeId, awayId,
+                new TeamSide("Team " + homeId, null, homeGoals), new TeamSide("Team " + awayId, null, awayGoals),
+                new MatchStatus(phase, null, null));
+    }
+
+    @BeforeEach
+    void setUp() {
+        scores = mock(ScoresService.class);
+        archive = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+    }
+
+    private MatchArchive open() {
+        meters = new SimpleMeterRegistry();
+        return new MatchArchive(scores, meters, dir.toString(), 35, 2, clock);
+    }
+
+    private void snapshot(String date, Fixture... fixtures) {
+        archive.onSnapshotRefreshed(new FixtureSnapshotRefreshedEvent(null,
+                new FixtureSnapshot(date, List.of(fixtures), 1, clock.millis(), false)));
+    }
+
+    // Team 1 played on the 10th and 11th; the 12th had other matches; today's match hasn't started
+    private void coveredWeek() {
+        snapshot("2025-09-10", fixture(1, "2025-09-10", 1, 2, 2, 0, "FT"));
+        snapshot("2025-09-11", fixture(2, "2025-09-11", 3, 1, 1, 1, "FT"));
+        snapshot("2025-09-12", fixture(3, "2025-09-12", 5, 6, 0, 1, "FT"));
+        snapshot("2025-09-13", fixture(4, "2025-09-13", 7, 8, 0, 0, "NS"));
+    }
+
+    private double queries(String result) {
+        return meters.counter("archive.queries", "kind", "form", "result", result).count();
+    }
+
+    @Test
+    void formIsLocalWhenEveryDaySinceTheOldestMatchIsCovered() {
+        coveredWeek();
+
+        MatchArchive.Answer<String> form = archive.recentForm(1, 2);
+
+        assertThat(form).isEqualTo(new MatchArchive.Answer<>(List.of("D", "W"), true));
+        assertThat(queries("local")).isEqualTo(1);
+        verify(scores, never()).fetchLastMatches(anyInt(), anyInt());
+    }
+
+    @Test
+    void dayWithAnUnfinishedMatchIsNotCovered() {
+        snapshot("2025-09-10", fixture(1, "2025-09-10", 1, 2, 2, 0, "FT"));
+        snapshot("2025-09-11", fixture(2, "2025-09-11", 3, 1, 1, 1, "FT"));
+        snapshot("2025-09-12", fixture(3, "2025-09-12", 5, 6, 0, 1, "2H"));
+        snapshot("2025-09-13", fixture(4, "2025-09-13", 7, 8, 0, 0, "NS"));
+        when(scores.fetchLastMatches(1, 2)).thenReturn(List.of(
+                fixture(2, "2025-09-11", 3, 1, 1, 1, "FT"), fixture(1, "2025-09-10", 1, 2, 2, 0, "FT")));
+
+        assertThat(archive.recentForm(1, 2)).isEqualTo(new MatchArchive.Answer<>(List.of("D", "W"), true));
+        assertThat(queries("upstream")).isEqualTo(1);
+    }
+
+    @Test
+    void nothingIsLocalBeforeTodaysSnapshot() {
+        snapshot("2025-09-10", fixture(1, "2025-09-10", 1, 2, 2, 0, "FT"));
+        snapshot("2025-09-11", fixture(2, "2025-09-11", 3, 1, 1, 1, "FT"));
+        snapshot("2025-09-12", fixture(3, "2025-09-12", 5, 6, 0, 1, "FT"));
+        when(scores.fetchLastMatches(1, 2)).thenThrow(new QuotaExceededException("api-sports budget too tight"));
+
+        MatchArchive.Answer<String> form = archive.recentForm(1, 2);
+
+        assertThat(form).isEqualTo(new MatchArchive.Answer<>(List.of("D", "W"), false));
+        assertThat(queries("partial")).isEqualTo(1);
+    }
+
+    @Test
+    void newDayNeedsItsSnapshotAndYesterdayCovered() {
+        coveredWeek();
+        when(scores.fetchLastMatches(1, 2)).thenThrow(new QuotaExceededException("api-sports budget too tight"));
+
+        clock.set(Instant.parse("2025-09-14T00:30:00Z"));
+        assertThat(archive.recentForm(1, 2).complete()).isFalse();
+
+        snapshot("2025-09-14", fixture(5, "2025-09-14", 9, 10, 0, 0, "NS"));
+        assertThat(archive.recentForm(1, 2).complete()).isFalse(); // the 13th's match hadn't finished
+
+        snapshot("2025-09-13", fixture(4, "2025-09-13", 7, 8, 3, 2, "FT"));
+        assertThat(archive.recentForm(1, 2)).isEqualTo(new MatchArchive.Answer<>(List.of("D", "W"), true));
+        assertThat(queries("local")).isEqualTo(1);
+    }
+
+    @Test
+    void upstreamAnswerMakesTheSameQuestionLocal() {
+        snapshot("2025-09-13", fixture(4, "2025-09-13", 7, 8, 0, 0, "NS"));
+        // fewer than asked for: that's the team's whole history
+        when(scores.fetchLastMatches(9, 5)).thenReturn(List.of(fixture(10, "2025-08-30", 9, 11, 0, 2, "FT")));
+
+        assertThat(archive.recentForm(9, 5).items()).containsExactly("L");
+        assertThat(archive.recentForm(9, 5)).isEqualTo(new MatchArchive.Answer<>(List.of("L"), true));
+
+        verify(scores, times(1)).fetchLastMatches(9, 5);
+        assertThat(queries("local")).isEqualTo(1);
+    }
+
+    @Test
+    void emptyUpstreamAnswerIsNotSeeded() {
+        snapshot("2025-09-13", fixture(4, "2025-09-13", 7, 8, 0, 0, "NS"));
+        when(scores.fetchLastMatches(9, 5)).thenReturn(List.of());
+
+        archive.recentForm(9, 5);
+        archive.recentForm(9, 5);
+
+        verify(scores, times(2)).fetchLastMatches(9, 5);
+    }
+
+    @Test
+    void seedsAreCompactedAndKeptAcrossARestart() throws IOException {
+        snapshot("2025-09-13", fixture(4, "2025-09-13", 7, 8, 0, 0, "NS"));
+        when(scores.fetchLastMatches(9, 5)).thenReturn(List.of(fixture(10, "2025-08-30", 9, 11, 0, 2, "FT")));
+        archive.recentForm(9, 5);
+
+        // next day, before its snapshot: asked upstream again, twice, but the same answer is written once
+        clock.set(Instant.parse("2025-09-14T00:30:00Z"));
+        archive.recentForm(9, 5);
+        archive.recentForm(9, 5);
+        Path seeds = dir.resolve("seeds.tsv");
+        assertThat(Files.readAllLines(seeds)).hasSize(2);
+
+        archive.close();
+        archive = open();
+
+        assertThat(Files.readAllLines(seeds)).containsExactly("team\t9\t2025-09-14\t5\t1");
+        snapshot("2025-09-14", fixture(5, "2025-09-14", 12, 13, 0, 0, "NS"));
+        assertThat(archive.recentForm(9, 5)).isEqualTo(new MatchArchive.Answer<>(List.of("L"), true));
+        verify(scores, times(3)).fetchLastMatches(9, 5);
+    }
+}
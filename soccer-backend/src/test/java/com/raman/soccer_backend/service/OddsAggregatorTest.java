@@ -0,0 +1,125 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.BookmakerOdds;
+import com.raman.soccer_backend.model.OddsConsensus;
+import com.raman.soccer_backend.model.OddsGame;
+import com.raman.soccer_backend.model.OddsLine;
+import com.raman.soccer_backend.model.OutcomeConsensus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OddsAggregatorTest {
+
+    private static final String HOME = "Arsenal";
+    private static final String AWAY = "Chelsea";
+
+    private static BookmakerOdds book(String title, OddsLine... lines) {
+        return new BookmakerOdds(title.toLowerCase(), title, List.of(lines));
+    }
+
+    private static BookmakerOdds book(String title, double home, double draw, double away) {
+        return book(title, new OddsLine(HOME, home), new OddsLine("Draw", draw), new OddsLine(AWAY, away));
+    }
+
+    private static OddsConsensus aggregate(BookmakerOdds... books) {
+        return OddsAggregator.aggregate(new OddsGame("g1", HOME, AWAY, "2025-09-13T15:00:00Z", List.of(books)));
+    }
+
+    private static double margin(double home, double draw, double away) {
+        return 1 / home + 1 / draw + 1 / away - 1;
+    }
+
+    @Test
+    void evenBookCountAveragesTheMiddleTwo() {
+        OddsConsensus c = aggregate(
+                book("Alpha", 2.0, 3.5, 4.0),
+                book("Beta", 2.2, 3.3, 3.6));
+
+        assertThat(c.bookmakers()).isEqualTo(2);
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::name).containsExactly(HOME, "Draw", AWAY);
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::median)
+                .containsExactly(2.1, 3.4, 3.8);
+        assertThat(c.overround()).isCloseTo((margin(2.0, 3.5, 4.0) + margin(2.2, 3.3, 3.6)) / 2, within(1e-12));
+    }
+
+    @Test
+    void bestPriceNamesTheBookmakerOfferingIt() {
+        OddsConsensus c = aggregate(
+                book("Alpha", 2.0, 3.5, 4.0),
+                book("Beta", 2.2, 3.3, 3.6),
+                book("Gamma", 2.1, 3.4, 3.9));
+
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::best).containsExactly(2.2, 3.5, 4.0);
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::bestBookmaker).containsExactly("Beta", "Alpha", "Alpha");
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::median).containsExactly(2.1, 3.4, 3.9);
+        assertThat(c.bestOverround()).isCloseTo(margin(2.2, 3.5, 4.0), within(1e-12));
+    }
+
+    @Test
+    void fairProbabilitiesTakeTheMarginOutProportionally() {
+        OddsConsensus c = aggregate(book("Alpha", 2.0, 3.5, 4.0));
+
+        double inverseSum = 1 / 2.0 + 1 / 3.5 + 1 / 4.0;
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::fairProbability).satisfiesExactly(
+                p -> assertThat(p).isCloseTo((1 / 2.0) / inverseSum, within(1e-12)),
+                p -> assertThat(p).isCloseTo((1 / 3.5) / inverseSum, within(1e-12)),
+                p -> assertThat(p).isCloseTo((1 / 4.0) / inverseSum, within(1e-12)));
+        assertThat(c.outcomes().stream().mapToDouble(OutcomeConsensus::fairProbability).sum())
+                .isCloseTo(1.0, within(1e-12));
+    }
+
+    @Test
+    void incompleteOrNonsenseBooksAreLeftOut() {
+        OddsConsensus c = aggregate(
+                book("NoDraw", new OddsLine(HOME, 1.5), new OddsLine(AWAY, 9.0)),
+                book("Alpha", 2.0, 3.5, 4.0),
+                book("EvensOrWorse", 1.0, 3.5, 4.0),
+                book("Beta", 2.2, 3.3, 3.6));
+
+        assertThat(c.bookmakers()).isEqualTo(2);
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::best).containsExactly(2.2, 3.5, 4.0);
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::bestBookmaker).containsExactly("Beta", "Alpha", "Alpha");
+        assertThat(c.outcomes()).extracting(OutcomeConsensus::median).containsExactly(2.1, 3.4, 3.8);
+    }
+
+    @Test
+    void drawIsMatchedWhateverItsCase() {
+        OddsConsensus c = aggregate(
+                book("Upper", new OddsLine(HOME, 2.0), new OddsLine("DRAW", 3.5), new OddsLine(AWAY, 4.0)),
+                book("Lower", new OddsLine(AWAY, 3.6), new OddsLine("draw", 3.3), new OddsLine(HOME, 2.2)));
+
+        assertThat(c.bookmakers()).isEqualTo(2);
+        assertThat(c.outcomes().get(1).name()).isEqualTo("Draw");
+        assertThat(c.outcomes().get(1).best()).isEqualTo(3.5);
+        assertThat(c.outcomes().get(1).median()).isEqualTo(3.4);
+    }
+
+    @Test
+    void bestPricesAcrossBooksCanFormAnArbitrage() {
+        OddsConsensus c = aggregate(
+                book("Alpha", 2.1, 4.0, 3.0),
+                book("Beta", 1.8, 3.2, 6.0));
+
+        assertThat(c.overround()).isPositive();
+        assertThat(c.bestOverround()).isNegative().isCloseTo(margin(2.1, 4.0, 6.0), within(1e-12));
+    }
+
+    @Test
+    void noCompleteBookGivesNull() {
+        assertThat(aggregate()).isNull();
+        assertThat(aggregate(book("NoDraw", new OddsLine(HOME, 1.5), new OddsLine(AWAY, 9.0)))).isNull();
+    }
+
+    @Test
+    void medianOfARangeLeavesTheRestAlone() {
+        double[] values = {9, 5, 1, 3, 7, 0};
+
+        assertThat(OddsAggregator.median(values, 1, 4)).isEqualTo(4.0);
+        assertThat(values[0]).isEqualTo(9);
+        assertThat(values[5]).isEqualTo(0);
+    }
+}
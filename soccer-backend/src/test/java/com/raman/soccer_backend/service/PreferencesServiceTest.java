@@ -0,0 +1,192 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Pref;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PreferencesServiceTest {
+
+    private static final String TABLE = "UserPreferences";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private DynamoDbAsyncClient dynamoDb;
+    private SimpleMeterRegistry meters;
+    private PreferencesService prefs;
+
+    // every BatchWriteItem sent, and what the stub answers each one with (all accepted unless scripted)
+    private final List<List<WriteRequest>> sent = new ArrayList<>();
+    private Function<List<WriteRequest>, List<WriteRequest>> unprocessed = requests -> List.of();
+
+    @BeforeEach
+    void setUp() {
+        dynamoDb = mock(DynamoDbAsyncClient.class);
+        when(dynamoDb.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(inv -> {
+            List<WriteRequest> requests = inv.<BatchWriteItemRequest>getArgument(0).requestItems().get(TABLE);
+            sent.add(requests);
+            List<WriteRequest> left = unprocessed.apply(requests);
+            return CompletableFuture.completedFuture(BatchWriteItemResponse.builder()
+                    .unprocessedItems(left.isEmpty() ? Map.of() : Map.of(TABLE, left))
+                    .build());
+        });
+        stored();
+        meters = new SimpleMeterRegistry();
+        prefs = new PreferencesService(dynamoDb, meters, MAX_ATTEMPTS, 0, 1 << 20, 3_600_000);
+    }
+
+    // What a Query for any user returns from the table
+    private void stored(Pref... rows) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (Pref row : rows) {
+            items.add(Map.of(
+                    "userId", AttributeValue.builder().s("u1").build(),
+                    "prefType", AttributeValue.builder().s(row.prefType()).build(),
+                    "valueName", AttributeValue.builder().s(row.valueName()).build()));
+        }
+        when(dynamoDb.query(any(QueryRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(QueryResponse.builder().items(items).build()));
+    }
+
+    private double pending() {
+        return meters.get("prefs.write-behind.pending").gauge().value();
+    }
+
+    private static String prefType(WriteRequest request) {
+        return request.putRequest() != null
+                ? request.putRequest().item().get("prefType").s()
+                : request.deleteRequest().key().get("prefType").s();
+    }
+
+    private static String valueName(WriteRequest request) {
+        return request.putRequest() != null ? request.putRequest().item().get("valueName").s() : null;
+    }
+
+    @Test
+    void unprocessedItemsAreResentUntilAccepted() {
+        prefs.savePref("u1", "TEAM", "Arsenal");
+        prefs.savePref("u1", "LEAGUE", "Premier League");
+        // first call: DynamoDB takes only the TEAM row
+        unprocessed = requests -> sent.size() == 1
+                ? requests.stream().filter(r -> prefType(r).equals("LEAGUE")).toList()
+                : List.of();
+
+        prefs.flush();
+
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0)).hasSize(2);
+        assertThat(sent.get(1)).extracting(PreferencesServiceTest::prefType).containsExactly("LEAGUE");
+        assertThat(pending()).isZero();
+        assertThat(meters.counter("prefs.write-behind.unprocessed.retries").count()).isEqualTo(1);
+        assertThat(meters.counter("prefs.write-behind.rows").count()).isEqualTo(2);
+    }
+
+    @Test
+    void rowsStillUnprocessedAfterTheLastAttemptStayPending() {
+        prefs.savePref("u1", "TEAM", "Arsenal");
+        prefs.savePref("u1", "LEAGUE", "Premier League");
+        unprocessed = requests -> requests.stream().filter(r -> prefType(r).equals("LEAGUE")).toList();
+
+        prefs.flush();
+
+        assertThat(sent).hasSize(MAX_ATTEMPTS);
+        assertThat(pending()).isEqualTo(1);
+        assertThat(meters.counter("prefs.write-behind.flush.failures").count()).isEqualTo(1);
+
+        unprocessed = requests -> List.of();
+        sent.clear();
+        prefs.flush();
+
+        assertThat(sent).singleElement().satisfies(requests ->
+                assertThat(requests).extracting(PreferencesServiceTest::prefType).containsExactly("LEAGUE"));
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void rowWrittenAgainDuringAFlushStaysPending() {
+        prefs.savePref("u1", "TEAM", "Arsenal");
+        prefs.savePref("u1", "LEAGUE", "Premier League");
+        unprocessed = requests -> {
+            prefs.savePref("u1", "TEAM", "Chelsea");
+            // same value as the one in flight, but a new write: compared by identity, so it stays too
+            prefs.savePref("u1", "LEAGUE", "Premier League");
+            return List.of();
+        };
+
+        prefs.flush();
+
+        assertThat(pending()).isEqualTo(2);
+
+        unprocessed = requests -> List.of();
+        sent.clear();
+        prefs.flush();
+
+        assertThat(sent).singleElement().satisfies(requests -> {
+            assertThat(requests).extracting(PreferencesServiceTest::prefType).containsExactlyInAnyOrder("TEAM", "LEAGUE");
+            assertThat(requests).extracting(PreferencesServiceTest::valueName)
+                    .containsExactlyInAnyOrder("Chelsea", "Premier League");
+        });
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void failedBatchCallKeepsEveryRowPending() {
+        prefs.savePref("u1", "TEAM", "Arsenal");
+        unprocessed = requests -> {
+            throw new IllegalStateException("throttled");
+        };
+
+        prefs.flush();
+
+        assertThat(pending()).isEqualTo(1);
+        assertThat(meters.counter("prefs.write-behind.flush.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void readsSeeUnflushedWritesOverWhatIsStored() {
+        stored(new Pref("LEAGUE", "La Liga"), new Pref("TEAM", "Barcelona"));
+        assertThat(prefs.getPrefs("u1").join().prefs())
+                .containsExactly(new Pref("LEAGUE", "La Liga"), new Pref("TEAM", "Barcelona"));
+
+        prefs.savePref("u1", "TEAM", "Girona");
+
+        UserPrefs read = prefs.getPrefs("u1").join();
+        assertThat(read.prefs()).containsExactly(new Pref("LEAGUE", "La Liga"), new Pref("TEAM", "Girona"));
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    void deleteHidesStoredAndUnflushedRowsBeforeTheFlush() {
+        stored(new Pref("LEAGUE", "La Liga"));
+        prefs.savePref("u1", "TEAM", "Girona");
+
+        prefs.deletePrefs("u1").join();
+
+        assertThat(prefs.getPrefs("u1").join().prefs()).isEmpty();
+
+        prefs.flush();
+
+        assertThat(sent).singleElement().satisfies(requests -> {
+            assertThat(requests).extracting(PreferencesServiceTest::prefType).containsExactlyInAnyOrder("LEAGUE", "TEAM");
+            assertThat(requests).allSatisfy(r -> assertThat(r.deleteRequest()).isNotNull());
+        });
+        assertThat(pending()).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.model.Fixture;
+import com.raman.soccer_backend.model.MatchStatus;
+import com.raman.soccer_backend.model.TeamSide;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamNameResolverTest {
+
+    private SimpleMeterRegistry meters;
+    private TeamNameResolver resolver;
+
+    private static Fixture fixture(int homeId, String home, int awayId, String away) {
+        return new Fixture(homeId + "-" + awayId, "League", 39, 2025, "2025-09-13T14:00:00+00:00", homeId, awayId,
+                new TeamSide(home, null, null), new TeamSide(away, null, null), new MatchStatus("NS", "Not Started", null));
+    }
+
+    @BeforeEach
+    void setUp() {
+        meters = new SimpleMeterRegistry();
+        resolver = new TeamNameResolver(meters);
+        resolver.onSnapshotRefreshed(new FixtureSnapshotRefreshedEvent(null, new FixtureSnapshot("2025-09-13", List.of(
+                fixture(47, "Tottenham", 51, "Brighton"),
+                fixture(531, "Athletic Club", 541, "Real Madrid"),
+                fixture(530, "Atletico Madrid", 157, "Bayern München"),
+                fixture(33, "Manchester United", 50, "Manchester City"),
+                fixture(192, "1. FC Köln", 165, "Borussia Dortmund")), 1, System.currentTimeMillis(), false)));
+    }
+
+    @Test
+    void foldDropsAccentsPunctuationAndNoiseWords() {
+        assertThat(TeamNameResolver.fold("1. FC Köln")).isEqualTo("1 koln");
+        assertThat(TeamNameResolver.fold("Bayern München")).isEqualTo("bayern munich");
+        assertThat(TeamNameResolver.fold("Man Utd")).isEqualTo("man united");
+        assertThat(TeamNameResolver.fold("Brighton & Hove Albion")).isEqualTo("brighton and hove albion");
+        assertThat(TeamNameResolver.fold("AS")).isEqualTo("as");
+    }
+
+    @Test
+    void exactAndAliasNamesResolveToTheTeamId() {
+        assertThat(resolver.canonical("Bayern Munich")).isEqualTo("id:157");
+        assertThat(resolver.canonical("Manchester United FC")).isEqualTo("id:33");
+        assertThat(resolver.canonical("Man Utd")).isEqualTo("id:33");
+        assertThat(resolver.canonical("Athletic Bilbao")).isEqualTo("id:531");
+    }
+
+    @Test
+    void longerNameResolvesToTheShortVariantItStartsWith() {
+        assertThat(resolver.boardCanonical("Tottenham Hotspur")).isEqualTo("id:47");
+        assertThat(resolver.boardCanonical("Brighton and Hove Albion")).isEqualTo("id:51");
+    }
+
+    @Test
+    void sharedTrailingWordIsNotAMatch() {
+        assertThat(resolver.boardCanonical("Charlton Athletic")).isEqualTo("charlton athletic");
+        assertThat(resolver.boardCanonical("Wigan Athletic")).isEqualTo("wigan athletic");
+    }
+
+    @Test
+    void ambiguousContainmentIsNotAMatch() {
+        assertThat(resolver.boardCanonical("Manchester")).isEqualTo("manchester");
+        assertThat(resolver.boardCanonical("Madrid")).isEqualTo("madrid");
+    }
+
+    @Test
+    void clientNamesAreNotCached() {
+        resolver.canonical("Made Up Rovers");
+        resolver.canonical("Made Up Rovers");
+        assertThat(misses()).isEqualTo(2);
+
+        resolver.boardCanonical("Made Up Rovers");
+        resolver.boardCanonical("Made Up Rovers");
+        resolver.canonical("Made Up Rovers");
+        assertThat(misses()).isEqualTo(3);
+    }
+
+    private double misses() {
+        return meters.counter("teams.resolve", "result", "miss").count();
+    }
+}
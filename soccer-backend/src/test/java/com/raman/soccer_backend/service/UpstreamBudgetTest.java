@@ -0,0 +1,111 @@
+package com.raman.soccer_backend.service;
+
+import com.raman.soccer_backend.service.UpstreamBudget.Budget;
+import com.raman.soccer_backend.service.UpstreamBudget.Period;
+import com.raman.soccer_backend.service.UpstreamBudget.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamBudgetTest {
+
+    private static final long PROBE_AFTER_MS = 600_000;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-09-13T12:00:00Z"));
+
+    private Budget budget(Period period, long perMinute) {
+        return new Budget(period, perMinute, PROBE_AFTER_MS, clock);
+    }
+
+    @Test
+    void unknownQuotaGrantsEveryPriority() {
+        Budget budget = budget(Period.DAY, 0);
+
+        assertThat(budget.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(budget.pace()).isNaN();
+    }
+
+    @Test
+    void lowerPrioritiesStopFirstWhenBehindPace() {
+        Budget budget = budget(Period.DAY, 0);
+        budget.quota(100L, 40L); // half the day left, 40% of the quota: pace 0.8
+
+        assertThat(budget.pace()).isEqualTo(0.8);
+        assertThat(budget.tryAcquire(Priority.LOW)).isFalse();
+        assertThat(budget.tryAcquire(Priority.NORMAL)).isTrue();
+        assertThat(budget.remaining()).isEqualTo(39);
+        assertThat(budget.tryAcquire(Priority.NORMAL)).isFalse();
+        assertThat(budget.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isTrue();
+    }
+
+    @Test
+    void paceRecoversAsThePeriodRunsOut() {
+        Budget budget = budget(Period.DAY, 0);
+        budget.quota(100L, 40L);
+        assertThat(budget.tryAcquire(Priority.LOW)).isFalse();
+
+        clock.advance(Duration.ofHours(4)); // 8h left: 40 / 33.3 = 1.2
+        assertThat(budget.tryAcquire(Priority.LOW)).isTrue();
+    }
+
+    @Test
+    void usedUpQuotaStartsOverAtTheNextDay() {
+        Budget budget = budget(Period.DAY, 0);
+        budget.quota(100L, 0L);
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        clock.set(Instant.parse("2025-09-14T00:01:00Z"));
+        assertThat(budget.remaining()).isEqualTo(100);
+        assertThat(budget.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(budget.remaining()).isEqualTo(99);
+    }
+
+    @Test
+    void monthlyQuotaOnlyStartsOverAtTheNextMonth() {
+        Budget budget = budget(Period.MONTH, 0);
+        budget.quota(500L, 0L);
+
+        clock.set(Instant.parse("2025-09-14T00:01:00Z"));
+        budget.quota(null, 0L); // still answering: keeps the figures fresh
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        clock.set(Instant.parse("2025-10-01T00:00:01Z"));
+        assertThat(budget.remaining()).isEqualTo(500);
+        assertThat(budget.tryAcquire(Priority.NORMAL)).isTrue();
+    }
+
+    @Test
+    void staleUsedUpQuotaLetsOneProbeThrough() {
+        Budget budget = budget(Period.DAY, 0);
+        budget.quota(100L, 0L);
+
+        clock.advance(Duration.ofMillis(PROBE_AFTER_MS - 1));
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(budget.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        budget.quota(100L, 30L); // the probe's response: the provider had more left than we thought
+        assertThat(budget.tryAcquire(Priority.HIGH)).isTrue();
+    }
+
+    @Test
+    void perMinuteBucketKeepsTheLastTokensForHigherPriorities() {
+        Budget budget = budget(Period.DAY, 4);
+
+        assertThat(budget.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(budget.tryAcquire(Priority.LOW)).isTrue();
+        assertThat(budget.tryAcquire(Priority.LOW)).isFalse(); // would leave less than half the bucket
+        assertThat(budget.tryAcquire(Priority.NORMAL)).isTrue();
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isTrue();
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        clock.advance(Duration.ofSeconds(15)); // a quarter of the minute: one token back
+        assertThat(budget.tryAcquire(Priority.CRITICAL)).isTrue();
+    }
+}